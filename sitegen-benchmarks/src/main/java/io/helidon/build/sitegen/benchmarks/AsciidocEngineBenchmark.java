@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.helidon.build.sitegen.Page;
+import io.helidon.build.sitegen.RenderingContext;
+import io.helidon.build.sitegen.Site;
+import io.helidon.build.sitegen.asciidoctor.AsciidocEngine;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import static io.helidon.common.CollectionsHelper.mapOf;
+
+/**
+ * Benchmarks of {@link AsciidocEngine#readDocumentHeader(File)} and
+ * {@link AsciidocEngine#render}. Each invocation processes all the documents
+ * of the corpus.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class AsciidocEngineBenchmark {
+
+    @Param({"basic", "vuetify"})
+    private String backend;
+
+    @Param({"10", "100"})
+    private int size;
+
+    private File sourcedir;
+    private File outputdir;
+    private RenderingContext ctx;
+    private AsciidocEngine engine;
+    private List<Page> pages;
+    private List<File> sources;
+
+    @Setup
+    public void setup() throws IOException {
+        sourcedir = Corpus.generate(size);
+        outputdir = new File(sourcedir.getParentFile(), sourcedir.getName() + "-out");
+        Site site = Corpus.site(backend).build();
+        ctx = RenderingContext.create(site, sourcedir, outputdir);
+        engine = site.getEngine().asciidoc();
+        pages = new ArrayList<>(ctx.getPages().values());
+        sources = new ArrayList<>();
+        for (Page page : pages) {
+            sources.add(new File(sourcedir, page.getSourcePath()));
+        }
+        // the documents parsed for the metadata are not rendered
+        engine.clearDocumentCache();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        engine.releaseRuntimes();
+        Corpus.delete(sourcedir);
+        Corpus.delete(outputdir);
+    }
+
+    @Benchmark
+    public void readDocumentHeader(Blackhole bh) {
+        for (File source : sources) {
+            bh.consume(engine.readDocumentHeader(source));
+        }
+    }
+
+    @Benchmark
+    public void render() {
+        Map<String, Page> allPages = ctx.getPages();
+        for (Page page : pages) {
+            File target = new File(outputdir, page.getTargetPath() + ".html");
+            engine.render(page, ctx, target, mapOf(
+                    "page", page,
+                    "pages", allPages));
+        }
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.helidon.build.sitegen.BasicBackend;
+import io.helidon.build.sitegen.Site;
+import io.helidon.build.sitegen.SourcePath;
+import io.helidon.build.sitegen.SourcePathFilter;
+import io.helidon.build.sitegen.VuetifyBackend;
+import io.helidon.build.sitegen.freemarker.FreemarkerEngine;
+
+import static io.helidon.common.CollectionsHelper.listOf;
+
+/**
+ * Synthetic corpora used by the benchmarks.
+ */
+public final class Corpus {
+
+    /**
+     * The source path of the home page.
+     */
+    public static final String HOME_PAGE = "home.adoc";
+
+    private static final String[] DIRS = {
+        "about", "getting-started", "guides", "reference", "config"
+    };
+    private static final String[] EXTS = {"adoc", "adoc", "adoc", "png", "js"};
+
+    private Corpus() {
+    }
+
+    /**
+     * Create in-memory source paths.
+     *
+     * @param size the number of paths
+     * @return {@code List} of source paths
+     */
+    public static List<SourcePath> sourcePaths(int size) {
+        List<SourcePath> paths = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            paths.add(new SourcePath(path(i, EXTS[i % EXTS.length])));
+        }
+        return paths;
+    }
+
+    /**
+     * Get the relative path of a synthetic file.
+     *
+     * @param index the file index
+     * @param ext the file extension
+     * @return the relative path
+     */
+    public static String path(int index, String ext) {
+        return DIRS[index % DIRS.length]
+                + "/section" + (index % 7)
+                + "/page" + index + "." + ext;
+    }
+
+    /**
+     * Create a directory of synthetic asciidoc documents.
+     *
+     * @param pages the number of documents, in addition to {@code home.adoc}
+     * @return the created directory
+     * @throws IOException if an IO error occurs
+     */
+    public static File generate(int pages) throws IOException {
+        File dir = Files.createTempDirectory("sitegen-corpus").toFile();
+        write(new File(dir, HOME_PAGE), document("Home", 0));
+        for (int i = 0; i < pages; i++) {
+            write(new File(dir, path(i, "adoc")), document("Page " + i, i));
+        }
+        return dir;
+    }
+
+    /**
+     * Create a synthetic asciidoc document with a header, sections,
+     * paragraphs, listings, tables, lists and admonitions.
+     *
+     * @param title the document title
+     * @param index the document index, used to vary the content size
+     * @return the document source
+     */
+    public static String document(String title, int index) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("= ").append(title).append('\n')
+          .append(":description: Description of ").append(title).append('\n')
+          .append(":keywords: keyword1, keyword2, keyword").append(index).append('\n')
+          .append('\n');
+        int sections = 3 + index % 5;
+        for (int s = 1; s <= sections; s++) {
+            sb.append("== Section ").append(s).append("\n\n")
+              .append("This is a *paragraph* with `code`, _emphasis_ and a ")
+              .append("link:https://helidon.io[link].\n\n")
+              .append("[source,java]\n----\n")
+              .append("public class Example").append(s).append(" {\n")
+              .append("    private final String value = \"").append(s).append("\";\n")
+              .append("}\n----\n\n")
+              .append("* first item\n* second item\n** nested item\n\n")
+              .append(". step one\n. step two\n\n")
+              .append("NOTE: This is a note.\n\n")
+              .append("[cols=\"1,2\"]\n|===\n|Key |Value\n\n")
+              .append("|key").append(s).append(" |value").append(s).append('\n')
+              .append("|===\n\n");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Create a site builder for a synthetic corpus.
+     *
+     * @param backend the backend name, {@code basic} or {@code vuetify}
+     * @return the site builder
+     */
+    public static Site.Builder site(String backend) {
+        Site.Builder builder = Site.builder()
+                .pages(listOf(SourcePathFilter.builder()
+                        .includes(listOf("**/*.adoc"))
+                        .build()));
+        switch (backend) {
+            case BasicBackend.BACKEND_NAME:
+                return builder;
+            case VuetifyBackend.BACKEND_NAME:
+                return builder.backend(VuetifyBackend.builder()
+                        .homePage(HOME_PAGE)
+                        .build());
+            default:
+                throw new IllegalArgumentException("Unknown backend: " + backend);
+        }
+    }
+
+    /**
+     * Delete a directory recursively.
+     *
+     * @param dir the directory to delete
+     * @throws IOException if an IO error occurs
+     */
+    public static void delete(File dir) throws IOException {
+        if (dir == null || !dir.exists()) {
+            return;
+        }
+        Files.walkFileTree(dir.toPath(), new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs)
+                    throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path d, IOException ex)
+                    throws IOException {
+                Files.delete(d);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private static void write(File file, String content) throws IOException {
+        file.getParentFile().mkdirs();
+        try (Writer writer = FreemarkerEngine.newFileWriter(file)) {
+            writer.write(content);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.helidon.build.sitegen.Page;
+import io.helidon.build.sitegen.RenderingContext;
+import io.helidon.build.sitegen.Site;
+import io.helidon.build.sitegen.SourcePathIndex;
+import io.helidon.build.sitegen.SourcePattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static io.helidon.common.CollectionsHelper.listOf;
+
+/**
+ * Benchmarks of {@link Page#filter} and of a re-used {@link SourcePathIndex},
+ * as used by the navigation of the Vuetify backend.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class PageFilterBenchmark {
+
+    private static final List<String> INCLUDES = listOf("guides/**/*.adoc", "about/*/*.adoc");
+    private static final List<String> EXCLUDES = listOf("**/page1*.adoc");
+
+    @Param({"100", "1000"})
+    private int size;
+
+    private File sourcedir;
+    private File outputdir;
+    private List<Page> pages;
+    private SourcePathIndex<Page> index;
+    private List<SourcePattern> includes;
+    private List<SourcePattern> excludes;
+
+    @Setup
+    public void setup() throws IOException {
+        sourcedir = Corpus.generate(size);
+        outputdir = new File(sourcedir.getParentFile(), sourcedir.getName() + "-out");
+        Site site = Site.builder().build();
+        pages = new ArrayList<>(RenderingContext.create(site, sourcedir, outputdir)
+                .getPages().values());
+        index = Page.index(pages);
+        includes = SourcePattern.compile(INCLUDES);
+        excludes = SourcePattern.compile(EXCLUDES);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Corpus.delete(sourcedir);
+        Corpus.delete(outputdir);
+    }
+
+    @Benchmark
+    public List<Page> filter() {
+        return Page.filter(pages, INCLUDES, EXCLUDES);
+    }
+
+    @Benchmark
+    public List<Page> indexFilter() {
+        return index.filter(includes, excludes);
+    }
+}
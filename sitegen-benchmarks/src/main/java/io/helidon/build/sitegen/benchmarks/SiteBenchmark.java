@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import io.helidon.build.sitegen.Site;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * End-to-end benchmarks of {@link Site#generate(File, File)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+public class SiteBenchmark {
+
+    @Param({"basic", "vuetify"})
+    private String backend;
+
+    @Param({"10", "100", "500"})
+    private int size;
+
+    @Param({"1", "4"})
+    private int threads;
+
+    private File sourcedir;
+    private File outputdir;
+    private Site site;
+
+    @Setup
+    public void setup() throws IOException {
+        sourcedir = Corpus.generate(size);
+        outputdir = new File(sourcedir.getParentFile(), sourcedir.getName() + "-out");
+        site = Corpus.site(backend).threads(threads).build();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Corpus.delete(sourcedir);
+        Corpus.delete(outputdir);
+    }
+
+    @Benchmark
+    public File generate() {
+        site.generate(sourcedir, outputdir);
+        return outputdir;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.helidon.build.sitegen.SourcePath;
+import io.helidon.build.sitegen.SourcePattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import static io.helidon.common.CollectionsHelper.listOf;
+
+/**
+ * Benchmarks of the {@link SourcePath} matching and filtering.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class SourcePathBenchmark {
+
+    private static final List<String> INCLUDES = listOf(
+            "**/*.adoc",
+            "about/**",
+            "guides/section1/*.adoc");
+    private static final List<String> EXCLUDES = listOf(
+            "**/_*",
+            "config/**/*.js",
+            "reference/section2/page1*");
+    private static final SourcePattern PATTERN = SourcePattern.compile("**/section3/*.adoc");
+
+    @Param({"100", "1000", "10000"})
+    private int size;
+
+    private List<SourcePath> paths;
+    private String[] values;
+
+    @Setup
+    public void setup() {
+        paths = Corpus.sourcePaths(size);
+        // wildcardMatch is applied to path segments
+        values = new String[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = "page" + i + ".adoc";
+        }
+    }
+
+    @Benchmark
+    public void matches(Blackhole bh) {
+        for (SourcePath path : paths) {
+            bh.consume(path.matches("**/section3/*.adoc"));
+        }
+    }
+
+    @Benchmark
+    public void compiledMatches(Blackhole bh) {
+        for (SourcePath path : paths) {
+            bh.consume(PATTERN.matches(path));
+        }
+    }
+
+    @Benchmark
+    public List<SourcePath> filter() {
+        return SourcePath.filter(paths, INCLUDES, EXCLUDES);
+    }
+
+    @Benchmark
+    public void wildcardMatch(Blackhole bh) {
+        for (String value : values) {
+            bh.consume(SourcePath.wildcardMatch(value, "page1*.adoc"));
+        }
+    }
+}
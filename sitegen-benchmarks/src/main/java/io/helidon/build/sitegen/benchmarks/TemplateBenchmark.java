@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.helidon.build.sitegen.RenderingContext;
+import io.helidon.build.sitegen.Site;
+import io.helidon.build.sitegen.SourcePath;
+import io.helidon.build.sitegen.VuetifyBackend;
+import io.helidon.build.sitegen.asciidoctor.AsciidocConverter;
+import io.helidon.build.sitegen.asciidoctor.AsciidoctorRuntimes;
+import io.helidon.build.sitegen.freemarker.FreemarkerEngine;
+
+import org.asciidoctor.Asciidoctor;
+import org.asciidoctor.OptionsBuilder;
+import org.asciidoctor.SafeMode;
+import org.asciidoctor.ast.Document;
+import org.asciidoctor.ast.StructuralNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of {@link FreemarkerEngine#renderString(String, org.asciidoctor.ast.ContentNode)}
+ * for each type of asciidoc node, with the Vuetify templates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class TemplateBenchmark {
+
+    private static final String BACKEND = VuetifyBackend.BACKEND_NAME;
+
+    @Param({"paragraph", "listing", "ulist", "olist", "admonition", "table", "section"})
+    private String nodeType;
+
+    private File sourcedir;
+    private File outputdir;
+    private Asciidoctor asciidoctor;
+    private FreemarkerEngine freemarker;
+    private StructuralNode node;
+    private String template;
+
+    @Setup
+    public void setup() throws IOException {
+        sourcedir = Corpus.generate(0);
+        outputdir = new File(sourcedir.getParentFile(), sourcedir.getName() + "-out");
+        Site site = Corpus.site(BACKEND).build();
+        RenderingContext ctx = RenderingContext.create(site, sourcedir, outputdir);
+        freemarker = site.getEngine().freemarker();
+
+        asciidoctor = AsciidoctorRuntimes.acquire(BACKEND, null);
+        File source = new File(sourcedir, Corpus.HOME_PAGE);
+        Document document = asciidoctor.loadFile(source, OptionsBuilder.options()
+                .backend(BACKEND)
+                .safe(SafeMode.UNSAFE)
+                .headerFooter(false)
+                .baseDir(sourcedir)
+                .asMap());
+        document.setAttribute("page", ctx.getPages().get(new SourcePath(Corpus.HOME_PAGE).asString()), true);
+        document.setAttribute("pages", ctx.getPages(), true);
+        document.setAttribute("templateSession", ctx.getTemplateSession(), true);
+        document.setAttribute(AsciidocConverter.FREEMARKER_ENGINE_ATTR, freemarker, true);
+
+        Map<Object, Object> selector = new HashMap<>();
+        selector.put("context", ":" + nodeType);
+        List<StructuralNode> nodes = document.findBy(selector);
+        if (nodes.isEmpty()) {
+            throw new IllegalStateException("No node found for type: " + nodeType);
+        }
+        node = nodes.get(0);
+        template = "block_" + nodeType;
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        AsciidoctorRuntimes.release(BACKEND, null, asciidoctor);
+        Corpus.delete(sourcedir);
+        Corpus.delete(outputdir);
+    }
+
+    @Benchmark
+    public String renderString() {
+        return freemarker.renderString(template, node);
+    }
+}
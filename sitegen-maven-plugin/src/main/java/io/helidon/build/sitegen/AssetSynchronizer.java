@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+import io.helidon.build.sitegen.StaticAsset.Sync;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Copies the static assets to the generated directory.
+ *
+ * The files are copied with {@link FileChannel#transferTo}, which lets the
+ * operating system copy the data without going through the heap. The
+ * synchronization modes skip the files that are up-to-date and may create
+ * hard links instead of copies, see {@link Sync}. An instance is used
+ * concurrently by the copy tasks.
+ */
+final class AssetSynchronizer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AssetSynchronizer.class);
+    private static final int BUFFER_SIZE = 8192;
+
+    private volatile boolean linkUnsupported;
+
+    /**
+     * Copy a file.
+     * @param source the source file
+     * @param target the target file
+     * @param sync the sync mode
+     * @return {@code true} if the target file was written, {@code false} if it
+     * is up-to-date
+     * @throws IOException if an IO error occurs
+     */
+    boolean sync(Path source, Path target, Sync sync) throws IOException {
+        BasicFileAttributes sourceAttrs = Files.readAttributes(source, BasicFileAttributes.class);
+        if (sync != Sync.COPY && upToDate(source, sourceAttrs, target)) {
+            return false;
+        }
+        Files.createDirectories(target.getParent());
+        // do not write through an existing link
+        Files.deleteIfExists(target);
+        if (sync == Sync.LINK && !linkUnsupported) {
+            try {
+                Files.createLink(target, source);
+                return true;
+            } catch (IOException | UnsupportedOperationException ex) {
+                // e.g. a different file system, copy the remaining files
+                LOGGER.debug("Unable to link static resource: {} - {}", target, ex.getMessage());
+                linkUnsupported = true;
+            }
+        }
+        LOGGER.debug("Copying static resource: {} to {}", source, target);
+        transfer(source, target);
+        if (sync != Sync.COPY) {
+            Files.setLastModifiedTime(target, sourceAttrs.lastModifiedTime());
+        }
+        return true;
+    }
+
+    private static boolean upToDate(Path source, BasicFileAttributes sourceAttrs, Path target)
+            throws IOException {
+
+        BasicFileAttributes targetAttrs;
+        try {
+            targetAttrs = Files.readAttributes(target, BasicFileAttributes.class);
+        } catch (IOException ex) {
+            // does not exist
+            return false;
+        }
+        if (!targetAttrs.isRegularFile() || targetAttrs.size() != sourceAttrs.size()) {
+            return false;
+        }
+        if (targetAttrs.lastModifiedTime().equals(sourceAttrs.lastModifiedTime())) {
+            return true;
+        }
+        if (Arrays.equals(digest(source), digest(target))) {
+            // e.g. a fresh checkout, record the time for the next comparison
+            Files.setLastModifiedTime(target, sourceAttrs.lastModifiedTime());
+            return true;
+        }
+        return false;
+    }
+
+    private static void transfer(Path source, Path target) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE_NEW,
+                     StandardOpenOption.WRITE)) {
+
+            long size = in.size();
+            long position = 0;
+            while (position < size) {
+                long transferred = in.transferTo(position, size - position, out);
+                if (transferred <= 0) {
+                    // truncated while copying
+                    break;
+                }
+                position += transferred;
+            }
+        }
+    }
+
+    private static byte[] digest(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream is = Files.newInputStream(file)) {
+            int read;
+            while ((read = is.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return digest.digest();
+    }
+}
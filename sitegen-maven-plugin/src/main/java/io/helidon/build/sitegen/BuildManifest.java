@@ -0,0 +1,484 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import io.helidon.build.sitegen.Page.Metadata;
+import io.helidon.build.sitegen.freemarker.TemplateSession;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static io.helidon.build.sitegen.Helper.checkNonNull;
+import static io.helidon.build.sitegen.Helper.checkNonNullNonEmpty;
+import static io.helidon.build.sitegen.Helper.loadResourceDirAsPath;
+
+/**
+ * A persistent record of the pages processed by a site generation, used to
+ * skip the processing of the pages that have not changed since the previous
+ * generation.
+ *
+ * For each page, the manifest records a digest of the source and of the files
+ * it depends on, the page metadata and the entries accumulated by the
+ * {@link TemplateSession} directives while rendering the page. The previous
+ * entries are discarded if the site digest (site configuration, templates and
+ * plugin version) has changed.
+ *
+ * A rendered page also depends on the other pages (e.g. an xref is only
+ * resolved if the referenced page exists), the manifest also records a digest
+ * of the set of pages. If it has changed, the pages are rendered again but the
+ * previous metadata is still used.
+ */
+public class BuildManifest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BuildManifest.class);
+    private static final int FORMAT_VERSION = 2;
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    private static final String TEMPLATES_RESOURCE = "/helidon-sitegen-templates/";
+
+    private final File file;
+    private final String siteDigest;
+    private final Map<String, Entry> previousEntries;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private String previousPagesDigest;
+    private volatile String pagesDigest;
+    private volatile boolean pagesUpToDate;
+
+    /**
+     * Create a new instance of {@link BuildManifest}.
+     * The entries of the previous generation are loaded from the given file if
+     * it exists and if it was created with the same site digest.
+     *
+     * @param file the manifest file
+     * @param siteDigest the digest of the site configuration, see
+     * {@link #siteDigest(File, Properties, Backend, String)}
+     */
+    public BuildManifest(File file, String siteDigest) {
+        checkNonNull(file, "file");
+        checkNonNullNonEmpty(siteDigest, "siteDigest");
+        this.file = file;
+        this.siteDigest = siteDigest;
+        this.previousEntries = load();
+    }
+
+    /**
+     * Get the manifest file.
+     * @return the manifest file, never {@code null}
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Compute the digest of a page source and its dependencies, and test if
+     * the page is unchanged since the previous generation.
+     *
+     * @param sourcePath the source path of the page
+     * @param source the page source file
+     * @param renderer the renderer used to resolve the page dependencies
+     * @param ctx the context representing the site processing invocation
+     * @return {@code true} if the page is unchanged, {@code false} otherwise
+     */
+    boolean checkSource(String sourcePath,
+                        File source,
+                        PageRenderer renderer,
+                        RenderingContext ctx) {
+
+        List<File> dependencies = renderer.readDependencies(source, ctx);
+        String digest = dependencies == null ? null : digest(source, dependencies);
+        Entry previous = previousEntries.get(sourcePath);
+        Entry entry = new Entry(digest);
+        entry.upToDate = digest != null
+                && previous != null
+                && digest.equals(previous.digest);
+        entries.put(sourcePath, entry);
+        return entry.upToDate;
+    }
+
+    /**
+     * Compute the digest of the set of pages, i.e. the source and target paths
+     * of all the pages, and test if it is unchanged since the previous
+     * generation.
+     *
+     * @param pages the pages of the site
+     * @return {@code true} if the set of pages is unchanged, {@code false}
+     * otherwise
+     */
+    boolean checkPages(Collection<Page> pages) {
+        checkNonNull(pages, "pages");
+        Map<String, String> targets = new TreeMap<>();
+        for (Page page : pages) {
+            targets.put(page.getSourcePath(), page.getTargetPath());
+        }
+        MessageDigest md = newDigest();
+        for (Map.Entry<String, String> target : targets.entrySet()) {
+            md.update((target.getKey() + "=" + target.getValue() + "\n")
+                    .getBytes(StandardCharsets.UTF_8));
+        }
+        pagesDigest = toHex(md.digest());
+        pagesUpToDate = pagesDigest.equals(previousPagesDigest);
+        if (!pagesUpToDate && previousPagesDigest != null) {
+            LOGGER.info("The set of pages has changed, rendering all pages");
+        }
+        return pagesUpToDate;
+    }
+
+    /**
+     * Test if a page is unchanged since the previous generation, a page is
+     * never up-to-date if the set of pages has changed.
+     *
+     * @param sourcePath the source path of the page
+     * @return {@code true} if the page is unchanged, {@code false} otherwise
+     * @see #checkPages(Collection)
+     */
+    boolean isUpToDate(String sourcePath) {
+        Entry entry = entries.get(sourcePath);
+        return pagesUpToDate && entry != null && entry.upToDate;
+    }
+
+    /**
+     * Get the metadata of a page recorded by the previous generation.
+     *
+     * @param sourcePath the source path of the page
+     * @return the {@link Metadata} instance, or {@code null} if not found
+     */
+    Metadata previousMetadata(String sourcePath) {
+        Entry previous = previousEntries.get(sourcePath);
+        return previous == null ? null : previous.metadata;
+    }
+
+    /**
+     * Record the metadata of a page.
+     *
+     * @param sourcePath the source path of the page
+     * @param metadata the page metadata
+     */
+    void recordMetadata(String sourcePath, Metadata metadata) {
+        Entry entry = entries.get(sourcePath);
+        if (entry != null) {
+            entry.metadata = metadata;
+        }
+    }
+
+    /**
+     * Record the entries accumulated in the given session while rendering
+     * a page.
+     *
+     * @param page the rendered page
+     * @param session the session used to render the page
+     */
+    void recordOutputs(Page page, TemplateSession session) {
+        Entry entry = entries.get(page.getSourcePath());
+        if (entry != null) {
+            String sourcePath = page.getSourcePath();
+            entry.searchEntries = session.getSearchIndex().getEntries(sourcePath);
+            entry.bindings = session.getVueBindings().getBindings().get(sourcePath);
+            entry.customLayout = session.getCustomLayouts().getMappings().get(sourcePath);
+            entry.rendered = true;
+        }
+    }
+
+    /**
+     * Restore the entries recorded by the previous generation for a page in
+     * the given session.
+     *
+     * @param page the page to restore
+     * @param session the session to restore the entries in
+     */
+    void restoreOutputs(Page page, TemplateSession session) {
+        String sourcePath = page.getSourcePath();
+        Entry previous = previousEntries.get(sourcePath);
+        Entry entry = entries.get(sourcePath);
+        if (previous == null || entry == null) {
+            throw new IllegalStateException(
+                    "no previous entry for page: " + sourcePath);
+        }
+        session.getSearchIndex().addEntries(sourcePath, previous.searchEntries);
+        if (previous.bindings != null) {
+            session.getVueBindings().getBindings().put(sourcePath, previous.bindings);
+        }
+        if (previous.customLayout != null) {
+            session.getCustomLayouts().getMappings().put(sourcePath, previous.customLayout);
+        }
+        entry.searchEntries = previous.searchEntries;
+        entry.bindings = previous.bindings;
+        entry.customLayout = previous.customLayout;
+        entry.rendered = true;
+    }
+
+    /**
+     * Write the manifest file.
+     *
+     * @throws RenderingException if an error occurs while writing the file
+     */
+    public void save() throws RenderingException {
+        Map<String, Entry> sortedEntries = new TreeMap<>(entries);
+        try {
+            Files.createDirectories(file.getAbsoluteFile().getParentFile().toPath());
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(file.toPath())))) {
+                out.writeInt(FORMAT_VERSION);
+                writeString(out, siteDigest);
+                writeString(out, pagesDigest);
+                int size = 0;
+                for (Entry entry : sortedEntries.values()) {
+                    if (entry.isComplete()) {
+                        size++;
+                    }
+                }
+                out.writeInt(size);
+                for (Map.Entry<String, Entry> mapEntry : sortedEntries.entrySet()) {
+                    Entry entry = mapEntry.getValue();
+                    if (entry.isComplete()) {
+                        writeString(out, mapEntry.getKey());
+                        entry.write(out);
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            throw new RenderingException(
+                    "An error occurred while writing " + file, ex);
+        }
+    }
+
+    /**
+     * Compute the digest of a site, i.e. all the inputs shared by all the
+     * pages.
+     *
+     * @param configFile the site configuration file
+     * @param properties the properties used to resolve the configuration
+     * @param backend the site backend
+     * @param version the version of the generator, so that the output of a
+     * previous version is not reused, may be {@code null}
+     * @return the digest as a hexadecimal {@code String}
+     * @throws RenderingException if an error occurs while reading the files
+     */
+    public static String siteDigest(File configFile,
+                                    Properties properties,
+                                    Backend backend,
+                                    String version)
+            throws RenderingException {
+
+        checkNonNull(backend, "backend");
+        MessageDigest md = newDigest();
+        try {
+            if (version != null) {
+                md.update(("version=" + version + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+            if (configFile != null) {
+                md.update(Files.readAllBytes(configFile.toPath()));
+            }
+            if (properties != null) {
+                for (Map.Entry<String, String> property : new TreeMap<>(
+                        properties.stringPropertyNames().stream()
+                                .collect(Collectors.toMap(k -> k, properties::getProperty)))
+                        .entrySet()) {
+                    md.update((property.getKey() + "=" + property.getValue() + "\n")
+                            .getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            Path templates;
+            try {
+                templates = loadResourceDirAsPath(TEMPLATES_RESOURCE + backend.getName());
+            } catch (URISyntaxException | IllegalStateException ex) {
+                templates = null;
+            }
+            if (templates != null) {
+                List<Path> files;
+                try (Stream<Path> stream = Files.walk(templates)) {
+                    files = stream.filter(Files::isRegularFile)
+                            .sorted()
+                            .collect(Collectors.toList());
+                }
+                for (Path tpl : files) {
+                    md.update(templates.relativize(tpl).toString()
+                            .getBytes(StandardCharsets.UTF_8));
+                    md.update(Files.readAllBytes(tpl));
+                }
+            }
+        } catch (IOException ex) {
+            throw new RenderingException(ex.getMessage(), ex);
+        }
+        return toHex(md.digest());
+    }
+
+    private static String digest(File source, List<File> dependencies) {
+        MessageDigest md = newDigest();
+        List<File> files = new ArrayList<>(dependencies.size() + 1);
+        files.add(source);
+        files.addAll(dependencies);
+        for (File f : files) {
+            md.update(f.getPath().getBytes(StandardCharsets.UTF_8));
+            try {
+                md.update(Files.readAllBytes(f.toPath()));
+            } catch (IOException ex) {
+                // missing dependency
+                md.update((byte) 0);
+            }
+        }
+        return toHex(md.digest());
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16));
+            sb.append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+
+    private Map<String, Entry> load() {
+        if (!file.exists()) {
+            return Collections.emptyMap();
+        }
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+            if (in.readInt() != FORMAT_VERSION) {
+                LOGGER.info("Ignoring manifest {}, incompatible format", file);
+                return Collections.emptyMap();
+            }
+            if (!siteDigest.equals(readString(in))) {
+                LOGGER.info("Ignoring manifest {}, the site has changed", file);
+                return Collections.emptyMap();
+            }
+            String pages = readString(in);
+            int size = in.readInt();
+            Map<String, Entry> entries = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                String sourcePath = readString(in);
+                entries.put(sourcePath, Entry.read(in));
+            }
+            previousPagesDigest = pages;
+            return entries;
+        } catch (IOException | RuntimeException ex) {
+            LOGGER.warn("Unable to read manifest {}: {}", file, ex.getMessage());
+            return Collections.emptyMap();
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String str) throws IOException {
+        if (str == null) {
+            out.writeInt(-1);
+        } else {
+            byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A manifest entry for a single page.
+     */
+    private static final class Entry {
+
+        private final String digest;
+        private volatile boolean upToDate;
+        private volatile boolean rendered;
+        private volatile Metadata metadata;
+        private volatile List<SearchEntry> searchEntries = Collections.emptyList();
+        private volatile String bindings;
+        private volatile String customLayout;
+
+        private Entry(String digest) {
+            this.digest = digest;
+        }
+
+        private boolean isComplete() {
+            return digest != null && metadata != null && rendered;
+        }
+
+        private void write(DataOutputStream out) throws IOException {
+            writeString(out, digest);
+            writeString(out, metadata.getDescription());
+            writeString(out, metadata.getKeywords());
+            writeString(out, metadata.getH1());
+            writeString(out, metadata.getTitle());
+            out.writeInt(searchEntries.size());
+            for (SearchEntry searchEntry : searchEntries) {
+                writeString(out, searchEntry.getLocation());
+                writeString(out, searchEntry.getText());
+                writeString(out, searchEntry.getTitle());
+            }
+            writeString(out, bindings);
+            writeString(out, customLayout);
+        }
+
+        private static Entry read(DataInputStream in) throws IOException {
+            Entry entry = new Entry(readString(in));
+            entry.metadata = new Metadata(
+                    readString(in),
+                    readString(in),
+                    readString(in),
+                    readString(in));
+            int size = in.readInt();
+            List<SearchEntry> searchEntries = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                searchEntries.add(new SearchEntry(
+                        readString(in),
+                        readString(in),
+                        readString(in)));
+            }
+            entry.searchEntries = searchEntries;
+            entry.bindings = readString(in);
+            entry.customLayout = readString(in);
+            entry.rendered = true;
+            return entry;
+        }
+    }
+}
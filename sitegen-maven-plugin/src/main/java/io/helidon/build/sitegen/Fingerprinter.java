@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static io.helidon.build.sitegen.Helper.checkNonNull;
+import static io.helidon.build.sitegen.Helper.jsonString;
+import static io.helidon.common.CollectionsHelper.listOf;
+
+/**
+ * Fingerprints the files generated by the Vuetify backend, a copy of each
+ * file is written with the content hash in its name (e.g.
+ * {@code main/app.3f2a9c1b7d4e.js} for {@code main/app.js}) so that all
+ * files but {@code index.html} can be served with a long cache lifetime.
+ *
+ * The references in {@code index.html} are rewritten to the fingerprinted
+ * names and the mapping is added to {@code main/config.js} as
+ * {@code window.assetPaths} for the files loaded by the application (e.g. the
+ * pages). The mapping is also written to {@code asset-manifest.json}.
+ *
+ * The original files are kept, the subsequent generations only write the
+ * copies of the changed files and remove the stale copies.
+ */
+final class Fingerprinter {
+
+    /**
+     * The name of the manifest file.
+     */
+    static final String MANIFEST_FILE = "asset-manifest.json";
+
+    private static final String INDEX_FILE = "index.html";
+    private static final String CONFIG_FILE = "main/config.js";
+    private static final int HASH_LENGTH = 12;
+    private static final Pattern FINGERPRINTED = Pattern.compile(
+            "^.+\\.[0-9a-f]{" + HASH_LENGTH + "}\\.[^./]+$");
+    private static final Pattern REFERENCE = Pattern.compile(
+            "(src|href)=\"([^\"]+)\"");
+    private static final List<SourcePattern> INCLUDES = SourcePattern.compile(listOf(
+            "components/*.js",
+            "libs/*.js",
+            "main/*.js",
+            "main/*.json",
+            "main/search-index/*.json",
+            "css/*.css",
+            "chunks/*.js",
+            "pages/**/*.js"));
+    private static final List<SourcePattern> EXCLUDES = SourcePattern.compile(listOf(
+            CONFIG_FILE));
+
+    private final File dir;
+
+    /**
+     * Create a new fingerprinter.
+     * @param dir the directory containing the generated files
+     */
+    Fingerprinter(File dir) {
+        checkNonNull(dir, "dir");
+        this.dir = dir;
+    }
+
+    /**
+     * Fingerprint the generated files.
+     * @return the sorted mapping of the fingerprinted paths, keyed by original
+     * path
+     * @throws RenderingException if an error occurs while fingerprinting
+     */
+    Map<String, String> fingerprint() {
+        try {
+            List<SourcePath> paths = new SourcePathScanner(dir)
+                    .filter(INCLUDES, EXCLUDES)
+                    .scan();
+            Map<String, String> mapping = new TreeMap<>();
+            for (SourcePath path : paths) {
+                String name = relativize(path);
+                if (!FINGERPRINTED.matcher(name).matches()) {
+                    mapping.put(name, copy(name));
+                }
+            }
+
+            // the config file is loaded before the pages, it gets the mapping
+            Path config = resolve(CONFIG_FILE);
+            if (Files.exists(config)) {
+                Files.write(config, assetPaths(mapping).getBytes(StandardCharsets.UTF_8),
+                        StandardOpenOption.APPEND);
+                mapping.put(CONFIG_FILE, copy(CONFIG_FILE));
+            }
+
+            // remove the stale copies
+            Set<String> fingerprinted = new HashSet<>(mapping.values());
+            for (SourcePath path : paths) {
+                String name = relativize(path);
+                if (FINGERPRINTED.matcher(name).matches()
+                        && !fingerprinted.contains(name)) {
+                    Files.deleteIfExists(resolve(name));
+                }
+            }
+
+            rewriteIndex(mapping);
+            Files.write(resolve(MANIFEST_FILE),
+                    manifest(mapping).getBytes(StandardCharsets.UTF_8));
+            return Collections.unmodifiableMap(mapping);
+        } catch (IOException ex) {
+            throw new RenderingException(
+                    "An error occurred while fingerprinting files in " + dir, ex);
+        }
+    }
+
+    /**
+     * Get the fingerprinted name of a path.
+     * @param path the path
+     * @param hash the content hash
+     * @return the fingerprinted name
+     */
+    static String fingerprintedName(String path, String hash) {
+        int index = path.lastIndexOf('.');
+        if (index <= path.lastIndexOf('/')) {
+            return path + "." + hash;
+        }
+        return path.substring(0, index) + "." + hash + path.substring(index);
+    }
+
+    private String copy(String name) throws IOException {
+        Path file = resolve(name);
+        byte[] content = Files.readAllBytes(file);
+        String fingerprinted = fingerprintedName(name, hash(content));
+        Path target = resolve(fingerprinted);
+        // same name is same content
+        if (!Files.exists(target)) {
+            Files.write(target, content);
+        }
+        return fingerprinted;
+    }
+
+    private void rewriteIndex(Map<String, String> mapping) throws IOException {
+        Path index = resolve(INDEX_FILE);
+        if (!Files.exists(index)) {
+            return;
+        }
+        String content = new String(Files.readAllBytes(index), StandardCharsets.UTF_8);
+        Matcher matcher = REFERENCE.matcher(content);
+        StringBuffer sb = new StringBuffer();
+        while (matcher.find()) {
+            String fingerprinted = mapping.get(matcher.group(2));
+            if (fingerprinted != null) {
+                matcher.appendReplacement(sb, Matcher.quoteReplacement(
+                        matcher.group(1) + "=\"" + fingerprinted + "\""));
+            }
+        }
+        matcher.appendTail(sb);
+        Files.write(index, sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Path resolve(String name) {
+        return new File(dir, name).toPath();
+    }
+
+    private static String relativize(SourcePath path) {
+        return path.asString().substring(1);
+    }
+
+    private static String hash(byte[] content) {
+        MessageDigest md;
+        try {
+            md = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+        StringBuilder sb = new StringBuilder();
+        for (byte b : md.digest(content)) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.substring(0, HASH_LENGTH);
+    }
+
+    private static String assetPaths(Map<String, String> mapping) {
+        StringBuilder sb = new StringBuilder("\nwindow.assetPaths = {\n");
+        appendEntries(sb, mapping, "    ");
+        return sb.append("};\n").toString();
+    }
+
+    private static String manifest(Map<String, String> mapping) {
+        StringBuilder sb = new StringBuilder("{\n");
+        appendEntries(sb, mapping, "  ");
+        return sb.append("}\n").toString();
+    }
+
+    private static void appendEntries(StringBuilder sb,
+                                      Map<String, String> mapping,
+                                      String indent) {
+
+        int i = 0;
+        for (Entry<String, String> entry : mapping.entrySet()) {
+            sb.append(indent)
+              .append(jsonString(entry.getKey()))
+              .append(": ")
+              .append(jsonString(entry.getValue()));
+            if (++i < mapping.size()) {
+                sb.append(',');
+            }
+            sb.append('\n');
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Custom Java Flight Recorder events emitted during the site generation, to
+ * correlate the generation phases and pages with the GC and JIT activity in
+ * Mission Control.
+ *
+ * The event types are defined dynamically with {@code jdk.jfr.EventFactory}
+ * so that this plugin still runs on the JDKs that do not provide the
+ * {@code jdk.jfr} module, the events are then no-ops.
+ */
+final class FlightRecorderEvents {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FlightRecorderEvents.class);
+    private static final String EVENT_PREFIX = "io.helidon.sitegen.";
+    private static final String[] CATEGORY = new String[]{"Helidon", "Site Generator"};
+    private static final MethodHandle BEGIN;
+    private static final MethodHandle SHOULD_COMMIT;
+    private static final MethodHandle SET;
+    private static final MethodHandle COMMIT;
+
+    static {
+        MethodHandle begin = null;
+        MethodHandle shouldCommit = null;
+        MethodHandle set = null;
+        MethodHandle commit = null;
+        try {
+            Class<?> eventClass = Class.forName("jdk.jfr.Event");
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            begin = genericHandle(lookup.findVirtual(eventClass, "begin",
+                    MethodType.methodType(void.class)));
+            shouldCommit = genericHandle(lookup.findVirtual(eventClass, "shouldCommit",
+                    MethodType.methodType(boolean.class)));
+            set = genericHandle(lookup.findVirtual(eventClass, "set",
+                    MethodType.methodType(void.class, int.class, Object.class)));
+            commit = genericHandle(lookup.findVirtual(eventClass, "commit",
+                    MethodType.methodType(void.class)));
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            LOGGER.debug("Flight Recorder events are not available", ex);
+        }
+        BEGIN = begin;
+        SHOULD_COMMIT = shouldCommit;
+        SET = set;
+        COMMIT = commit;
+    }
+
+    /**
+     * A generation phase, the field is the phase name.
+     */
+    static final FlightRecorderEvents PHASE = new FlightRecorderEvents(
+            "Phase", "Site Generation Phase",
+            new String[]{"phase"},
+            new Class<?>[]{String.class});
+
+    /**
+     * A page processing, the fields are the page source path, the phase name
+     * and the number of bytes written.
+     */
+    static final FlightRecorderEvents PAGE = new FlightRecorderEvents(
+            "Page", "Site Generation Page",
+            new String[]{"page", "phase", "bytes"},
+            new Class<?>[]{String.class, String.class, long.class});
+
+    private final MethodHandle newEvent;
+
+    private FlightRecorderEvents(String name,
+                                 String label,
+                                 String[] fieldNames,
+                                 Class<?>[] fieldTypes) {
+        this.newEvent = COMMIT == null ? null
+                : eventFactory(name, label, fieldNames, fieldTypes);
+    }
+
+    /**
+     * Create and begin an event.
+     * @return the event, {@code null} if the events are not available
+     */
+    Object begin() {
+        if (newEvent == null) {
+            return null;
+        }
+        try {
+            Object event = (Object) newEvent.invokeExact();
+            BEGIN.invokeExact(event);
+            return event;
+        } catch (Throwable ex) {
+            LOGGER.debug("Unable to begin event", ex);
+            return null;
+        }
+    }
+
+    /**
+     * Set the fields of an event and commit it, the event ends when
+     * committed.
+     * @param event the event returned by {@link #begin()}, may be {@code null}
+     * @param values the field values in declaration order
+     */
+    void commit(Object event, Object... values) {
+        if (event == null) {
+            return;
+        }
+        try {
+            if ((boolean) SHOULD_COMMIT.invokeExact(event)) {
+                for (int i = 0; i < values.length; i++) {
+                    SET.invokeExact(event, i, values[i]);
+                }
+                COMMIT.invokeExact(event);
+            }
+        } catch (Throwable ex) {
+            LOGGER.debug("Unable to commit event", ex);
+        }
+    }
+
+    private static MethodHandle eventFactory(String name,
+                                             String label,
+                                             String[] fieldNames,
+                                             Class<?>[] fieldTypes) {
+        try {
+            Constructor<?> annotationElement = Class.forName("jdk.jfr.AnnotationElement")
+                    .getConstructor(Class.class, Object.class);
+            List<Object> annotations = new ArrayList<>();
+            annotations.add(annotationElement.newInstance(
+                    Class.forName("jdk.jfr.Name"), EVENT_PREFIX + name));
+            annotations.add(annotationElement.newInstance(
+                    Class.forName("jdk.jfr.Label"), label));
+            annotations.add(annotationElement.newInstance(
+                    Class.forName("jdk.jfr.Category"), CATEGORY));
+            Constructor<?> valueDescriptor = Class.forName("jdk.jfr.ValueDescriptor")
+                    .getConstructor(Class.class, String.class);
+            List<Object> fields = new ArrayList<>();
+            for (int i = 0; i < fieldNames.length; i++) {
+                fields.add(valueDescriptor.newInstance(fieldTypes[i], fieldNames[i]));
+            }
+            Class<?> factoryClass = Class.forName("jdk.jfr.EventFactory");
+            Object factory = factoryClass.getMethod("create", List.class, List.class)
+                    .invoke(null, annotations, fields);
+            return MethodHandles.publicLookup()
+                    .findVirtual(factoryClass, "newEvent",
+                            MethodType.methodType(Class.forName("jdk.jfr.Event")))
+                    .bindTo(factory)
+                    .asType(MethodType.methodType(Object.class));
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            LOGGER.debug("Unable to create Flight Recorder event " + name, ex);
+            return null;
+        }
+    }
+
+    private static MethodHandle genericHandle(MethodHandle handle) {
+        return handle.asType(handle.type().changeParameterType(0, Object.class));
+    }
+}
@@ -0,0 +1,359 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import io.helidon.build.sitegen.freemarker.TemplateProfiler;
+
+/**
+ * The time spent in each phase of a site generation, and in each page.
+ *
+ * The phases and pages are also emitted as Java Flight Recorder events when
+ * the JDK supports it.
+ */
+public final class GenerationTimings {
+
+    /**
+     * The phases of a site generation.
+     */
+    public enum Phase {
+
+        /**
+         * Scan of the source directory.
+         */
+        SCAN,
+
+        /**
+         * Read of the page metadata.
+         */
+        METADATA,
+
+        /**
+         * Rendering of the pages.
+         */
+        RENDER,
+
+        /**
+         * Resolution of the navigation.
+         */
+        NAVIGATION,
+
+        /**
+         * Rendering of the index, configuration and page chunk files, and writing of the search index.
+         */
+        INDEX,
+
+        /**
+         * Copy of the static assets and backend resources.
+         */
+        ASSETS,
+
+        /**
+         * Fingerprinting of the generated files.
+         */
+        FINGERPRINT,
+
+        /**
+         * Pre-compression of the generated files.
+         */
+        COMPRESS;
+
+        /**
+         * Get the lower case name of this phase.
+         * @return phase name
+         */
+        public String label() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final Map<Phase, AtomicLong> nanos = new EnumMap<>(Phase.class);
+    private final Map<String, PageTiming> pages = new ConcurrentHashMap<>();
+    private final AtomicLong elapsed = new AtomicLong();
+    private final TemplateProfiler templateProfiler;
+
+    /**
+     * Create a new instance.
+     */
+    public GenerationTimings() {
+        this(null);
+    }
+
+    /**
+     * Create a new instance.
+     * @param templateProfiler the profiler of the templates rendered during
+     * the generation, may be {@code null}
+     */
+    public GenerationTimings(TemplateProfiler templateProfiler) {
+        this.templateProfiler = templateProfiler;
+        for (Phase phase : Phase.values()) {
+            nanos.put(phase, new AtomicLong());
+        }
+    }
+
+    /**
+     * Get the template profiler.
+     * @return the profiler, {@code null} if the templates are not profiled
+     */
+    public TemplateProfiler templateProfiler() {
+        return templateProfiler;
+    }
+
+    /**
+     * Run a task and record its duration for the given phase.
+     * @param phase the phase
+     * @param task the task to run
+     */
+    public void time(Phase phase, Runnable task) {
+        Timer timer = start(phase);
+        try {
+            task.run();
+        } finally {
+            timer.stop();
+        }
+    }
+
+    /**
+     * Run a task and record its duration for the given phase.
+     * @param <T> the result type
+     * @param phase the phase
+     * @param task the task to run
+     * @return the task result
+     */
+    public <T> T time(Phase phase, Supplier<T> task) {
+        Timer timer = start(phase);
+        try {
+            return task.get();
+        } finally {
+            timer.stop();
+        }
+    }
+
+    /**
+     * Start timing a phase, the duration is recorded when the returned
+     * timer is stopped.
+     * @param phase the phase
+     * @return the started timer
+     */
+    public Timer start(Phase phase) {
+        return new Timer(phase);
+    }
+
+    /**
+     * Add a duration to the given phase.
+     * @param phase the phase
+     * @param duration the duration in nanoseconds
+     */
+    public void record(Phase phase, long duration) {
+        nanos.get(phase).addAndGet(duration);
+    }
+
+    /**
+     * Record the time spent reading the metadata of a page.
+     * @param sourcePath the page source path
+     * @param duration the duration in nanoseconds
+     */
+    public void recordPageMetadata(String sourcePath, long duration) {
+        page(sourcePath).metadataNanos = duration;
+    }
+
+    /**
+     * Record the rendering of a page.
+     * @param sourcePath the page source path
+     * @param duration the duration in nanoseconds
+     * @param templateDuration the part of the duration spent in the templates,
+     * in nanoseconds
+     * @param jrubyDuration the part of the duration spent in JRuby, in
+     * nanoseconds
+     * @param bytes the number of bytes written
+     */
+    public void recordPageRender(String sourcePath,
+                                 long duration,
+                                 long templateDuration,
+                                 long jrubyDuration,
+                                 long bytes) {
+
+        PageTiming page = page(sourcePath);
+        page.renderNanos = duration;
+        page.templateNanos = templateDuration;
+        page.jrubyNanos = jrubyDuration;
+        page.bytes = bytes;
+    }
+
+    private PageTiming page(String sourcePath) {
+        return pages.computeIfAbsent(sourcePath, PageTiming::new);
+    }
+
+    /**
+     * Get the timings of the pages.
+     * @return {@code List} of page timings, never {@code null}
+     */
+    public List<PageTiming> pages() {
+        return new ArrayList<>(pages.values());
+    }
+
+    /**
+     * Set the elapsed time of the generation.
+     * @param duration the duration in nanoseconds
+     */
+    public void recordElapsed(long duration) {
+        elapsed.set(duration);
+    }
+
+    /**
+     * Get the elapsed time of the generation, which includes the time not
+     * spent in any of the phases.
+     * @return duration in nanoseconds
+     */
+    public long elapsedNanos() {
+        return elapsed.get();
+    }
+
+    /**
+     * Get the time spent in a phase.
+     * @param phase the phase
+     * @return duration in nanoseconds
+     */
+    public long nanos(Phase phase) {
+        return nanos.get(phase).get();
+    }
+
+    /**
+     * Get the time spent in all phases.
+     * @return duration in nanoseconds
+     */
+    public long totalNanos() {
+        long total = 0;
+        for (AtomicLong phaseNanos : nanos.values()) {
+            total += phaseNanos.get();
+        }
+        return total;
+    }
+
+    /**
+     * Get the time spent in each phase.
+     * @return {@code Map} of duration in nanoseconds indexed by phase
+     */
+    public Map<Phase, Long> toMap() {
+        Map<Phase, Long> map = new EnumMap<>(Phase.class);
+        for (Map.Entry<Phase, AtomicLong> entry : nanos.entrySet()) {
+            map.put(entry.getKey(), entry.getValue().get());
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * A phase timer.
+     */
+    public final class Timer {
+
+        private final Phase phase;
+        private final long start;
+        private final Object event;
+
+        private Timer(Phase phase) {
+            this.phase = phase;
+            this.event = FlightRecorderEvents.PHASE.begin();
+            this.start = System.nanoTime();
+        }
+
+        /**
+         * Stop this timer and record the duration.
+         */
+        public void stop() {
+            record(phase, System.nanoTime() - start);
+            FlightRecorderEvents.PHASE.commit(event, phase.label());
+        }
+    }
+
+    /**
+     * The time spent in a page.
+     */
+    public static final class PageTiming {
+
+        private final String sourcePath;
+        private volatile long metadataNanos;
+        private volatile long renderNanos;
+        private volatile long templateNanos;
+        private volatile long jrubyNanos;
+        private volatile long bytes;
+
+        private PageTiming(String sourcePath) {
+            this.sourcePath = sourcePath;
+        }
+
+        /**
+         * Get the page source path.
+         * @return source path
+         */
+        public String sourcePath() {
+            return sourcePath;
+        }
+
+        /**
+         * Get the time spent reading the page metadata.
+         * @return duration in nanoseconds
+         */
+        public long metadataNanos() {
+            return metadataNanos;
+        }
+
+        /**
+         * Get the time spent rendering the page, {@code 0} if the page was
+         * not rendered.
+         * @return duration in nanoseconds
+         */
+        public long renderNanos() {
+            return renderNanos;
+        }
+
+        /**
+         * Get the part of the rendering time spent in the templates, only
+         * measured when the templates are profiled.
+         * @return duration in nanoseconds, {@code 0} if not measured
+         */
+        public long templateNanos() {
+            return templateNanos;
+        }
+
+        /**
+         * Get the part of the rendering time spent in JRuby, only measured
+         * when the templates are profiled.
+         * @return duration in nanoseconds, {@code 0} if not measured
+         */
+        public long jrubyNanos() {
+            return jrubyNanos;
+        }
+
+        /**
+         * Get the number of bytes written for the page.
+         * @return number of bytes
+         */
+        public long bytes() {
+            return bytes;
+        }
+    }
+}
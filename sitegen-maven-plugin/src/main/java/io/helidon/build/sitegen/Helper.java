@@ -30,7 +30,16 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import io.helidon.build.sitegen.asciidoctor.AsciidocConverter;
 
@@ -114,6 +123,84 @@ public abstract class Helper {
         }
     }
 
+    /**
+     * Convert a string to a JSON string literal that is also a valid
+     * JavaScript string literal, i.e. with the line and paragraph separators
+     * escaped.
+     *
+     * @param str the string to convert, may be {@code null}
+     * @return the string literal, the {@code null} literal if {@code str} is
+     * {@code null}
+     */
+    public static String jsonString(String str) {
+        if (str == null) {
+            return "null";
+        }
+        StringBuilder sb = new StringBuilder(str.length() + 16).append('"');
+        for (char c : str.toCharArray()) {
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                case '\u2028':
+                case '\u2029':
+                    sb.append(String.format("\\u%04x", (int) c));
+                    break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    /**
+     * Get the number of bytes of a character encoded in UTF-8. A surrogate
+     * counts for half of the 4 bytes of its pair, so that the characters of a
+     * pair can be counted separately.
+     *
+     * @param c the character
+     * @return the number of bytes
+     */
+    public static int utf8Length(char c) {
+        if (c < 0x80) {
+            return 1;
+        }
+        if (c < 0x800 || Character.isSurrogate(c)) {
+            return 2;
+        }
+        return 3;
+    }
+
+    /**
+     * Get the number of bytes of a character sequence encoded in UTF-8.
+     *
+     * @param str the character sequence
+     * @return the number of bytes
+     */
+    public static int utf8Length(CharSequence str) {
+        int length = 0;
+        for (int i = 0; i < str.length(); i++) {
+            length += utf8Length(str.charAt(i));
+        }
+        return length;
+    }
+
     /**
      * Copy static resources into the given output directory.
      *
@@ -168,6 +255,79 @@ public abstract class Helper {
         }
     }
 
+    /**
+     * Execute the given tasks using up to {@code threads} worker threads.
+     * The tasks are executed in the calling thread if {@code threads} is lower
+     * or equal to {@code 1}.
+     *
+     * @param <T> the result type of the tasks
+     * @param tasks the tasks to execute
+     * @param threads the maximum number of worker threads to use
+     * @return the results of the tasks, in the order of the given tasks
+     * @throws RenderingException if any of the tasks failed
+     */
+    public static <T> List<T> invokeAll(List<? extends Callable<T>> tasks,
+                                        int threads)
+            throws RenderingException {
+
+        checkNonNull(tasks, "tasks");
+        List<T> results = new ArrayList<>(tasks.size());
+        if (threads <= 1 || tasks.size() <= 1) {
+            for (Callable<T> task : tasks) {
+                try {
+                    results.add(task.call());
+                } catch (Exception ex) {
+                    throw asRenderingException(ex);
+                }
+            }
+            return results;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Math.min(threads, tasks.size()), new WorkerThreadFactory());
+        try {
+            List<Future<T>> futures = new ArrayList<>(tasks.size());
+            for (Callable<T> task : tasks) {
+                futures.add(executor.submit(task));
+            }
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (ExecutionException ex) {
+            throw asRenderingException(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RenderingException("Interrupted while waiting for tasks", ex);
+        } finally {
+            executor.shutdownNow();
+        }
+        return results;
+    }
+
+    private static RenderingException asRenderingException(Throwable ex) {
+        if (ex instanceof RenderingException) {
+            return (RenderingException) ex;
+        }
+        return new RenderingException(String.valueOf(ex.getMessage()), ex);
+    }
+
+    /**
+     * A thread factory for the worker threads created by {@link #invokeAll}.
+     */
+    private static final class WorkerThreadFactory implements ThreadFactory {
+
+        private static final AtomicInteger POOL_COUNTER = new AtomicInteger();
+        private final int poolNumber = POOL_COUNTER.incrementAndGet();
+        private final AtomicInteger threadCounter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "sitegen-" + poolNumber
+                    + "-worker-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
     /**
      * Verify that a given {@code Object} is non null.
      *
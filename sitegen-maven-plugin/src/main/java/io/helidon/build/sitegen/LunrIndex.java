@@ -0,0 +1,370 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static io.helidon.build.sitegen.Helper.jsonString;
+
+/**
+ * A lunr index built at generation time, serialized in the format of
+ * {@code lunr.Index.toJSON()} to be loaded in the browser with
+ * {@code lunr.Index.load()}.
+ *
+ * The index is built like the Vuetify backend builds it in the browser: the
+ * documents are grouped by page the same way, the {@code title} and
+ * {@code text} fields are tokenized with the lunr tokenizer and processed with
+ * the trimmer and the stop word filter, without stemming. The title is
+ * boosted and the scores are computed with the BM25 parameters of lunr
+ * {@value #VERSION}.
+ *
+ * The scores depend on the document frequencies of the terms and on the
+ * average field lengths. The index of a shard can be written with the
+ * {@link Statistics} of the whole corpus so that the scores of the shards
+ * can be compared with each other.
+ */
+final class LunrIndex {
+
+    /**
+     * The lunr version of the serialized format.
+     */
+    static final String VERSION = "2.1.6";
+
+    private static final String[] FIELDS = {"title", "text"};
+    private static final double[] BOOSTS = {10, 1};
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final Set<String> STOP_WORDS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "a", "able", "about", "across", "after", "all", "almost", "also", "am", "among", "an", "and", "any",
+            "are", "as", "at", "be", "because", "been", "but", "by", "can", "cannot", "could", "dear", "did",
+            "do", "does", "either", "else", "ever", "every", "for", "from", "get", "got", "had", "has", "have",
+            "he", "her", "hers", "him", "his", "how", "however", "i", "if", "in", "into", "is", "it", "its",
+            "just", "least", "let", "like", "likely", "may", "me", "might", "most", "must", "my", "neither",
+            "no", "nor", "not", "of", "off", "often", "on", "only", "or", "other", "our", "own", "rather",
+            "said", "say", "says", "she", "should", "since", "so", "some", "than", "that", "the", "their",
+            "them", "then", "there", "these", "they", "this", "tis", "to", "too", "twas", "us", "wants",
+            "was", "we", "were", "what", "when", "where", "which", "while", "who", "whom", "why", "will",
+            "with", "would", "yet", "you", "your")));
+
+    private final Map<String, Doc> docs = new LinkedHashMap<>();
+
+    /**
+     * Add a search entry. A section entry (i.e. with a location fragment)
+     * that has the same title as its page is merged with the page.
+     * @param entry the entry to add
+     */
+    void add(SearchEntry entry) {
+        Doc doc = new Doc(entry.getLocation(), entry.getTitle(), entry.getText());
+        String[] location = doc.location.split("#", -1);
+        Doc parent = null;
+        if (location.length > 1 && !location[1].isEmpty()) {
+            parent = docs.get(location[0]);
+            // override page title with document title if first section
+            if (parent != null && !parent.done) {
+                parent.title = doc.title;
+                parent.text = doc.text;
+                parent.done = true;
+            }
+        }
+        // skip the top-level headline
+        if (parent == null || !Objects.equals(parent.title, doc.title)) {
+            docs.put(doc.location, doc);
+        }
+    }
+
+    /**
+     * Build the index and write it as JSON.
+     * @param writer the writer to write to
+     * @throws IOException if an error occurs while writing
+     */
+    void write(Writer writer) throws IOException {
+        write(writer, null);
+    }
+
+    /**
+     * Build the index and write it as JSON.
+     * @param writer the writer to write to
+     * @param statistics the statistics used to compute the scores, if
+     * {@code null} the statistics of this index are used
+     * @throws IOException if an error occurs while writing
+     */
+    void write(Writer writer, Statistics statistics) throws IOException {
+        Map<String, Posting> invertedIndex = new HashMap<>();
+        List<FieldRef> fieldRefs = new ArrayList<>();
+        for (Doc doc : docs.values()) {
+            for (int field = 0; field < FIELDS.length; field++) {
+                List<String> terms = pipeline(tokenize(doc.field(field)));
+                FieldRef fieldRef = new FieldRef(FIELDS[field] + "/" + doc.location, field, terms.size());
+                for (String term : terms) {
+                    fieldRef.termFrequencies.merge(term, 1, Integer::sum);
+                    invertedIndex.computeIfAbsent(term, t -> new Posting(invertedIndex.size()))
+                            .refs.get(field).add(doc.location);
+                }
+                fieldRefs.add(fieldRef);
+            }
+        }
+        Statistics stats = statistics;
+        if (stats == null) {
+            stats = new Statistics();
+            stats.add(this);
+        }
+        double[] averageFieldLengths = new double[FIELDS.length];
+        for (int field = 0; field < FIELDS.length; field++) {
+            averageFieldLengths[field] = (double) stats.fieldLengths[field] / stats.documentCount;
+        }
+
+        writer.write("{\"version\": " + jsonString(VERSION) + ", \"fields\": [");
+        for (int field = 0; field < FIELDS.length; field++) {
+            writer.write((field > 0 ? ", " : "") + jsonString(FIELDS[field]));
+        }
+        writer.write("],\n        \"fieldVectors\": [");
+        Map<String, Double> idfs = new HashMap<>();
+        for (int i = 0; i < fieldRefs.size(); i++) {
+            FieldRef fieldRef = fieldRefs.get(i);
+            Map<Integer, Double> vector = new TreeMap<>();
+            for (Map.Entry<String, Integer> entry : fieldRef.termFrequencies.entrySet()) {
+                Posting posting = invertedIndex.get(entry.getKey());
+                double idf = idfs.computeIfAbsent(entry.getKey(), stats::idf);
+                int tf = entry.getValue();
+                double score = idf * ((K1 + 1) * tf) / (K1 * (1 - B + B
+                        * (fieldRef.length / averageFieldLengths[fieldRef.field])) + tf)
+                        * BOOSTS[fieldRef.field];
+                vector.put(posting.index, Math.round(score * 1000) / 1000.0);
+            }
+            writer.write(i > 0 ? ",\n        " : "\n        ");
+            writer.write("[" + jsonString(fieldRef.ref) + ", [");
+            boolean first = true;
+            for (Map.Entry<Integer, Double> element : vector.entrySet()) {
+                writer.write((first ? "" : ",") + element.getKey() + "," + number(element.getValue()));
+                first = false;
+            }
+            writer.write("]]");
+        }
+        writer.write("],\n        \"invertedIndex\": [");
+        List<String> terms = new ArrayList<>(invertedIndex.keySet());
+        Collections.sort(terms);
+        for (int i = 0; i < terms.size(); i++) {
+            Posting posting = invertedIndex.get(terms.get(i));
+            writer.write(i > 0 ? ",\n        " : "\n        ");
+            writer.write("[" + jsonString(terms.get(i)) + ", {\"_index\": " + posting.index);
+            for (int field = 0; field < FIELDS.length; field++) {
+                writer.write(", " + jsonString(FIELDS[field]) + ": {");
+                boolean first = true;
+                for (String ref : posting.refs.get(field)) {
+                    writer.write((first ? "" : ", ") + jsonString(ref) + ": {}");
+                    first = false;
+                }
+                writer.write("}");
+            }
+            writer.write("}]");
+        }
+        // the search pipeline of the browser index only has the stemmer
+        writer.write("],\n        \"pipeline\": [\"stemmer\"]}");
+    }
+
+    /**
+     * Split a string into tokens like {@code lunr.tokenizer}.
+     * @param str the string to tokenize, may be {@code null}
+     * @return the lower case tokens
+     */
+    static List<String> tokenize(String str) {
+        if (str == null) {
+            return Collections.emptyList();
+        }
+        String lower = str.toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i <= lower.length(); i++) {
+            if (i == lower.length() || isSeparator(lower.charAt(i))) {
+                if (i > start) {
+                    tokens.add(lower.substring(start, i));
+                }
+                start = i + 1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Process tokens like the lunr trimmer and stop word filter.
+     * @param tokens the tokens to process
+     * @return the terms
+     */
+    static List<String> pipeline(List<String> tokens) {
+        List<String> terms = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            int start = 0;
+            int end = token.length();
+            while (start < end && !isWordChar(token.charAt(start))) {
+                start++;
+            }
+            while (end > start && !isWordChar(token.charAt(end - 1))) {
+                end--;
+            }
+            String term = token.substring(start, end);
+            if (!STOP_WORDS.contains(term)) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    private static String number(double value) {
+        return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+    }
+
+    /**
+     * Test if a character matches the lunr token separator, i.e. the
+     * JavaScript {@code [\s\-]} character class.
+     */
+    private static boolean isSeparator(char c) {
+        switch (c) {
+            case '-':
+            case ' ':
+            case '\t':
+            case '\n':
+            case '\u000b':
+            case '\f':
+            case '\r':
+            case '\u00a0':
+            case '\u1680':
+            case '\u2028':
+            case '\u2029':
+            case '\u202f':
+            case '\u205f':
+            case '\u3000':
+            case '\ufeff':
+                return true;
+            default:
+                return c >= '\u2000' && c <= '\u200a';
+        }
+    }
+
+    /**
+     * Test if a character matches the JavaScript {@code \w} character class.
+     */
+    private static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z')
+                || (c >= 'A' && c <= 'Z')
+                || (c >= '0' && c <= '9')
+                || c == '_';
+    }
+
+    /**
+     * The statistics of a corpus used to compute the scores, i.e. the number
+     * of documents, the length of the fields and the number of fields that
+     * contain each term.
+     */
+    static final class Statistics {
+
+        private final Map<String, Integer> fieldsWithTerm = new HashMap<>();
+        private final long[] fieldLengths = new long[FIELDS.length];
+        private int documentCount;
+
+        /**
+         * Add the documents of an index.
+         * @param index the index to add
+         */
+        void add(LunrIndex index) {
+            for (Doc doc : index.docs.values()) {
+                documentCount++;
+                for (int field = 0; field < FIELDS.length; field++) {
+                    List<String> terms = pipeline(tokenize(doc.field(field)));
+                    fieldLengths[field] += terms.size();
+                    for (String term : new HashSet<>(terms)) {
+                        fieldsWithTerm.merge(term, 1, Integer::sum);
+                    }
+                }
+            }
+        }
+
+        private double idf(String term) {
+            int documentsWithTerm = fieldsWithTerm.getOrDefault(term, 0);
+            double x = (documentCount - documentsWithTerm + 0.5) / (documentsWithTerm + 0.5);
+            return StrictMath.log(1 + Math.abs(x));
+        }
+    }
+
+    /**
+     * An indexed document.
+     */
+    private static final class Doc {
+
+        private final String location;
+        private String title;
+        private String text;
+        private boolean done;
+
+        Doc(String location, String title, String text) {
+            this.location = location;
+            this.title = title;
+            this.text = text;
+        }
+
+        String field(int field) {
+            return field == 0 ? title : text;
+        }
+    }
+
+    /**
+     * The references of the documents that contain a term, per field.
+     */
+    private static final class Posting {
+
+        private final int index;
+        private final List<Set<String>> refs = new ArrayList<>(FIELDS.length);
+
+        Posting(int index) {
+            this.index = index;
+            for (int i = 0; i < FIELDS.length; i++) {
+                refs.add(new LinkedHashSet<>());
+            }
+        }
+    }
+
+    /**
+     * The term frequencies of a field of a document.
+     */
+    private static final class FieldRef {
+
+        private final String ref;
+        private final int field;
+        private final int length;
+        private final Map<String, Integer> termFrequencies = new LinkedHashMap<>();
+
+        FieldRef(String ref, int field, int length) {
+            this.ref = ref;
+            this.field = field;
+            this.length = length;
+        }
+    }
+}
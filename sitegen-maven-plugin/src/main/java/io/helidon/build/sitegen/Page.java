@@ -20,13 +20,18 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+import io.helidon.build.sitegen.GenerationTimings.Phase;
 
 import static io.helidon.build.sitegen.Helper.checkNonNull;
 import static io.helidon.build.sitegen.Helper.checkNonNullNonEmpty;
 import static io.helidon.build.sitegen.Helper.getFileExt;
+import static io.helidon.build.sitegen.Helper.invokeAll;
 import static io.helidon.build.sitegen.Helper.replaceFileExt;
 
 /**
@@ -100,27 +105,48 @@ public class Page implements Model {
                                     Collection<String> includesPatterns,
                                     Collection<String> excludesPatterns) {
 
+        return doFilter(pages,
+                SourcePattern.compile(includesPatterns),
+                SourcePattern.compile(excludesPatterns));
+    }
+
+    /**
+     * Filter the given {@code Collection} of pages with the given filter.
+     * @param pages the pages to filter
+     * @param filter the filter to apply
+     * @return the filtered {@code Collection} of pages
+     */
+    public static List<Page> filter(Collection<Page> pages, SourcePathFilter filter) {
+        checkNonNull(filter, "filter");
+        return doFilter(pages, filter.getIncludePatterns(), filter.getExcludePatterns());
+    }
+
+    private static List<Page> doFilter(Collection<Page> pages,
+                                       List<SourcePattern> includePatterns,
+                                       List<SourcePattern> excludePatterns) {
+
+        return index(pages).filter(includePatterns, excludePatterns);
+    }
+
+    /**
+     * Create an index of the given pages by source path, to filter the pages
+     * repeatedly without re-creating the source paths.
+     * @param pages the pages to index
+     * @return the created index
+     */
+    public static SourcePathIndex<Page> index(Collection<Page> pages) {
         checkNonNull(pages, "pages");
-        Map<SourcePath, Page> sourcePaths = new HashMap<>();
+        SourcePathIndex<Page> index = new SourcePathIndex<>();
         for (Page page : pages) {
-            sourcePaths.put(new SourcePath(page.getSourcePath()), page);
-        }
-        List<SourcePath> filteredSourcePaths = SourcePath.filter(
-                sourcePaths.keySet(), includesPatterns, excludesPatterns);
-        List<Page> filtered = new LinkedList<>();
-        for (SourcePath sourcePath : SourcePath.sort(filteredSourcePaths)) {
-            Page page = sourcePaths.get(sourcePath);
-            if (page == null) {
-                throw new IllegalStateException(
-                        "unable to get page for path: " + sourcePath.asString());
-            }
-            filtered.add(page);
+            index.put(new SourcePath(page.getSourcePath()), page);
         }
-        return filtered;
+        return index;
     }
 
     /**
      * Create {@link Page} instances for each matched {@link SourcePath}.
+     * The metadata is read with {@link PageRenderer#readMetadata(File)}.
+     *
      * @param sourcePaths a {@code List} of {@link SourcePath} to match
      * @param pageFilters a {@code List} of {@link SourcePathFilter} to apply
      * @param sourcedir the source directory containing associated with the
@@ -129,7 +155,10 @@ public class Page implements Model {
      * {@link Page} metadata
      * @return the created {@link Page} instances in {@code Map} indexed by their
      * relative source path
+     * @deprecated the pages are created by the {@link RenderingContext}, see
+     * {@link RenderingContext#getPages()}
      */
+    @Deprecated
     public static Map<String, Page> create(List<SourcePath> sourcePaths,
                                            List<SourcePathFilter> pageFilters,
                                            File sourcedir,
@@ -165,6 +194,80 @@ public class Page implements Model {
         return pages;
     }
 
+    /**
+     * Create {@link Page} instances for each matched {@link SourcePath}.
+     * The metadata recorded in the given manifest is re-used for the pages
+     * that have not changed since the previous generation, the metadata of
+     * the other pages is read concurrently using the number of threads of
+     * the site.
+     *
+     * @param sourcePaths the scanned {@link SourcePath} instances to match
+     * @param ctx the context representing the site processing invocation
+     * @param manifest the build manifest, may be {@code null}
+     * @return the created {@link Page} instances in {@code Map} indexed by their
+     * relative source path
+     */
+    static Map<String, Page> create(SourcePathIndex<SourcePath> sourcePaths,
+                                    RenderingContext ctx,
+                                    BuildManifest manifest) {
+
+        checkNonNull(sourcePaths, "sourcePaths");
+        checkNonNull(ctx, "ctx");
+        List<SourcePathFilter> pageFilters = ctx.getSite().getPages();
+        List<SourcePath> filteredSourcePaths;
+        if (pageFilters.isEmpty()) {
+            filteredSourcePaths = sourcePaths.values();
+        } else {
+            filteredSourcePaths = new ArrayList<>();
+            for (SourcePathFilter pageFilter : pageFilters) {
+                filteredSourcePaths.addAll(sourcePaths.filter(pageFilter));
+            }
+            SourcePath.sort(filteredSourcePaths);
+        }
+        Set<String> sourcePathStrs = new HashSet<>();
+        List<Callable<Page>> tasks = new ArrayList<>();
+        for (SourcePath sourcePath : filteredSourcePaths) {
+            String sourcePathStr = sourcePath.asString();
+            if (!sourcePathStrs.add(sourcePathStr)) {
+                throw new IllegalStateException(
+                        "source path " + sourcePathStr + "already included");
+            }
+            tasks.add(() -> create(sourcePathStr, ctx, manifest));
+        }
+        Map<String, Page> pages = new HashMap<>();
+        for (Page page : invokeAll(tasks, ctx.getSite().getThreads())) {
+            pages.put(page.getSourcePath(), page);
+        }
+        return pages;
+    }
+
+    private static Page create(String sourcePath,
+                               RenderingContext ctx,
+                               BuildManifest manifest) {
+
+        String sourceExt = getFileExt(sourcePath);
+        String targetPath = replaceFileExt(sourcePath, "");
+        PageRenderer renderer = ctx.getSite().getBackend().getPageRenderer(sourceExt);
+        File source = new File(ctx.getSourcedir(), sourcePath);
+        Metadata metadata = null;
+        if (manifest != null
+                && manifest.checkSource(sourcePath, source, renderer, ctx)) {
+            metadata = manifest.previousMetadata(sourcePath);
+        }
+        if (metadata == null) {
+            Object event = FlightRecorderEvents.PAGE.begin();
+            long start = System.nanoTime();
+            metadata = renderer.readMetadata(source, ctx);
+            ctx.getTimings().recordPageMetadata(sourcePath, System.nanoTime() - start);
+            FlightRecorderEvents.PAGE.commit(event, sourcePath,
+                    Phase.METADATA.label(), 0L);
+        }
+        if (manifest != null) {
+            manifest.recordMetadata(sourcePath, metadata);
+        }
+        return new Page(sourcePath, sourceExt, targetPath, metadata);
+    }
+
     /**
      * Represents a {@link Page} metadata.
      */
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static io.helidon.build.sitegen.Helper.checkNonNull;
+import static io.helidon.build.sitegen.Helper.jsonString;
+import static io.helidon.build.sitegen.Helper.utf8Length;
+
+/**
+ * Bundles the rendered pages of the Vuetify backend into chunk files, so that
+ * the pages of a navigation section are downloaded with a single request.
+ *
+ * A chunk is a script that registers the templates of its pages in
+ * {@code window.allPages} and the custom bindings of its pages in
+ * {@code window.allCustoms}, keyed by page id. A chunk only contains the pages
+ * of one group and is split when it exceeds the maximum number of pages or
+ * the maximum size. Only the chunks that have changed are written, the stale
+ * chunks are removed.
+ */
+final class PageChunker {
+
+    /**
+     * The directory of the chunks, relative to the output directory.
+     */
+    static final String CHUNKS_DIR = "chunks";
+
+    /**
+     * The default maximum number of pages per chunk.
+     */
+    static final int DEFAULT_MAX_PAGES = 20;
+
+    /**
+     * The default maximum size of a chunk in bytes.
+     */
+    static final int DEFAULT_MAX_SIZE = 256 * 1024;
+
+    private static final Pattern CHUNK_NAME = Pattern.compile("^chunk[0-9]+\\.js$");
+
+    private final File outputdir;
+    private final File pagesdir;
+    private final int maxPages;
+    private final int maxSize;
+
+    /**
+     * Create a new chunker.
+     * @param outputdir the output directory
+     * @param pagesdir the directory containing the rendered pages
+     * @param maxPages the maximum number of pages per chunk
+     * @param maxSize the maximum size of a chunk in bytes, a page bigger than
+     * the maximum size gets its own chunk
+     */
+    PageChunker(File outputdir, File pagesdir, int maxPages, int maxSize) {
+        checkNonNull(outputdir, "outputdir");
+        checkNonNull(pagesdir, "pagesdir");
+        if (maxPages < 1) {
+            throw new IllegalArgumentException("invalid maximum number of pages: " + maxPages);
+        }
+        this.outputdir = outputdir;
+        this.pagesdir = pagesdir;
+        this.maxPages = maxPages;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Get the id of a page, as used by the page components.
+     * @param page the page
+     * @return the page id
+     */
+    static String pageId(Page page) {
+        String target = page.getTargetPath();
+        if (target.startsWith("/")) {
+            target = target.substring(1);
+        }
+        return target.replace('/', '-');
+    }
+
+    /**
+     * Write the chunks.
+     * @param groups the pages grouped by navigation section
+     * @param customPages the source paths of the pages that have custom
+     * bindings
+     * @return the chunk paths relative to the output directory, keyed by page
+     * route in chunk order
+     * @throws RenderingException if an error occurs while writing the chunks
+     */
+    Map<String, String> chunk(List<List<Page>> groups, Set<String> customPages) {
+        checkNonNull(groups, "groups");
+        checkNonNull(customPages, "customPages");
+        Map<String, String> routes = new LinkedHashMap<>();
+        Set<String> chunkNames = new HashSet<>();
+        try {
+            Files.createDirectories(chunksDir());
+            StringBuilder chunk = new StringBuilder();
+            int chunkSize = 0;
+            int numPages = 0;
+            for (List<Page> group : groups) {
+                for (Page page : group) {
+                    String entry = entry(page, customPages.contains(page.getSourcePath()));
+                    int entrySize = utf8Length(entry);
+                    if (numPages > 0
+                            && (numPages >= maxPages || chunkSize + entrySize > maxSize)) {
+                        chunkNames.add(write(chunkNames.size(), chunk));
+                        chunk.setLength(0);
+                        chunkSize = 0;
+                        numPages = 0;
+                    }
+                    chunk.append(entry);
+                    chunkSize += entrySize;
+                    numPages++;
+                    routes.put(page.getTargetPath(),
+                            CHUNKS_DIR + "/" + chunkName(chunkNames.size()));
+                }
+                if (numPages > 0) {
+                    chunkNames.add(write(chunkNames.size(), chunk));
+                    chunk.setLength(0);
+                    chunkSize = 0;
+                    numPages = 0;
+                }
+            }
+            removeStaleChunks(chunkNames);
+        } catch (IOException ex) {
+            throw new RenderingException(
+                    "An error occurred while writing page chunks", ex);
+        }
+        return Collections.unmodifiableMap(routes);
+    }
+
+    private String entry(Page page, boolean custom) throws IOException {
+        String id = jsonString(pageId(page));
+        StringBuilder sb = new StringBuilder();
+        sb.append("window.allPages[").append(id).append("] = ")
+          .append(jsonString(read(page.getTargetPath() + ".js")))
+          .append(";\n");
+        if (custom) {
+            sb.append(read(page.getTargetPath() + "_custom.js")).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private String read(String path) throws IOException {
+        return new String(Files.readAllBytes(new File(pagesdir, path).toPath()),
+                StandardCharsets.UTF_8);
+    }
+
+    private String write(int index, StringBuilder chunk) throws IOException {
+        String name = chunkName(index);
+        Path file = chunksDir().resolve(name);
+        byte[] content = chunk.toString().getBytes(StandardCharsets.UTF_8);
+        // keep the unchanged chunks as-is
+        if (!Files.exists(file) || !Arrays.equals(content, Files.readAllBytes(file))) {
+            Files.write(file, content);
+        }
+        return name;
+    }
+
+    private void removeStaleChunks(Set<String> chunkNames) throws IOException {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(chunksDir())) {
+            for (Path file : stream) {
+                String name = file.getFileName().toString();
+                if (CHUNK_NAME.matcher(name).matches() && !chunkNames.contains(name)) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    private Path chunksDir() {
+        return new File(outputdir, CHUNKS_DIR).toPath();
+    }
+
+    private static String chunkName(int index) {
+        return "chunk" + index + ".js";
+    }
+}
@@ -17,6 +17,7 @@
 package io.helidon.build.sitegen;
 
 import java.io.File;
+import java.util.List;
 
 import io.helidon.build.sitegen.Page.Metadata;
 
@@ -31,8 +32,26 @@ public interface PageRenderer {
      * Read a given document metadata.
      * @param source the file to read the metadata from
      * @return the {@link Metadata} instance, never {@code null}
+     * @throws UnsupportedOperationException if not implemented
+     * @deprecated use {@link #readMetadata(File, RenderingContext)}, this
+     * method is not invoked by the site processing
      */
-    Metadata readMetadata(File source);
+    @Deprecated
+    default Metadata readMetadata(File source) {
+        throw new UnsupportedOperationException(
+                "readMetadata(File, RenderingContext) is not implemented");
+    }
+
+    /**
+     * Read a given document metadata.
+     * Implementations may retain the state created while reading the metadata
+     * to render the document later during the same invocation.
+     *
+     * @param source the file to read the metadata from
+     * @param ctx the context representing the site processing invocation
+     * @return the {@link Metadata} instance, never {@code null}
+     */
+    Metadata readMetadata(File source, RenderingContext ctx);
 
     /**
      * Process the rendering of a given document.
@@ -42,4 +61,18 @@ public interface PageRenderer {
      * @param ext the file extension to use for the rendered pages
      */
     void process(Page page, RenderingContext ctx, File pagesdir, String ext);
+
+    /**
+     * Read the files that a given document depends on, e.g. included files.
+     * The default implementation returns {@code null}, the documents are then
+     * always rendered by incremental generations.
+     *
+     * @param source the document to read the dependencies of
+     * @param ctx the context representing the site processing invocation
+     * @return the {@code List} of files the document depends on, or
+     * {@code null} if the dependencies cannot be determined
+     */
+    default List<File> readDependencies(File source, RenderingContext ctx) {
+        return null;
+    }
 }
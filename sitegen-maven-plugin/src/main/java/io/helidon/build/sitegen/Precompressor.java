@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+import static io.helidon.build.sitegen.Helper.checkNonNull;
+import static io.helidon.build.sitegen.Helper.getFileExt;
+import static io.helidon.build.sitegen.Helper.invokeAll;
+import static io.helidon.common.CollectionsHelper.listOf;
+
+/**
+ * Pre-compresses the generated files, a gzip file is written next to each
+ * matched file (e.g. {@code index.html.gz} for {@code index.html}) to be
+ * served as-is by static file servers.
+ *
+ * The files smaller than the minimum size, the files of an already compressed
+ * format and the files whose compressed form is not smaller are skipped. A
+ * compressed file gets the modification time of the original file, the files
+ * that have not changed since the previous compression are not compressed
+ * again.
+ */
+public final class Precompressor {
+
+    /**
+     * The default include patterns, matching the files generated by the
+     * Vuetify backend.
+     */
+    public static final List<String> DEFAULT_INCLUDES = listOf(
+            "index.html",
+            "main/*.js",
+            "main/*.json",
+            "main/search-index/*.json",
+            "pages/**/*.js",
+            "chunks/*.js",
+            "**/*.css");
+
+    /**
+     * The default minimum size of the compressed files.
+     */
+    public static final int DEFAULT_MIN_SIZE = 1024;
+
+    /**
+     * The extension of the compressed files.
+     */
+    public static final String GZIP_EXT = "gz";
+
+    private static final Set<String> COMPRESSED_EXTS = Collections.unmodifiableSet(
+            new HashSet<>(Arrays.asList(GZIP_EXT, "br", "zip", "jar", "png", "jpg",
+                    "jpeg", "gif", "webp", "woff", "woff2")));
+
+    private final List<SourcePattern> includes;
+    private final int minSize;
+    private final int threads;
+
+    /**
+     * Create a new pre-compressor.
+     * @param includes the include patterns of the files to compress, the
+     * default includes are used if {@code null} or empty
+     * @param minSize the minimum size in bytes of the files to compress
+     * @param threads the number of threads used to compress the files
+     */
+    public Precompressor(List<String> includes, int minSize, int threads) {
+        this.includes = SourcePattern.compile(includes == null || includes.isEmpty()
+                ? DEFAULT_INCLUDES : includes);
+        this.minSize = minSize;
+        this.threads = threads;
+    }
+
+    /**
+     * Compress the matched files of the given directory.
+     * @param dir the directory containing the files to compress
+     * @return the number of compressed files
+     * @throws RenderingException if an error occurs while compressing
+     */
+    public int compress(File dir) {
+        checkNonNull(dir, "dir");
+        List<SourcePath> paths = new SourcePathScanner(dir)
+                .filter(includes, Collections.emptyList())
+                .scan();
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        for (SourcePath path : paths) {
+            String ext = getFileExt(path.asString());
+            if (ext != null && COMPRESSED_EXTS.contains(ext.toLowerCase(Locale.ENGLISH))) {
+                continue;
+            }
+            tasks.add(() -> compress(new File(dir, path.asString()).toPath()));
+        }
+        int compressed = 0;
+        for (Boolean result : invokeAll(tasks, threads)) {
+            if (result) {
+                compressed++;
+            }
+        }
+        return compressed;
+    }
+
+    private boolean compress(Path file) {
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+            Path target = file.resolveSibling(file.getFileName() + "." + GZIP_EXT);
+            if (attrs.size() < minSize) {
+                Files.deleteIfExists(target);
+                return false;
+            }
+            FileTime time = attrs.lastModifiedTime();
+            try {
+                if (Files.getLastModifiedTime(target).equals(time)) {
+                    return false;
+                }
+            } catch (NoSuchFileException ex) {
+                // not compressed yet
+            }
+            byte[] compressed = gzip(Files.readAllBytes(file));
+            if (compressed.length >= attrs.size()) {
+                Files.deleteIfExists(target);
+                return false;
+            }
+            Files.write(target, compressed);
+            Files.setLastModifiedTime(target, time);
+            return true;
+        } catch (IOException ex) {
+            throw new RenderingException(
+                    "An error occurred while compressing file: " + file, ex);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gzos = new BestGZIPOutputStream(baos)) {
+            gzos.write(data);
+        }
+        return baos.toByteArray();
+    }
+
+    /**
+     * A gzip stream using the best compression level.
+     */
+    private static final class BestGZIPOutputStream extends GZIPOutputStream {
+
+        BestGZIPOutputStream(ByteArrayOutputStream out) throws IOException {
+            super(out);
+            def.setLevel(Deflater.BEST_COMPRESSION);
+        }
+    }
+}
@@ -18,15 +18,24 @@ package io.helidon.build.sitegen;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import io.helidon.build.sitegen.GenerationTimings.Phase;
+import io.helidon.build.sitegen.freemarker.RenderClock;
 import io.helidon.build.sitegen.freemarker.TemplateSession;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import static io.helidon.build.sitegen.Helper.checkNonNull;
 import static io.helidon.build.sitegen.Helper.checkNonNullNonEmpty;
 import static io.helidon.build.sitegen.Helper.checkValidDir;
-import static io.helidon.build.sitegen.Helper.copyResources;
+import static io.helidon.build.sitegen.Helper.invokeAll;
 
 /**
  * Represents a site processing invocation.
@@ -35,24 +44,80 @@ import static io.helidon.build.sitegen.Helper.copyResources;
  */
 public class RenderingContext {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(RenderingContext.class);
+
     private final Site site;
     private final TemplateSession templateSession;
     private final Map<String, Page> pages;
     private final File sourcedir;
     private final File outputdir;
-    private final List<SourcePath> sourcePaths;
+    private final SourcePathIndex<SourcePath> sourcePaths;
+    private final BuildManifest manifest;
+    private final GenerationTimings timings;
 
     RenderingContext(Site site, File sourcedir, File outputdir) {
+        this(site, sourcedir, outputdir, null, new GenerationTimings());
+    }
+
+    RenderingContext(Site site,
+                     File sourcedir,
+                     File outputdir,
+                     BuildManifest manifest,
+                     GenerationTimings timings) {
+
         checkNonNull(site, "site");
         checkValidDir(sourcedir, "sourcedir");
         checkNonNull(outputdir, "outputdir");
+        checkNonNull(timings, "timings");
         this.site = site;
         this.sourcedir = sourcedir;
         this.outputdir = outputdir;
-        this.templateSession = new TemplateSession();
-        this.sourcePaths = SourcePath.scan(sourcedir);
-        this.pages = Page.create(
-                sourcePaths, site.getPages(), sourcedir, site.getBackend());
+        this.manifest = manifest;
+        this.timings = timings;
+        this.templateSession = new TemplateSession(timings.templateProfiler());
+        SourcePathIndex<SourcePath> scanned = timings.time(Phase.SCAN,
+                () -> SourcePathIndex.of(scan(site, sourcedir)));
+        this.sourcePaths = scanned;
+        // the pages are created last, reading the metadata uses this context
+        this.pages = timings.time(Phase.METADATA,
+                () -> Page.create(scanned, this, manifest));
+        if (manifest != null) {
+            manifest.checkPages(pages.values());
+        }
+    }
+
+    /**
+     * Create a context for a site processing invocation without generating
+     * the site, e.g. to read or render individual pages. The source directory
+     * is scanned and the metadata of the pages is read.
+     *
+     * @param site the site
+     * @param sourcedir the source directory
+     * @param outputdir the output directory
+     * @return the created context
+     */
+    public static RenderingContext create(Site site, File sourcedir, File outputdir) {
+        return new RenderingContext(site, sourcedir, outputdir);
+    }
+
+    /**
+     * Scan the source directory, the directories that no page filter and no
+     * static asset can include are skipped.
+     */
+    private static List<SourcePath> scan(Site site, File sourcedir) {
+        SourcePathScanner scanner = new SourcePathScanner(sourcedir);
+        // without page filters all the files are pages
+        if (!site.getPages().isEmpty()) {
+            for (SourcePathFilter pageFilter : site.getPages()) {
+                scanner.filter(pageFilter.getIncludePatterns(),
+                        pageFilter.getExcludePatterns());
+            }
+            for (StaticAsset asset : site.getAssets()) {
+                scanner.filter(asset.getIncludePatterns(),
+                        asset.getExcludePatterns());
+            }
+        }
+        return scanner.scan();
     }
 
     /**
@@ -79,6 +144,14 @@ public class RenderingContext {
         return templateSession;
     }
 
+    /**
+     * Get the timings of this site processing invocation.
+     * @return the timings, never {@code null}
+     */
+    public GenerationTimings getTimings() {
+        return timings;
+    }
+
     /**
      * Get all scanned pages.
      *
@@ -116,32 +189,102 @@ public class RenderingContext {
      * Copy the scanned static assets in the output directory.
      */
     public void copyStaticAssets() {
+        timings.time(Phase.ASSETS, this::doCopyStaticAssets);
+    }
+
+    private void doCopyStaticAssets() {
+        AssetSynchronizer synchronizer = new AssetSynchronizer();
+        AtomicInteger copied = new AtomicInteger();
+        // one task per target file, assets mapping the same file to the same
+        // target would race otherwise; the last asset wins as when copied in order
+        Map<File, Callable<Void>> tasks = new LinkedHashMap<>();
         for (StaticAsset asset : site.getAssets()) {
-            for (SourcePath path : SourcePath.filter(
-                    sourcePaths, asset.getIncludes(), asset.getExcludes())) {
-                File targetDir = new File(outputdir, asset.getTarget());
-                targetDir.mkdirs();
-                try {
-                    copyResources(new File(sourcedir, path.asString()).toPath(),
-                            new File(targetDir, path.asString()));
-                } catch (IOException ex) {
-                    throw new RenderingException(
-                            "An error occurred while copying resource: " + path.asString(), ex);
-                }
+            File targetDir = new File(outputdir, asset.getTarget());
+            for (SourcePath path : sourcePaths.filter(
+                    asset.getIncludePatterns(), asset.getExcludePatterns())) {
+                File target = new File(targetDir, path.asString());
+                tasks.remove(target);
+                tasks.put(target, () -> {
+                    try {
+                        if (synchronizer.sync(new File(sourcedir, path.asString()).toPath(),
+                                target.toPath(), asset.getSync())) {
+                            copied.incrementAndGet();
+                        }
+                    } catch (IOException ex) {
+                        throw new RenderingException(
+                                "An error occurred while copying resource: " + path.asString(), ex);
+                    }
+                    return null;
+                });
             }
         }
+        invokeAll(new ArrayList<>(tasks.values()), site.getThreads());
+        LOGGER.debug("{} static assets copied, {} up-to-date",
+                copied.get(), tasks.size() - copied.get());
     }
 
     /**
      * Process the rendering of all pages.
+     * The pages are rendered concurrently if the site is configured with more
+     * than one thread, see {@link Site#getThreads()}.
+     * If this invocation has a build manifest, the pages that have not changed
+     * since the previous generation are not rendered.
      *
      * @param pagesdir the directory where to generate the rendered files
      * @param ext the file extension to use for the rendered files
      */
     public void processPages(File pagesdir, String ext) {
+        timings.time(Phase.RENDER, () -> doProcessPages(pagesdir, ext));
+    }
+
+    private void doProcessPages(File pagesdir, String ext) {
+        // keep the search entries in page order regardless of the
+        // order in which the pages complete
+        templateSession.getSearchIndex().declarePages(pages.values());
+        List<Callable<Void>> tasks = new ArrayList<>();
+        int upToDate = 0;
         for (Page page : pages.values()) {
+            if (manifest != null
+                    && manifest.isUpToDate(page.getSourcePath())
+                    && new File(pagesdir, page.getTargetPath() + "." + ext).exists()) {
+                manifest.restoreOutputs(page, templateSession);
+                upToDate++;
+                continue;
+            }
             PageRenderer renderer = site.getBackend().getPageRenderer(page.getSourceExt());
+            tasks.add(() -> {
+                renderPage(renderer, page, pagesdir, ext);
+                if (manifest != null) {
+                    manifest.recordOutputs(page, templateSession);
+                }
+                return null;
+            });
+        }
+        if (upToDate > 0) {
+            LOGGER.info("{} page(s) up-to-date, {} page(s) to render",
+                    upToDate, tasks.size());
+        }
+        invokeAll(tasks, site.getThreads());
+    }
+
+    private void renderPage(PageRenderer renderer, Page page, File pagesdir, String ext) {
+        Object event = FlightRecorderEvents.PAGE.begin();
+        long start = System.nanoTime();
+        // the split between templates and JRuby is measured when profiling
+        RenderClock clock = templateSession.getProfiler() != null ? RenderClock.start() : null;
+        try {
             renderer.process(page, this, pagesdir, ext);
+        } finally {
+            if (clock != null) {
+                clock.stop();
+            }
         }
+        long duration = System.nanoTime() - start;
+        long bytes = new File(pagesdir, page.getTargetPath() + "." + ext).length();
+        timings.recordPageRender(page.getSourcePath(), duration,
+                clock != null ? clock.templateNanos() : 0,
+                clock != null ? clock.jrubyNanos() : 0, bytes);
+        FlightRecorderEvents.PAGE.commit(event, page.getSourcePath(),
+                Phase.RENDER.label(), bytes);
     }
 }
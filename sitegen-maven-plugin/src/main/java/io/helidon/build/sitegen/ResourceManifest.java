@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static io.helidon.build.sitegen.Helper.checkNonNull;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * The content hashes of a directory of bundled resources, used to copy only
+ * the resources that are missing or different in an output directory.
+ *
+ * The manifest is a file next to the resources directory, with the same name
+ * and the {@code .sha256} extension. Each line has the SHA-256 digest, the
+ * size and the relative path of a resource, separated by a space. The
+ * manifest must be updated when the resources change, see
+ * {@link #create(Path)}.
+ *
+ * A copied resource gets the modification time of the bundled resource, the
+ * resources whose output file has the same size and time are not read.
+ */
+final class ResourceManifest {
+
+    /**
+     * The manifest file extension.
+     */
+    static final String EXTENSION = ".sha256";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResourceManifest.class);
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    private static final int BUFFER_SIZE = 8192;
+
+    private final List<Entry> entries;
+
+    private ResourceManifest(List<Entry> entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * Load the manifest of a resources directory.
+     * @param resources the resources directory
+     * @return the loaded manifest, or {@code null} if the directory has no
+     * manifest
+     * @throws IOException if an error occurs while reading the manifest
+     */
+    static ResourceManifest load(Path resources) throws IOException {
+        checkNonNull(resources, "resources");
+        Path manifestFile = manifestFile(resources);
+        if (!Files.exists(manifestFile)) {
+            return null;
+        }
+        List<Entry> entries = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(manifestFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] tokens = line.split(" ", 3);
+                if (tokens.length != 3) {
+                    throw new IOException("Invalid manifest line: " + line);
+                }
+                entries.add(new Entry(tokens[2], Long.parseLong(tokens[1]), tokens[0]));
+            }
+        }
+        return new ResourceManifest(Collections.unmodifiableList(entries));
+    }
+
+    /**
+     * Create the manifest of a resources directory.
+     * @param resources the resources directory
+     * @return the created manifest
+     * @throws IOException if an error occurs while reading the resources
+     */
+    static ResourceManifest create(Path resources) throws IOException {
+        checkNonNull(resources, "resources");
+        List<Entry> entries = new ArrayList<>();
+        Files.walkFileTree(resources, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs)
+                    throws IOException {
+
+                String path = resources.relativize(file).toString().replace('\\', '/');
+                entries.add(new Entry(path, attrs.size(), digest(file)));
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        entries.sort((e1, e2) -> e1.path.compareTo(e2.path));
+        return new ResourceManifest(Collections.unmodifiableList(entries));
+    }
+
+    /**
+     * Get the manifest file of a resources directory.
+     * @param resources the resources directory
+     * @return the manifest file
+     */
+    static Path manifestFile(Path resources) {
+        return resources.resolveSibling(resources.getFileName() + EXTENSION);
+    }
+
+    /**
+     * Copy the resources that are missing or different in the output
+     * directory.
+     * @param resources the resources directory
+     * @param outputdir the output directory
+     * @return the number of copied resources
+     * @throws IOException if an error occurs while copying
+     */
+    int copy(Path resources, File outputdir) throws IOException {
+        int copied = 0;
+        for (Entry entry : entries) {
+            Path source = resources.resolve(entry.path);
+            Path target = outputdir.toPath().resolve(entry.path);
+            FileTime time = Files.getLastModifiedTime(source);
+            if (upToDate(entry, time, target)) {
+                continue;
+            }
+            LOGGER.debug("Copying static resource: {} to {}", entry.path, target);
+            Files.createDirectories(target.getParent());
+            Files.copy(source, target, REPLACE_EXISTING);
+            Files.setLastModifiedTime(target, time);
+            copied++;
+        }
+        return copied;
+    }
+
+    private static boolean upToDate(Entry entry, FileTime time, Path target)
+            throws IOException {
+
+        BasicFileAttributes attrs;
+        try {
+            attrs = Files.readAttributes(target, BasicFileAttributes.class);
+        } catch (IOException ex) {
+            // does not exist
+            return false;
+        }
+        if (!attrs.isRegularFile() || attrs.size() != entry.size) {
+            return false;
+        }
+        if (attrs.lastModifiedTime().equals(time)) {
+            return true;
+        }
+        if (entry.digest.equals(digest(target))) {
+            Files.setLastModifiedTime(target, time);
+            return true;
+        }
+        return false;
+    }
+
+    private static String digest(Path file) throws IOException {
+        MessageDigest md;
+        try {
+            md = MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream is = Files.newInputStream(file)) {
+            int read;
+            while ((read = is.read(buffer)) != -1) {
+                md.update(buffer, 0, read);
+            }
+        }
+        StringBuilder sb = new StringBuilder();
+        for (byte b : md.digest()) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Entry entry : entries) {
+            sb.append(entry.digest).append(' ')
+              .append(entry.size).append(' ')
+              .append(entry.path).append('\n');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * A manifest entry.
+     */
+    private static final class Entry {
+
+        private final String path;
+        private final long size;
+        private final String digest;
+
+        Entry(String path, long size, String digest) {
+            this.path = path;
+            this.size = size;
+            this.digest = digest;
+        }
+    }
+}
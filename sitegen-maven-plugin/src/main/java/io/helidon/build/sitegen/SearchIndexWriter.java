@@ -0,0 +1,296 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import static io.helidon.build.sitegen.Helper.checkNonNull;
+import static io.helidon.build.sitegen.Helper.jsonString;
+import static io.helidon.build.sitegen.Helper.utf8Length;
+import static io.helidon.build.sitegen.freemarker.FreemarkerEngine.newFileWriter;
+
+/**
+ * Writes the search index of the Vuetify backend.
+ *
+ * The entries are written one at a time, the index is never held in memory
+ * as a whole. The index is written either as a single file, or as shards
+ * with a manifest that lists the shards and the routes of their pages. A shard
+ * only contains the pages of one group and is split when it exceeds the
+ * maximum size, the entries of a page are never split across shards.
+ *
+ * The index can also be prebuilt, i.e. the lunr index of the entries is built
+ * with {@link LunrIndex} and written with the entries of the file or of the
+ * shard, so that the browser only has to load it. The indexes of the shards
+ * are scored with the statistics of all the entries, the scores of the
+ * shards can then be compared with each other.
+ */
+final class SearchIndexWriter {
+
+    /**
+     * The path of the index, or of the manifest if the index is sharded.
+     */
+    static final String INDEX_FILE = "main/search-index.json";
+
+    /**
+     * The directory of the shards.
+     */
+    static final String SHARDS_DIR = "main/search-index";
+
+    /**
+     * The default maximum size of a shard in bytes.
+     */
+    static final int DEFAULT_MAX_SIZE = 1024 * 1024;
+
+    private static final Pattern SHARD_NAME = Pattern.compile("^shard[0-9]+\\.json$");
+
+    private final File outputdir;
+    private final Function<Page, List<SearchEntry>> entries;
+    private final boolean prebuilt;
+
+    /**
+     * Create a new search index writer.
+     * @param outputdir the output directory
+     * @param entries the function that returns the search entries of a page
+     * @param prebuilt {@code true} to write the prebuilt lunr index with the
+     * entries
+     */
+    SearchIndexWriter(File outputdir,
+                      Function<Page, List<SearchEntry>> entries,
+                      boolean prebuilt) {
+
+        checkNonNull(outputdir, "outputdir");
+        checkNonNull(entries, "entries");
+        this.outputdir = outputdir;
+        this.entries = entries;
+        this.prebuilt = prebuilt;
+    }
+
+    /**
+     * Write the index as a single file, the shards of a previous generation
+     * are removed.
+     * @param pages the pages in index order
+     * @throws RenderingException if an error occurs while writing the index
+     */
+    void write(Collection<Page> pages) {
+        checkNonNull(pages, "pages");
+        File indexFile = new File(outputdir, INDEX_FILE);
+        indexFile.getParentFile().mkdirs();
+        try {
+            try (Writer writer = newFileWriter(indexFile)) {
+                writer.write("{\n    \"docs\": [");
+                LunrIndex index = prebuilt ? new LunrIndex() : null;
+                boolean first = true;
+                for (Page page : pages) {
+                    for (SearchEntry entry : entries.apply(page)) {
+                        if (entry != null) {
+                            writer.write(first ? "\n" : ",\n");
+                            writer.write(entryJson(entry));
+                            first = false;
+                            if (index != null) {
+                                index.add(entry);
+                            }
+                        }
+                    }
+                }
+                writer.write("\n    ]");
+                writeIndex(writer, index, null);
+                writer.write("\n}\n");
+            }
+            removeStaleShards(new HashSet<>());
+        } catch (IOException ex) {
+            throw new RenderingException(
+                    "An error occurred while writing the search index", ex);
+        }
+    }
+
+    /**
+     * Write the index as shards and write the manifest of the shards.
+     * @param groups the pages grouped by navigation section, a group of
+     * pages is never merged with another group
+     * @param maxSize the maximum size of a shard in bytes, a page with more
+     * entries than the maximum size gets its own shard
+     * @return the number of shards
+     * @throws RenderingException if an error occurs while writing the index
+     */
+    int writeShards(List<List<Page>> groups, int maxSize) {
+        checkNonNull(groups, "groups");
+        File shardsdir = new File(outputdir, SHARDS_DIR);
+        Set<String> shardNames = new HashSet<>();
+        LunrIndex.Statistics statistics = prebuilt ? statistics(groups) : null;
+        try {
+            Files.createDirectories(shardsdir.toPath());
+            try (Writer manifest = newFileWriter(new File(outputdir, INDEX_FILE))) {
+                manifest.write("{\n    \"shards\": [");
+                Shard shard = null;
+                for (List<Page> group : groups) {
+                    for (Page page : group) {
+                        List<SearchEntry> pageEntries = new ArrayList<>();
+                        int pageSize = 0;
+                        for (SearchEntry entry : entries.apply(page)) {
+                            if (entry != null) {
+                                pageEntries.add(entry);
+                                pageSize += utf8Length(entryJson(entry)) + 2;
+                            }
+                        }
+                        if (pageEntries.isEmpty()) {
+                            continue;
+                        }
+                        if (shard != null && shard.size > 0 && shard.size + pageSize > maxSize) {
+                            shard.close(manifest);
+                            shard = null;
+                        }
+                        if (shard == null) {
+                            String name = "shard" + shardNames.size() + ".json";
+                            shard = new Shard(new File(shardsdir, name), shardNames.isEmpty(),
+                                    prebuilt ? new LunrIndex() : null, statistics);
+                            shardNames.add(name);
+                        }
+                        shard.add(page, pageEntries);
+                    }
+                    if (shard != null) {
+                        shard.close(manifest);
+                        shard = null;
+                    }
+                }
+                manifest.write("\n    ]\n}\n");
+            }
+            removeStaleShards(shardNames);
+        } catch (IOException ex) {
+            throw new RenderingException(
+                    "An error occurred while writing the search index", ex);
+        }
+        return shardNames.size();
+    }
+
+    private LunrIndex.Statistics statistics(List<List<Page>> groups) {
+        LunrIndex.Statistics statistics = new LunrIndex.Statistics();
+        for (List<Page> group : groups) {
+            for (Page page : group) {
+                // the entries of a page are only grouped with each other
+                LunrIndex index = new LunrIndex();
+                for (SearchEntry entry : entries.apply(page)) {
+                    if (entry != null) {
+                        index.add(entry);
+                    }
+                }
+                statistics.add(index);
+            }
+        }
+        return statistics;
+    }
+
+    private void removeStaleShards(Set<String> shardNames) throws IOException {
+        Path shardsdir = new File(outputdir, SHARDS_DIR).toPath();
+        if (!Files.isDirectory(shardsdir)) {
+            return;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(shardsdir)) {
+            for (Path file : stream) {
+                String name = file.getFileName().toString();
+                if (SHARD_NAME.matcher(name).matches() && !shardNames.contains(name)) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    private static void writeIndex(Writer writer,
+                                   LunrIndex index,
+                                   LunrIndex.Statistics statistics) throws IOException {
+        if (index != null) {
+            writer.write(",\n    \"index\": ");
+            index.write(writer, statistics);
+        }
+    }
+
+    private static String entryJson(SearchEntry entry) {
+        return "        {\"location\": " + jsonString(entry.getLocation())
+                + ", \"text\": " + jsonString(entry.getText())
+                + ", \"title\": " + jsonString(entry.getTitle())
+                + "}";
+    }
+
+    /**
+     * A shard being written.
+     */
+    private static final class Shard {
+
+        private final File file;
+        private final boolean first;
+        private final LunrIndex index;
+        private final LunrIndex.Statistics statistics;
+        private final Writer writer;
+        private final List<String> routes = new ArrayList<>();
+        private int size;
+
+        Shard(File file,
+              boolean first,
+              LunrIndex index,
+              LunrIndex.Statistics statistics) throws IOException {
+
+            this.file = file;
+            this.first = first;
+            this.index = index;
+            this.statistics = statistics;
+            this.writer = newFileWriter(file);
+            writer.write("{\n    \"docs\": [");
+        }
+
+        void add(Page page, List<SearchEntry> pageEntries) throws IOException {
+            for (SearchEntry entry : pageEntries) {
+                String json = entryJson(entry);
+                writer.write(size == 0 ? "\n" : ",\n");
+                writer.write(json);
+                size += utf8Length(json) + 2;
+                if (index != null) {
+                    index.add(entry);
+                }
+            }
+            routes.add(page.getTargetPath());
+        }
+
+        void close(Writer manifest) throws IOException {
+            writer.write("\n    ]");
+            writeIndex(writer, index, statistics);
+            writer.write("\n}\n");
+            writer.close();
+            manifest.write(first ? "\n" : ",\n");
+            manifest.write("        {\"path\": "
+                    + jsonString(SHARDS_DIR + "/" + file.getName())
+                    + ", \"routes\": [");
+            for (int i = 0; i < routes.size(); i++) {
+                if (i > 0) {
+                    manifest.write(", ");
+                }
+                manifest.write(jsonString(routes.get(i)));
+            }
+            manifest.write("]}");
+        }
+    }
+}
@@ -45,35 +45,32 @@ public class Site {
     private static final String HEADER_PROP = "header";
     private static final String PAGES_PROP = "pages";
     private static final String BACKEND_PROP = "backend";
-
-    /**
-     * Ugly!
-     */
-    public static final ThreadLocal<String> THREADLOCAL = new ThreadLocal<>();
+    private static final String THREADS_PROP = "threads";
 
     private final SiteEngine engine;
     private final List<StaticAsset> assets;
     private final Header header;
     private final List<SourcePathFilter> pages;
     private final Backend backend;
+    private final int threads;
 
     private Site(SiteEngine engine,
                 List<StaticAsset> assets,
                 Header header,
                 List<SourcePathFilter> pages,
-                Backend backend) {
+                Backend backend,
+                Integer threads) {
         this.backend = backend == null ? new BasicBackend() : backend;
-        final String backendName = this.backend.getName();
-        THREADLOCAL.set(backendName);
-        this.engine = engine == null ? SiteEngine.builder().build() : engine;
+        this.engine = (engine == null ? SiteEngine.builder().build() : engine)
+                .bind(this.backend.getName());
         this.assets = assets == null ? Collections.emptyList() : assets;
         this.header = header == null ? new Header() : header;
         this.pages = pages == null ? Collections.emptyList() : pages;
-        SiteEngine.register(backendName, this.engine);
+        this.threads = threads == null || threads < 1 ? 1 : threads;
     }
 
     /**
-     * Get the configured site engine.
+     * Get the configured site engine, bound to the site backend.
      * @return {@link SiteEngine}, never {@code null}
      */
     public SiteEngine getEngine() {
@@ -112,6 +109,14 @@ public class Site {
         return backend;
     }
 
+    /**
+     * Get the number of worker threads used to process the site.
+     * @return the number of threads, {@code 1} if the processing is sequential
+     */
+    public int getThreads() {
+        return threads;
+    }
+
     /**
      * Triggers rendering of the site.
      *
@@ -122,12 +127,67 @@ public class Site {
      * @throws RenderingException if any error occurs while processing the site
      */
     public void generate(File sourcedir, File outputdir) throws RenderingException {
+        generate(sourcedir, outputdir, null);
+    }
+
+    /**
+     * Triggers rendering of the site, skipping the pages that have not changed
+     * since the generation recorded in the given manifest. The manifest is
+     * updated and saved if the generation is successful.
+     *
+     * @param sourcedir the source directory containing the site documents, must
+     * be an existing directory
+     * @param outputdir the output directory where to generate the site files,
+     * the directory and the missing parents will be automatically created
+     * @param manifest the build manifest, if {@code null} all pages are
+     * rendered
+     * @throws RenderingException if any error occurs while processing the site
+     */
+    public void generate(File sourcedir,
+                         File outputdir,
+                         BuildManifest manifest) throws RenderingException {
+
+        generate(sourcedir, outputdir, manifest, new GenerationTimings());
+    }
+
+    /**
+     * Triggers rendering of the site and records the time spent in each
+     * phase of the generation.
+     *
+     * @param sourcedir the source directory containing the site documents, must
+     * be an existing directory
+     * @param outputdir the output directory where to generate the site files,
+     * the directory and the missing parents will be automatically created
+     * @param manifest the build manifest, if {@code null} all pages are
+     * rendered
+     * @param timings the timings to update
+     * @throws RenderingException if any error occurs while processing the site
+     */
+    public void generate(File sourcedir,
+                         File outputdir,
+                         BuildManifest manifest,
+                         GenerationTimings timings) throws RenderingException {
+
         try {
             Files.createDirectories(outputdir.toPath());
         } catch (IOException ex) {
             throw new RenderingException(ex.getMessage(), ex);
         }
-        backend.generate(new RenderingContext(this, sourcedir, outputdir));
+        Object event = FlightRecorderEvents.PHASE.begin();
+        long start = System.nanoTime();
+        try {
+            backend.generate(new RenderingContext(this, sourcedir, outputdir,
+                    manifest, timings));
+        } finally {
+            timings.recordElapsed(System.nanoTime() - start);
+            FlightRecorderEvents.PHASE.commit(event, "generate");
+            // release the documents parsed but not rendered
+            engine.asciidoc().clearDocumentCache();
+            engine.asciidoc().releaseRuntimes();
+        }
+        if (manifest != null) {
+            manifest.save();
+        }
     }
 
     /**
@@ -163,14 +223,10 @@ public class Site {
 
             // backend
             config.get(BACKEND_PROP).ifExistsOrElse(c -> {
-                Backend backend = Backend.builder().config(c).build();
-                put(BACKEND_PROP, backend);
-                THREADLOCAL.set(backend.getName());
+                put(BACKEND_PROP, Backend.builder().config(c).build());
             }, () -> {
                 // default backend
-                Backend backend = new BasicBackend();
-                put(BACKEND_PROP, backend);
-                THREADLOCAL.set(backend.getName());
+                put(BACKEND_PROP, new BasicBackend());
             });
 
             //  engine
@@ -201,6 +257,10 @@ public class Site {
                                             .build())
                             .collect(Collectors.toList())));
 
+            // threads
+            config.get(THREADS_PROP).ifExists(c
+                    -> put(THREADS_PROP, c.asInt()));
+
             return this;
         }
 
@@ -227,15 +287,12 @@ public class Site {
         /**
          * Set the backend.
          *
-         * Must be invoked first.
-         *
          * @param backend the backend to use
          * @return the {@link Builder} instance
          */
         public Builder backend(Backend backend){
             checkNonNull(backend, BACKEND_PROP);
             put(BACKEND_PROP, backend);
-            THREADLOCAL.set(backend.getName());
             return this;
         }
 
@@ -259,6 +316,17 @@ public class Site {
             return this;
         }
 
+        /**
+         * Set the number of worker threads used to render the pages.
+         * A value of {@code 1} (the default) renders the pages sequentially.
+         * @param threads the number of threads
+         * @return the {@link Builder} instance
+         */
+        public Builder threads(int threads){
+            put(THREADS_PROP, threads);
+            return this;
+        }
+
         @Override
         public Site build(){
             SiteEngine engine = null;
@@ -266,6 +334,7 @@ public class Site {
             Header header = null;
             List<SourcePathFilter> pages = null;
             Backend backend = null;
+            Integer threads = null;
             for (Map.Entry<String, Object> entry : values()) {
                 String attr = entry.getKey();
                 Object val = entry.getValue();
@@ -285,12 +354,15 @@ public class Site {
                     case(BACKEND_PROP):
                         backend = asType(val, Backend.class);
                         break;
+                    case(THREADS_PROP):
+                        threads = asType(val, Integer.class);
+                        break;
                     default:
                         throw new IllegalStateException(
                                 "Unkown attribute: " + attr);
                 }
             }
-            return new Site(engine, assets, header, pages, backend);
+            return new Site(engine, assets, header, pages, backend, threads);
         }
     }
 
@@ -16,8 +16,6 @@
 
 package io.helidon.build.sitegen;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Map.Entry;
 
 import io.helidon.build.sitegen.asciidoctor.AsciidocEngine;
@@ -27,14 +25,14 @@ import io.helidon.config.Config;
 import static io.helidon.build.sitegen.Helper.checkNonNullNonEmpty;
 
 /**
- * Configuration of pair of {@link FreemarkerEngine} and {@link AsciidocEngine}
- * indexed by backend names in a static registry.
+ * Configuration of pair of {@link FreemarkerEngine} and {@link AsciidocEngine}.
+ * The engines are bound to the backend of the site that uses them, see
+ * {@link #bind(String)}.
  *
  * @author rgrecour
  */
 public class SiteEngine {
 
-    private static final Map<String, SiteEngine> REGISTRY = new HashMap<>();
     private static final String FREEMARKER_PROP = "freemarker";
     private static final String ASCIIDOCTOR_PROP = "asciidoctor";
     private static final String BACKEND_PROP = "backend";
@@ -72,39 +70,19 @@ public class SiteEngine {
     }
 
     /**
-     * Register a new {@link SiteEngine} in the registry with the given backend
-     * name.
-     * @param backend the backend name to use as key in the registry
-     * @param engine the engine instance to register
+     * Get a {@link SiteEngine} with engines bound to the given backend.
+     * @param backend the backend name
+     * @return this instance if the engines are already bound to the given
+     * backend, a new instance otherwise
      */
-    public static void register(String backend, SiteEngine engine) {
+    public SiteEngine bind(String backend) {
         checkNonNullNonEmpty(backend, BACKEND_PROP);
-        REGISTRY.put(backend, engine);
-    }
-
-    /**
-     * Remove the {@link SiteEngine} registered for the given backend.
-     * @param backend the backend to remove
-     */
-    public static void deregister(String backend) {
-        checkNonNullNonEmpty(backend, BACKEND_PROP);
-        REGISTRY.remove(backend);
-    }
-
-    /**
-     * Get a {@link SiteEngine} from the registry.
-     * @param backend the backend name identifying the registered {@link SiteEngine}
-     * @return instance of {@link SiteEngine}, never {@code null}
-     * @throws IllegalArgumentException if there is no {@link SiteEngine} registered
-     * for the given backend name
-     */
-    public static SiteEngine get(String backend) {
-        SiteEngine siteEngine = REGISTRY.get(backend);
-        if (siteEngine == null) {
-            throw new IllegalArgumentException(
-                    "no site engine found for backend: " + backend);
+        FreemarkerEngine boundFreemarker = freemarker.bind(backend);
+        AsciidocEngine boundAsciidoc = asciidoc.bind(backend);
+        if (boundFreemarker == freemarker && boundAsciidoc == asciidoc) {
+            return this;
         }
-        return siteEngine;
+        return new SiteEngine(boundFreemarker, boundAsciidoc);
     }
 
     /**
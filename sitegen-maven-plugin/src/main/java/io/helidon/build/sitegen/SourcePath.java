@@ -17,18 +17,14 @@
 package io.helidon.build.sitegen;
 
 import java.io.File;
-import java.io.IOException;
-import java.nio.file.DirectoryStream;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.util.ArrayList;
+import java.lang.ref.WeakReference;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Comparator;
-import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.WeakHashMap;
 
 import static io.helidon.build.sitegen.Helper.checkNonNull;
 import static io.helidon.build.sitegen.Helper.getRelativePath;
@@ -36,13 +32,23 @@ import static io.helidon.build.sitegen.Helper.getRelativePath;
 /**
  * Utility class to parse and match path segments.
  *
+ * A path is a segment linked to its parent path, the paths of the files in
+ * the same directory share the parent instance. The parents of the paths
+ * parsed from a {@code String} are canonical instances, retained as long as
+ * they are used. The hash code and the {@code String} representation are
+ * computed once.
+ *
  * @author rgrecour
  */
 public class SourcePath {
 
-    private static final char WILDCARD = '*';
-    private static final String DOUBLE_WILDCARD = "**";
-    private final String[] segments;
+    private static final Map<SourcePath, WeakReference<SourcePath>> PARENTS = new WeakHashMap<>();
+
+    private final SourcePath parent;
+    private final String name;
+    private final int depth;
+    private final int hash;
+    private volatile String path;
 
     /**
      * Create a new {@link SourcePath} instance for a file in a given directory.
@@ -51,7 +57,7 @@ public class SourcePath {
      * @param file the filed contained in the directory
      */
     public SourcePath(File dir, File file){
-        segments = parseSegments(getRelativePath(dir, file));
+        this(parseSegments(getRelativePath(dir, file)));
     }
 
     /**
@@ -59,10 +65,77 @@ public class SourcePath {
      * @param path the path to use as {@code String}
      */
     public SourcePath(String path) {
-        segments = parseSegments(path);
+        this(parseSegments(path));
     }
 
-    private static String[] parseSegments(String path) throws IllegalArgumentException {
+    private SourcePath(String[] segments) {
+        this(parent(segments),
+                segments.length == 0 ? null : segments[segments.length - 1]);
+    }
+
+    /**
+     * Create a new {@link SourcePath} instance for a child of the given path.
+     * The given parent is shared, not copied.
+     * @param parent the parent path, {@code null} for a top level path
+     * @param name the child segment
+     */
+    SourcePath(SourcePath parent, String name) {
+        if (parent != null && parent.depth == 0) {
+            parent = null;
+        }
+        this.parent = parent;
+        this.name = name;
+        if (name == null) {
+            this.depth = 0;
+            this.hash = 1;
+        } else if (parent == null) {
+            this.depth = 1;
+            this.hash = 31 + name.hashCode();
+        } else {
+            this.depth = parent.depth + 1;
+            this.hash = 31 * parent.hash + name.hashCode();
+        }
+    }
+
+    private static SourcePath parent(String[] segments) {
+        if (segments.length < 2) {
+            return null;
+        }
+        synchronized (PARENTS) {
+            SourcePath parent = null;
+            for (int i = 0; i < segments.length - 1; i++) {
+                parent = canonical(new SourcePath(parent, segments[i]));
+            }
+            return parent;
+        }
+    }
+
+    private static SourcePath canonical(SourcePath path) {
+        WeakReference<SourcePath> ref = PARENTS.get(path);
+        SourcePath canonical = ref == null ? null : ref.get();
+        if (canonical == null) {
+            PARENTS.put(path, new WeakReference<>(path));
+            canonical = path;
+        }
+        return canonical;
+    }
+
+    /**
+     * Get the parent path.
+     * @return the parent path, {@code null} for a top level path
+     */
+    SourcePath getParent() {
+        return parent;
+    }
+
+    /**
+     * Parse the segments of a path, the empty and {@code .} segments are
+     * ignored.
+     * @param path the path to parse
+     * @return the segments
+     * @throws IllegalArgumentException if the path is {@code null} or empty
+     */
+    static String[] parseSegments(String path) throws IllegalArgumentException {
         if (path == null || path.isEmpty()) {
             throw new IllegalArgumentException("path is null or empty");
         }
@@ -94,38 +167,9 @@ public class SourcePath {
                                           Collection<String> includesPatterns,
                                           Collection<String> excludesPatterns){
 
-        if (paths == null || paths.isEmpty()
-                || includesPatterns == null || includesPatterns.isEmpty()) {
-            return Collections.emptyList();
-        }
-
-        if (excludesPatterns == null) {
-            excludesPatterns = Collections.emptyList();
-        }
-
-        List<SourcePath> included = new LinkedList<>();
-        for (String includesPattern : includesPatterns) {
-            for (SourcePath path : paths) {
-                if (path.matches(includesPattern)) {
-                    included.add(path);
-                }
-            }
-        }
-
-        List<SourcePath> matchedRoutes = new LinkedList<>();
-        for (SourcePath path : included) {
-            boolean matched = false;
-            for (String excludesPattern : excludesPatterns) {
-                if (path.matches(excludesPattern)) {
-                    matched = true;
-                    break;
-                }
-            }
-            if (!matched) {
-                matchedRoutes.add(path);
-            }
-        }
-        return matchedRoutes;
+        return SourcePattern.filter(paths,
+                SourcePattern.compile(includesPatterns),
+                SourcePattern.compile(excludesPatterns));
     }
 
     @Override
@@ -139,66 +183,47 @@ public class SourcePath {
         if (getClass() != obj.getClass()) {
             return false;
         }
-        final SourcePath other = (SourcePath) obj;
-        for (int i = 0; i < this.segments.length; i++) {
-            if (!this.segments[i].equals(other.segments[i])) {
+        SourcePath path1 = this;
+        SourcePath path2 = (SourcePath) obj;
+        if (path1.depth != path2.depth || path1.hash != path2.hash) {
+            return false;
+        }
+        if (path1.depth == 0) {
+            return true;
+        }
+        while (path1 != path2) {
+            if (!path1.name.equals(path2.name)) {
                 return false;
             }
+            path1 = path1.parent;
+            path2 = path2.parent;
         }
         return true;
     }
 
     @Override
     public int hashCode() {
-        int hash = 3;
-        hash = 59 * hash + Objects.hashCode(this.segments);
         return hash;
     }
 
-    private static boolean doRecursiveMatch(String[] segments,
-                                            int offset,
-                                            String[] patterns,
-                                            int pOffset){
-
-        boolean expand = false;
-        // for each segment pattern
-        for (; pOffset < patterns.length; pOffset++) {
-            // no segment to match
-            if (offset == segments.length) {
-                break;
-            }
-            String pattern = patterns[pOffset];
-            if (pattern.equals(DOUBLE_WILDCARD)) {
-                expand = true;
-            } else {
-                if (expand) {
-                    for (int j = 0; j < segments.length; j++) {
-                        if (wildcardMatch(segments[j], pattern)) {
-                            if (doRecursiveMatch(segments, j + 1, patterns, pOffset + 1)) {
-                                return true;
-                            }
-                        }
-                    }
-                    return false;
-                } else if (!wildcardMatch(segments[offset], pattern)) {
-                    return false;
-                }
-                offset++;
-            }
-        }
-
-        // unprocessed patterns can only be double wildcard
-        for (; pOffset < patterns.length; pOffset++) {
-            String pattern = patterns[pOffset];
-            if (!pattern.equals(DOUBLE_WILDCARD)) {
-                return false;
-            }
+    /**
+     * Get the segments of this path.
+     * @return a new array of the segments
+     */
+    String[] segments() {
+        String[] segments = new String[depth];
+        SourcePath current = this;
+        for (int i = depth - 1; i >= 0; i--) {
+            segments[i] = current.name;
+            current = current.parent;
         }
-        return true;
+        return segments;
     }
 
     /**
      * Tests if the given pattern matches this {@link SourcePath}.
+     * The pattern is compiled for each invocation, see {@link SourcePattern}
+     * to match a pattern repeatedly.
      * @param pattern the pattern to match
      * @return {@code true} if this {@link SourcePath} matches the pattern, {@code false} otherwise
      */
@@ -207,9 +232,9 @@ public class SourcePath {
             return false;
         }
         if (pattern.isEmpty()) {
-            return segments.length == 0;
+            return depth == 0;
         }
-        return doRecursiveMatch(segments, 0, parseSegments(pattern), 0);
+        return SourcePattern.compile(pattern).matches(this);
     }
 
     /**
@@ -225,58 +250,7 @@ public class SourcePath {
         Objects.requireNonNull(val);
         Objects.requireNonNull(pattern);
 
-        if (pattern.isEmpty()) {
-            // special case for empty pattern
-            // matches if val is also empty
-            return val.isEmpty();
-        }
-
-        int valIdx = 0;
-        int patternIdx = 0;
-        boolean matched = true;
-        while (matched) {
-            int wildcardIdx = pattern.indexOf(WILDCARD, patternIdx);
-            if (wildcardIdx >= 0) {
-                // pattern has unprocessed wildcard(s)
-                int patternOffset = wildcardIdx - patternIdx;
-                if (patternOffset > 0) {
-                    // filter the sub pattern before the wildcard
-                    String subPattern = pattern.substring(patternIdx, wildcardIdx);
-                    int idx = val.indexOf(subPattern, valIdx);
-                    if (patternIdx > 0 && pattern.charAt(patternIdx - 1) == WILDCARD) {
-                        // if expanding a wildcard
-                        // the sub-segment needs to contain the sub-pattern
-                        if (idx < valIdx) {
-                            matched = false;
-                            break;
-                        }
-                    } else if (idx != valIdx) {
-                        // not expanding a wildcard
-                        // the sub-segment needs to start with the sub-pattern
-                        matched = false;
-                        break;
-                    }
-                    valIdx = idx + subPattern.length();
-                }
-                patternIdx = wildcardIdx + 1;
-            } else {
-                String subPattern = pattern.substring(patternIdx);
-                String subSegment = val.substring(valIdx);
-                if (patternIdx > 0 && pattern.charAt(patternIdx - 1) == WILDCARD) {
-                    // if expanding a wildcard
-                    // sub-segment needs to end with sub-pattern
-                    if (!subSegment.endsWith(subPattern)) {
-                        matched = false;
-                    }
-                } else if (!subSegment.equals(subPattern)) {
-                    // not expanding a wildcard
-                    // the sub-segment needs to stricly filter the sub-pattern
-                    matched = false;
-                }
-                break;
-            }
-        }
-        return matched;
+        return new SourcePattern.Segment(pattern).matches(val);
     }
 
     /**
@@ -284,14 +258,18 @@ public class SourcePath {
      * @return the {@code String} representation of this {@link SourcePath}
      */
     public String asString() {
-        StringBuilder sb = new StringBuilder("/");
-        for (int i = 0; i < segments.length; i++) {
-            sb.append(segments[i]);
-            if (i < segments.length - 1) {
-                sb.append("/");
+        String result = path;
+        if (result == null) {
+            if (name == null) {
+                result = "/";
+            } else if (parent == null) {
+                result = "/" + name;
+            } else {
+                result = parent.asString() + "/" + name;
             }
+            path = result;
         }
-        return sb.toString();
+        return result;
     }
 
     @Override
@@ -303,16 +281,34 @@ public class SourcePath {
 
         @Override
         public int compare(SourcePath o1, SourcePath o2) {
-            for (int i = 0; i < o1.segments.length; i++) {
-                int cmp = o1.segments[i].compareTo(o2.segments[i]);
-                if (cmp != 0) {
-                    return cmp;
-                }
+            if (o1 == o2) {
+                return 0;
+            }
+            if (o1.depth == 0 || o2.depth == 0) {
+                return Integer.compare(o1.depth, o2.depth);
+            }
+            if (o1.depth > o2.depth) {
+                // a parent is sorted before its children
+                int cmp = compare(o1.ancestor(o2.depth), o2);
+                return cmp != 0 ? cmp : 1;
+            }
+            if (o1.depth < o2.depth) {
+                int cmp = compare(o1, o2.ancestor(o1.depth));
+                return cmp != 0 ? cmp : -1;
             }
-            return 0;
+            int cmp = o1.parent == null ? 0 : compare(o1.parent, o2.parent);
+            return cmp != 0 ? cmp : o1.name.compareTo(o2.name);
         }
     }
 
+    private SourcePath ancestor(int ancestorDepth) {
+        SourcePath ancestor = this;
+        while (ancestor.depth > ancestorDepth) {
+            ancestor = ancestor.parent;
+        }
+        return ancestor;
+    }
+
     private static final Comparator<SourcePath> COMPARATOR = new SourceFileComparator();
 
     /**
@@ -332,30 +328,6 @@ public class SourcePath {
      * @return the {@code List} of scanned {@link SourcePath}
      */
     public static List<SourcePath> scan(File dir) {
-        return doScan(dir, dir);
-    }
-
-    private static List<SourcePath> doScan(File root, File dir) {
-        List<SourcePath> sourcePaths = new ArrayList<>();
-        DirectoryStream<Path> dirStream = null;
-        try {
-            dirStream = Files.newDirectoryStream(dir.toPath());
-            Iterator<Path> it = dirStream.iterator();
-            while (it.hasNext()) {
-                Path next = it.next();
-                if (Files.isDirectory(next)) {
-                    sourcePaths.addAll(doScan(root, next.toFile()));
-                } else {
-                    sourcePaths.add(new SourcePath(root, next.toFile()));
-                }
-            }
-        } catch (IOException ex) {
-            if (dirStream != null) {
-                try {
-                    dirStream.close();
-                } catch (IOException e) { }
-            }
-        }
-        return sort(sourcePaths);
+        return new SourcePathScanner(dir).scan();
     }
 }
@@ -32,10 +32,14 @@ public class SourcePathFilter {
     private static final String EXCLUDES_PROP = "excludes";
     private final List<String> includes;
     private final List<String> excludes;
+    private final List<SourcePattern> includePatterns;
+    private final List<SourcePattern> excludePatterns;
 
     private SourcePathFilter(List<String> includes, List<String> excludes) {
         this.includes = includes == null ? Collections.emptyList() : includes;
         this.excludes = excludes == null ? Collections.emptyList() : excludes;
+        this.includePatterns = SourcePattern.compile(this.includes);
+        this.excludePatterns = SourcePattern.compile(this.excludes);
     }
 
     /**
@@ -54,6 +58,22 @@ public class SourcePathFilter {
         return excludes;
     }
 
+    /**
+     * Get the compiled includes patterns.
+     * @return the compiled includes patterns, never {@code null}
+     */
+    public List<SourcePattern> getIncludePatterns() {
+        return includePatterns;
+    }
+
+    /**
+     * Get the compiled excludes patterns.
+     * @return the compiled excludes patterns, never {@code null}
+     */
+    public List<SourcePattern> getExcludePatterns() {
+        return excludePatterns;
+    }
+
     /**
      * A fluent builder to create {@link SourcePathFilter} instances.
      */
@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static io.helidon.build.sitegen.Helper.checkNonNull;
+
+/**
+ * A prefix tree of {@link SourcePath} segments, used to filter many paths
+ * with a set of include and exclude patterns in a single traversal.
+ *
+ * The traversal advances the automaton of every pattern one segment at a
+ * time. A sub-tree is skipped when no include pattern can match it or when
+ * an exclude pattern matches its leading segments; a sub-tree is collected
+ * without matching when an include pattern matches its leading segments and
+ * no exclude pattern can match it.
+ *
+ * @param <T> the type of the values indexed by path
+ */
+public final class SourcePathIndex<T> {
+
+    private final Node<T> root = new Node<>();
+    private int size;
+
+    /**
+     * Create an index of the given paths.
+     * @param paths the paths to index
+     * @return the created index
+     */
+    public static SourcePathIndex<SourcePath> of(Collection<SourcePath> paths) {
+        checkNonNull(paths, "paths");
+        SourcePathIndex<SourcePath> index = new SourcePathIndex<>();
+        for (SourcePath path : paths) {
+            index.put(path, path);
+        }
+        return index;
+    }
+
+    /**
+     * Add a value, replace the existing value for the same path.
+     * @param path the path of the value
+     * @param value the value
+     */
+    public void put(SourcePath path, T value) {
+        checkNonNull(path, "path");
+        checkNonNull(value, "value");
+        Node<T> node = root;
+        for (String segment : path.segments()) {
+            node = node.child(segment);
+        }
+        if (node.value == null) {
+            size++;
+        }
+        node.value = value;
+    }
+
+    /**
+     * Get the number of values in this index.
+     * @return the number of values
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get all the values of this index.
+     * @return the {@code List} of values, sorted by path
+     */
+    public List<T> values() {
+        List<T> values = new ArrayList<>(size);
+        collectAll(root, values);
+        return values;
+    }
+
+    /**
+     * Filter the values of this index with the given filter.
+     * @param filter the filter to apply
+     * @return the filtered {@code List} of values, sorted by path
+     */
+    public List<T> filter(SourcePathFilter filter) {
+        checkNonNull(filter, "filter");
+        return filter(filter.getIncludePatterns(), filter.getExcludePatterns());
+    }
+
+    /**
+     * Filter the values of this index with the given patterns.
+     * @param includes the include patterns
+     * @param excludes the exclude patterns, may be {@code null}
+     * @return the filtered {@code List} of values, sorted by path
+     */
+    public List<T> filter(Collection<SourcePattern> includes,
+                          Collection<SourcePattern> excludes) {
+
+        if (includes == null || includes.isEmpty() || size == 0) {
+            return Collections.emptyList();
+        }
+        SourcePattern[] includePatterns = includes.toArray(new SourcePattern[0]);
+        SourcePattern[] excludePatterns = excludes == null
+                ? new SourcePattern[0]
+                : excludes.toArray(new SourcePattern[0]);
+        long[] includeStates = new long[includePatterns.length];
+        for (int i = 0; i < includePatterns.length; i++) {
+            includeStates[i] = includePatterns[i].start();
+        }
+        long[] excludeStates = new long[excludePatterns.length];
+        for (int i = 0; i < excludePatterns.length; i++) {
+            excludeStates[i] = excludePatterns[i].start();
+        }
+        List<T> filtered = new ArrayList<>();
+        collect(root, includePatterns, includeStates, excludePatterns, excludeStates, filtered);
+        return filtered;
+    }
+
+    private static <T> void collect(Node<T> node,
+                                    SourcePattern[] includes,
+                                    long[] includeStates,
+                                    SourcePattern[] excludes,
+                                    long[] excludeStates,
+                                    List<T> filtered) {
+
+        if (node.children == null) {
+            return;
+        }
+        for (Map.Entry<String, Node<T>> entry : node.children.entrySet()) {
+            String segment = entry.getKey();
+            Node<T> child = entry.getValue();
+
+            boolean alive = false;
+            boolean included = false;
+            long[] nextIncludeStates = new long[includes.length];
+            for (int i = 0; i < includes.length; i++) {
+                nextIncludeStates[i] = includes[i].step(includeStates[i], segment);
+                alive |= nextIncludeStates[i] != 0;
+                included |= includes[i].accepts(nextIncludeStates[i]);
+            }
+            if (!alive) {
+                // no include can match this sub-tree
+                continue;
+            }
+
+            boolean excluded = false;
+            boolean excludesAlive = false;
+            long[] nextExcludeStates = new long[excludes.length];
+            for (int i = 0; i < excludes.length && !excluded; i++) {
+                nextExcludeStates[i] = excludes[i].step(excludeStates[i], segment);
+                excludesAlive |= nextExcludeStates[i] != 0;
+                excluded = excludes[i].accepts(nextExcludeStates[i]);
+            }
+            if (excluded) {
+                // this sub-tree is excluded
+                continue;
+            }
+
+            if (included && !excludesAlive) {
+                // this sub-tree is included
+                collectAll(child, filtered);
+                continue;
+            }
+            if (included && child.value != null) {
+                filtered.add(child.value);
+            }
+            collect(child, includes, nextIncludeStates, excludes, nextExcludeStates, filtered);
+        }
+    }
+
+    private static <T> void collectAll(Node<T> node, List<T> filtered) {
+        if (node.value != null) {
+            filtered.add(node.value);
+        }
+        if (node.children != null) {
+            for (Node<T> child : node.children.values()) {
+                collectAll(child, filtered);
+            }
+        }
+    }
+
+    /**
+     * A tree node, a node has a value if a path ends at the node.
+     */
+    private static final class Node<T> {
+
+        private TreeMap<String, Node<T>> children;
+        private T value;
+
+        Node<T> child(String segment) {
+            if (children == null) {
+                children = new TreeMap<>();
+            }
+            return children.computeIfAbsent(segment, s -> new Node<>());
+        }
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.List;
+
+import static io.helidon.build.sitegen.Helper.checkNonNull;
+
+/**
+ * A scanner of the files in a directory as {@link SourcePath} instances.
+ *
+ * The scanner walks the directory once, using the file attributes read by the
+ * walk. The paths of the files in the same directory share the directory
+ * path. If filters are added, only the files included by at least one filter
+ * are returned and the directories that no filter can include are not walked.
+ * The pattern automata of the filters are advanced one directory at a time.
+ */
+final class SourcePathScanner {
+
+    private final File dir;
+    private final List<SourcePattern[]> includes = new ArrayList<>();
+    private final List<SourcePattern[]> excludes = new ArrayList<>();
+
+    /**
+     * Create a new scanner.
+     * @param dir the directory to scan
+     */
+    SourcePathScanner(File dir) {
+        checkNonNull(dir, "dir");
+        this.dir = dir;
+    }
+
+    /**
+     * Add a filter, the files that the filter does not include are returned
+     * only if included by another filter. All the files are returned if no
+     * filter is added.
+     * @param includePatterns the include patterns of the filter
+     * @param excludePatterns the exclude patterns of the filter
+     * @return this scanner
+     */
+    SourcePathScanner filter(List<SourcePattern> includePatterns,
+                             List<SourcePattern> excludePatterns) {
+
+        checkNonNull(includePatterns, "includePatterns");
+        checkNonNull(excludePatterns, "excludePatterns");
+        includes.add(includePatterns.toArray(new SourcePattern[0]));
+        excludes.add(excludePatterns.toArray(new SourcePattern[0]));
+        return this;
+    }
+
+    /**
+     * Scan the directory.
+     * @return the sorted {@code List} of scanned {@link SourcePath}
+     * @throws RenderingException if an error occurs while scanning
+     */
+    List<SourcePath> scan() {
+        Walker walker = new Walker();
+        try {
+            Files.walkFileTree(dir.toPath(), EnumSet.of(FileVisitOption.FOLLOW_LINKS),
+                    Integer.MAX_VALUE, walker);
+        } catch (IOException ex) {
+            throw new RenderingException(
+                    "An error occurred while scanning directory: " + dir, ex);
+        }
+        return SourcePath.sort(walker.sourcePaths);
+    }
+
+    /**
+     * The file visitor, the automata states are pushed for each visited
+     * directory.
+     */
+    private final class Walker extends SimpleFileVisitor<Path> {
+
+        private final boolean filtered = !includes.isEmpty();
+        private final List<SourcePath> sourcePaths = new ArrayList<>();
+        private final Deque<SourcePath> dirs = new ArrayDeque<>();
+        private final Deque<long[][]> states = new ArrayDeque<>();
+
+        @Override
+        public FileVisitResult preVisitDirectory(Path path, BasicFileAttributes attrs) {
+            if (states.isEmpty()) {
+                // the scanned directory
+                states.push(start());
+                return FileVisitResult.CONTINUE;
+            }
+            String segment = path.getFileName().toString();
+            long[][] next = step(states.peek(), segment);
+            if (filtered && !alive(next)) {
+                return FileVisitResult.SKIP_SUBTREE;
+            }
+            dirs.push(new SourcePath(dirs.peek(), segment));
+            states.push(next);
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult postVisitDirectory(Path path, IOException ex) {
+            states.pop();
+            dirs.poll();
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult visitFile(Path path, BasicFileAttributes attrs) {
+            if (states.isEmpty()) {
+                // not a directory
+                return FileVisitResult.TERMINATE;
+            }
+            String segment = path.getFileName().toString();
+            if (!filtered || included(step(states.peek(), segment))) {
+                sourcePaths.add(new SourcePath(dirs.peek(), segment));
+            }
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult visitFileFailed(Path path, IOException ex) {
+            // unreadable files and file system loops are ignored
+            return FileVisitResult.CONTINUE;
+        }
+    }
+
+    private long[][] start() {
+        long[][] initial = new long[includes.size()][];
+        for (int i = 0; i < initial.length; i++) {
+            SourcePattern[] patterns = includes.get(i);
+            SourcePattern[] excludePatterns = excludes.get(i);
+            long[] filterStates = new long[patterns.length + excludePatterns.length];
+            for (int j = 0; j < patterns.length; j++) {
+                filterStates[j] = patterns[j].start();
+            }
+            for (int j = 0; j < excludePatterns.length; j++) {
+                filterStates[patterns.length + j] = excludePatterns[j].start();
+            }
+            initial[i] = filterStates;
+        }
+        return initial;
+    }
+
+    private long[][] step(long[][] current, String segment) {
+        long[][] next = new long[current.length][];
+        for (int i = 0; i < current.length; i++) {
+            SourcePattern[] patterns = includes.get(i);
+            SourcePattern[] excludePatterns = excludes.get(i);
+            long[] filterStates = current[i];
+            long[] nextStates = new long[filterStates.length];
+            for (int j = 0; j < patterns.length; j++) {
+                nextStates[j] = patterns[j].step(filterStates[j], segment);
+            }
+            for (int j = 0; j < excludePatterns.length; j++) {
+                int k = patterns.length + j;
+                nextStates[k] = excludePatterns[j].step(filterStates[k], segment);
+            }
+            next[i] = nextStates;
+        }
+        return next;
+    }
+
+    /**
+     * Test if any filter can include the paths below the given states.
+     */
+    private boolean alive(long[][] current) {
+        for (int i = 0; i < current.length; i++) {
+            if (!excluded(i, current[i])) {
+                SourcePattern[] patterns = includes.get(i);
+                for (int j = 0; j < patterns.length; j++) {
+                    if (current[i][j] != 0) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Test if any filter includes the path of the given states.
+     */
+    private boolean included(long[][] current) {
+        for (int i = 0; i < current.length; i++) {
+            if (!excluded(i, current[i])) {
+                SourcePattern[] patterns = includes.get(i);
+                for (int j = 0; j < patterns.length; j++) {
+                    if (patterns[j].accepts(current[i][j])) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean excluded(int filter, long[] filterStates) {
+        int offset = includes.get(filter).length;
+        SourcePattern[] excludePatterns = excludes.get(filter);
+        for (int j = 0; j < excludePatterns.length; j++) {
+            if (excludePatterns[j].accepts(filterStates[offset + j])) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
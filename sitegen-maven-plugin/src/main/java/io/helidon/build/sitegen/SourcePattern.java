@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static io.helidon.build.sitegen.Helper.checkNonNull;
+
+/**
+ * A compiled match pattern.
+ *
+ * The pattern is parsed once into segment matchers, {@code *} matches zero or
+ * more characters within a segment and a {@code **} segment matches zero or
+ * more segments. A pattern that matches the leading segments of a path
+ * matches the path, e.g. {@code docs} matches {@code docs/index.adoc}.
+ *
+ * The segments are matched with an automaton that tracks all the pattern
+ * positions reachable after each path segment, the matching is linear in the
+ * number of path segments.
+ */
+public final class SourcePattern {
+
+    private static final char WILDCARD = '*';
+    private static final String DOUBLE_WILDCARD = "**";
+    private static final int MAX_SEGMENTS = Long.SIZE - 1;
+
+    private final String pattern;
+    private final Segment[] segments;
+    private final long doubleWildcards;
+    private final long accept;
+
+    private SourcePattern(String pattern) {
+        this.pattern = pattern;
+        List<Segment> compiled = new ArrayList<>();
+        for (String segment : SourcePath.parseSegments(pattern)) {
+            boolean doubleWildcard = segment.equals(DOUBLE_WILDCARD);
+            if (doubleWildcard && !compiled.isEmpty()
+                    && compiled.get(compiled.size() - 1) == null) {
+                // consecutive double wildcards are equivalent to one
+                continue;
+            }
+            compiled.add(doubleWildcard ? null : new Segment(segment));
+        }
+        if (compiled.isEmpty() || compiled.get(compiled.size() - 1) != null) {
+            // the trailing segments of a path are always matched
+            compiled.add(null);
+        }
+        if (compiled.size() > MAX_SEGMENTS) {
+            throw new IllegalArgumentException(
+                    "pattern has too many segments: " + pattern);
+        }
+        long doubleWildcardsMask = 0;
+        for (int i = 0; i < compiled.size(); i++) {
+            if (compiled.get(i) == null) {
+                doubleWildcardsMask |= 1L << i;
+            }
+        }
+        this.segments = compiled.toArray(new Segment[compiled.size()]);
+        this.doubleWildcards = doubleWildcardsMask;
+        this.accept = 1L << compiled.size();
+    }
+
+    /**
+     * Compile a pattern.
+     * @param pattern the pattern to compile
+     * @return the compiled pattern
+     * @throws IllegalArgumentException if the pattern is {@code null} or empty
+     */
+    public static SourcePattern compile(String pattern) {
+        return new SourcePattern(pattern);
+    }
+
+    /**
+     * Compile patterns.
+     * @param patterns the patterns to compile, may be {@code null}
+     * @return {@code List} of compiled patterns, never {@code null}
+     */
+    public static List<SourcePattern> compile(Collection<String> patterns) {
+        if (patterns == null || patterns.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<SourcePattern> compiled = new ArrayList<>(patterns.size());
+        for (String pattern : patterns) {
+            compiled.add(compile(pattern));
+        }
+        return Collections.unmodifiableList(compiled);
+    }
+
+    /**
+     * Get the pattern string.
+     * @return the pattern
+     */
+    public String pattern() {
+        return pattern;
+    }
+
+    /**
+     * Tests if this pattern matches the given {@link SourcePath}.
+     * @param path the path to match
+     * @return {@code true} if the path matches, {@code false} otherwise
+     */
+    public boolean matches(SourcePath path) {
+        checkNonNull(path, "path");
+        long states = start();
+        for (String segment : path.segments()) {
+            if (accepts(states)) {
+                return true;
+            }
+            states = step(states, segment);
+            if (states == 0) {
+                return false;
+            }
+        }
+        return accepts(states);
+    }
+
+    /**
+     * Get the initial states of the automaton.
+     * @return the initial states
+     */
+    long start() {
+        return closure(1L);
+    }
+
+    /**
+     * Get the states of the automaton after matching a segment.
+     * @param states the current states
+     * @param segment the segment to match
+     * @return the next states, {@code 0} if the pattern cannot match
+     */
+    long step(long states, String segment) {
+        // the double wildcards consume any segment
+        // the accept state has no segment, the trailing double wildcard keeps it
+        long next = states & doubleWildcards;
+        long candidates = states & ~(doubleWildcards | accept);
+        while (candidates != 0) {
+            int position = Long.numberOfTrailingZeros(candidates);
+            candidates &= candidates - 1;
+            if (segments[position].matches(segment)) {
+                next |= 1L << (position + 1);
+            }
+        }
+        return closure(next);
+    }
+
+    /**
+     * Test if the given states accept the segments matched so far, the
+     * accepted states also accept any further segment.
+     * @param states the states
+     * @return {@code true} if accepted, {@code false} otherwise
+     */
+    boolean accepts(long states) {
+        return (states & accept) != 0;
+    }
+
+    /**
+     * Add the positions that follow the double wildcards, a double wildcard
+     * matches zero segment.
+     */
+    private long closure(long states) {
+        return states | ((states & doubleWildcards) << 1);
+    }
+
+    /**
+     * Filter the given {@code Collection} of {@link SourcePath} with the given
+     * patterns.
+     * @param paths the paths to filter
+     * @param includes the include patterns
+     * @param excludes the exclude patterns, may be {@code null}
+     * @return the filtered {@code List} of paths, sorted and without
+     * duplicates
+     * @see SourcePathIndex
+     */
+    public static List<SourcePath> filter(Collection<SourcePath> paths,
+                                          Collection<SourcePattern> includes,
+                                          Collection<SourcePattern> excludes) {
+
+        if (paths == null || paths.isEmpty()
+                || includes == null || includes.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return SourcePathIndex.of(paths).filter(includes, excludes);
+    }
+
+    /**
+     * Tests if any of the given patterns matches the given path.
+     * @param path the path to match
+     * @param patterns the patterns, may be {@code null}
+     * @return {@code true} if a pattern matches, {@code false} otherwise
+     */
+    public static boolean matchesAny(SourcePath path, Collection<SourcePattern> patterns) {
+        if (patterns != null) {
+            for (SourcePattern pattern : patterns) {
+                if (pattern.matches(path)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return SourcePattern.class.getSimpleName() + "{ " + pattern + " }";
+    }
+
+    /**
+     * A compiled segment pattern, the wildcards split the pattern into a
+     * prefix, some infixes to find in order and a suffix.
+     */
+    static final class Segment {
+
+        private final String literal;
+        private final String prefix;
+        private final String[] infixes;
+        private final String suffix;
+
+        Segment(String pattern) {
+            int first = pattern.indexOf(WILDCARD);
+            if (first < 0) {
+                literal = pattern;
+                prefix = null;
+                infixes = null;
+                suffix = null;
+                return;
+            }
+            int last = pattern.lastIndexOf(WILDCARD);
+            literal = null;
+            prefix = pattern.substring(0, first);
+            suffix = pattern.substring(last + 1);
+            List<String> parts = new ArrayList<>();
+            for (String part : pattern.substring(first + 1, Math.max(first + 1, last)).split("\\*")) {
+                if (!part.isEmpty()) {
+                    parts.add(part);
+                }
+            }
+            infixes = parts.toArray(new String[parts.size()]);
+        }
+
+        boolean matches(String value) {
+            if (literal != null) {
+                return literal.equals(value);
+            }
+            if (value.length() < prefix.length() + suffix.length()
+                    || !value.startsWith(prefix)) {
+                return false;
+            }
+            int index = prefix.length();
+            int end = value.length() - suffix.length();
+            for (String infix : infixes) {
+                index = value.indexOf(infix, index);
+                if (index < 0 || index + infix.length() > end) {
+                    return false;
+                }
+                index += infix.length();
+            }
+            return value.endsWith(suffix);
+        }
+    }
+}
@@ -18,6 +18,7 @@ package io.helidon.build.sitegen;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map.Entry;
 
 import io.helidon.config.Config;
@@ -37,18 +38,51 @@ public class StaticAsset implements Model {
     private static final String TARGET_PROP = "target";
     private static final String INCLUDES_PROP = "includes";
     private static final String EXCLUDES_PROP = "excludes";
+    private static final String SYNC_PROP = "sync";
+
+    /**
+     * The modes of copying the assets in the generated directory.
+     */
+    public enum Sync {
+
+        /**
+         * Copy all the assets, the default.
+         */
+        COPY,
+
+        /**
+         * Copy only the assets that differ from the generated files, the
+         * files with the same size and the same modification time or the same
+         * content are not copied.
+         */
+        SYNC,
+
+        /**
+         * Same as {@link #SYNC}, but create hard links instead of copies if
+         * the source and generated directories are on the same file system.
+         * The linked files must not be modified in the generated directory.
+         */
+        LINK
+    }
 
     private final String target;
     private final List<String> includes;
     private final List<String> excludes;
+    private final List<SourcePattern> includePatterns;
+    private final List<SourcePattern> excludePatterns;
+    private final Sync sync;
 
     private StaticAsset(String target,
             List<String> includes,
-            List<String> excludes) {
+            List<String> excludes,
+            Sync sync) {
         checkNonNullNonEmpty(target, "target");
         this.target = target;
         this.includes = includes == null ? Collections.emptyList() : includes;
         this.excludes = excludes == null ? Collections.emptyList() : excludes;
+        this.includePatterns = SourcePattern.compile(this.includes);
+        this.excludePatterns = SourcePattern.compile(this.excludes);
+        this.sync = sync == null ? Sync.COPY : sync;
     }
 
     /**
@@ -76,6 +110,30 @@ public class StaticAsset implements Model {
         return excludes;
     }
 
+    /**
+     * Get the compiled include patterns.
+     * @return {@code List<SourcePattern>} for the include patterns, never {@code null}
+     */
+    public List<SourcePattern> getIncludePatterns() {
+        return includePatterns;
+    }
+
+    /**
+     * Get the compiled excludes patterns.
+     * @return {@code List<SourcePattern>} for the excludes patterns, never {@code null}
+     */
+    public List<SourcePattern> getExcludePatterns() {
+        return excludePatterns;
+    }
+
+    /**
+     * Get the mode of copying the assets in the generated directory.
+     * @return the sync mode, never {@code null}
+     */
+    public Sync getSync() {
+        return sync;
+    }
+
     @Override
     public Object get(String attr) {
         switch (attr) {
@@ -85,6 +143,8 @@ public class StaticAsset implements Model {
                 return includes;
             case (EXCLUDES_PROP):
                 return excludes;
+            case (SYNC_PROP):
+                return sync.name().toLowerCase(Locale.ENGLISH);
             default:
                 throw new IllegalArgumentException(
                         "Unkown attribute: " + attr);
@@ -126,6 +186,16 @@ public class StaticAsset implements Model {
             return this;
         }
 
+        /**
+         * Set the mode of copying the assets.
+         * @param sync the sync mode to use
+         * @return the {@link Builder} instance
+         */
+        public Builder sync(Sync sync) {
+            put(SYNC_PROP, sync);
+            return this;
+        }
+
         /**
          * Apply the configuration represented by the given {@link Config} node.
          * @param node a {@link Config} node containing configuration values to apply
@@ -139,6 +209,9 @@ public class StaticAsset implements Model {
                         -> put(INCLUDES_PROP, c.asStringList()));
                 node.get(EXCLUDES_PROP).ifExists(c
                         -> put(EXCLUDES_PROP, c.asStringList()));
+                node.get(SYNC_PROP).ifExists(c
+                        -> put(SYNC_PROP, Sync.valueOf(
+                                c.asString().toUpperCase(Locale.ENGLISH))));
             }
             return this;
         }
@@ -148,6 +221,7 @@ public class StaticAsset implements Model {
             String target = null;
             List<String> includes = null;
             List<String> excludes = null;
+            Sync sync = null;
             for (Entry<String, Object> entry : values()) {
                 String attr = entry.getKey();
                 Object val = entry.getValue();
@@ -161,12 +235,15 @@ public class StaticAsset implements Model {
                     case (EXCLUDES_PROP):
                         excludes = asList(val, String.class);
                         break;
+                    case (SYNC_PROP):
+                        sync = asType(val, Sync.class);
+                        break;
                     default:
                         throw new IllegalStateException(
                                 "Unkown attribute: " + attr);
                 }
             }
-            return new StaticAsset(target, includes, excludes);
+            return new StaticAsset(target, includes, excludes, sync);
         }
     }
 
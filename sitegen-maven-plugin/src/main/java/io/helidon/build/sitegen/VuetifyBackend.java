@@ -21,16 +21,24 @@ import java.io.IOException;
 import java.net.URISyntaxException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import io.helidon.build.sitegen.GenerationTimings.Phase;
+import io.helidon.build.sitegen.VuetifyNavigation.Group;
+import io.helidon.build.sitegen.VuetifyNavigation.Item;
 import io.helidon.build.sitegen.asciidoctor.AsciidocPageRenderer;
 import io.helidon.build.sitegen.freemarker.FreemarkerEngine;
+import io.helidon.build.sitegen.freemarker.SearchIndexDirective;
 import io.helidon.build.sitegen.freemarker.TemplateSession;
 import io.helidon.config.Config;
 
@@ -58,29 +66,81 @@ public class VuetifyBackend extends Backend {
     private static final String NAVIGATION_PROP = "navigation";
     private static final String HOME_PAGE_PROP = "homePage";
     private static final String RELEASES_PROP = "releases";
+    private static final String FINGERPRINT_PROP = "fingerprint";
+    private static final String CHUNKS_PROP = "chunks";
+    private static final String CHUNK_MAX_PAGES_PROP = "chunkMaxPages";
+    private static final String CHUNK_MAX_SIZE_PROP = "chunkMaxSize";
+    private static final String SEARCH_SHARDING_PROP = "searchSharding";
+    private static final String SEARCH_SHARD_MAX_SIZE_PROP = "searchShardMaxSize";
+    private static final String PREBUILT_SEARCH_INDEX_PROP = "prebuiltSearchIndex";
+
+    /**
+     * The modes of sharding the search index.
+     */
+    public enum SearchSharding {
+
+        /**
+         * A single search index file, the default.
+         */
+        NONE,
+
+        /**
+         * One shard per navigation group, split when bigger than the maximum
+         * shard size.
+         */
+        SECTION,
+
+        /**
+         * Shards of the maximum shard size.
+         */
+        SIZE
+    }
 
     private final Map<String, PageRenderer> pageRenderers;
     private final VuetifyNavigation navigation;
     private final Map<String, String> theme;
     private final Path staticResources;
+    private final ResourceManifest staticManifest;
     private final String homePage;
     private final List<String> releases;
+    private final boolean fingerprint;
+    private final boolean chunks;
+    private final int chunkMaxPages;
+    private final int chunkMaxSize;
+    private final SearchSharding searchSharding;
+    private final int searchShardMaxSize;
+    private final boolean prebuiltSearchIndex;
 
     private VuetifyBackend(Map<String, String> theme,
                            VuetifyNavigation navigation,
                            String homePage,
-                           List<String> releases) {
+                           List<String> releases,
+                           boolean fingerprint,
+                           boolean chunks,
+                           int chunkMaxPages,
+                           int chunkMaxSize,
+                           SearchSharding searchSharding,
+                           int searchShardMaxSize,
+                           boolean prebuiltSearchIndex) {
         super(BACKEND_NAME);
         checkNonNullNonEmpty(homePage, HOME_PAGE_PROP);
         this.theme = theme == null ? Collections.emptyMap() : theme;
         this.navigation = navigation;
         this.homePage = homePage;
         this.releases = releases == null ? Collections.emptyList() : releases;
+        this.fingerprint = fingerprint;
+        this.chunks = chunks;
+        this.chunkMaxPages = chunkMaxPages;
+        this.chunkMaxSize = chunkMaxSize;
+        this.searchSharding = searchSharding == null ? SearchSharding.NONE : searchSharding;
+        this.searchShardMaxSize = searchShardMaxSize;
+        this.prebuiltSearchIndex = prebuiltSearchIndex;
         this.pageRenderers = mapOf(
                 ADOC_EXT, new AsciidocPageRenderer(BACKEND_NAME)
         );
         try {
             staticResources = loadResourceDirAsPath(STATIC_RESOURCES);
+            staticManifest = ResourceManifest.load(staticResources);
         } catch (URISyntaxException | IOException ex) {
             throw new IllegalStateException(ex);
         }
@@ -118,6 +178,62 @@ public class VuetifyBackend extends Backend {
         return releases;
     }
 
+    /**
+     * Indicate if the generated files are fingerprinted.
+     * @return {@code true} if fingerprinted, {@code false} otherwise
+     */
+    public boolean isFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Indicate if the pages are bundled in chunks.
+     * @return {@code true} if the pages are bundled, {@code false} otherwise
+     */
+    public boolean isChunks() {
+        return chunks;
+    }
+
+    /**
+     * Get the maximum number of pages per chunk.
+     * @return the maximum number of pages
+     */
+    public int getChunkMaxPages() {
+        return chunkMaxPages;
+    }
+
+    /**
+     * Get the maximum size of a chunk.
+     * @return the maximum size in bytes
+     */
+    public int getChunkMaxSize() {
+        return chunkMaxSize;
+    }
+
+    /**
+     * Get the search index sharding mode.
+     * @return the sharding mode, never {@code null}
+     */
+    public SearchSharding getSearchSharding() {
+        return searchSharding;
+    }
+
+    /**
+     * Get the maximum size of a search index shard.
+     * @return the maximum size in bytes
+     */
+    public int getSearchShardMaxSize() {
+        return searchShardMaxSize;
+    }
+
+    /**
+     * Indicate if the search index is prebuilt.
+     * @return {@code true} if prebuilt, {@code false} otherwise
+     */
+    public boolean isPrebuiltSearchIndex() {
+        return prebuiltSearchIndex;
+    }
+
     @Override
     public Map<String, PageRenderer> pageRenderers() {
         return pageRenderers;
@@ -145,6 +261,9 @@ public class VuetifyBackend extends Backend {
             throw new IllegalStateException("unable to get home page");
         }
 
+        GenerationTimings timings = ctx.getTimings();
+        GenerationTimings.Timer navigationTimer = timings.start(Phase.NAVIGATION);
+
         // resolve navigation
         VuetifyNavigation resolvedNavigation = navigation == null ? null
                 : navigation.resolve(ctx.getPages().values());
@@ -172,10 +291,11 @@ public class VuetifyBackend extends Backend {
                                 .filter(item -> !navRouteEntries.contains(item))))
                 .collect(Collectors.toList());
 
+        navigationTimer.stop();
+
         Map<String, String> allBindings = session.getVueBindings().getBindings();
 
         Map<String, Object> model = new HashMap<>();
-        model.put("searchEntries", session.getSearchIndex().getEntries());
         model.put("navRouteEntries", navRouteEntries);
         model.put("routeEntries", routeEntries);
         model.put("customLayoutEntries", session.getCustomLayouts().getMappings());
@@ -189,6 +309,7 @@ public class VuetifyBackend extends Backend {
         model.put("bindings", allBindings);
 
         FreemarkerEngine freemarker = ctx.getSite().getEngine().freemarker();
+        GenerationTimings.Timer indexTimer = timings.start(Phase.INDEX);
 
         // custom bindings
         for (Page page : ctx.getPages().values()) {
@@ -203,21 +324,105 @@ public class VuetifyBackend extends Backend {
             }
         }
 
-        // render search-index.js
-        freemarker.renderFile("search_index", "main/search-index.json", model, ctx);
+        // group the pages by navigation section
+        List<List<Page>> sections = chunks || searchSharding == SearchSharding.SECTION
+                ? sections(resolvedNavigation, ctx.getPages().values())
+                : Collections.emptyList();
+
+        // bundle the pages in chunks
+        Map<String, String> chunkRoutes = Collections.emptyMap();
+        if (chunks) {
+            chunkRoutes = new PageChunker(ctx.getOutputdir(), pagesdir, chunkMaxPages, chunkMaxSize)
+                    .chunk(sections, allBindings.keySet());
+        }
+        model.put("chunks", chunkRoutes);
+
+        // write main/search-index.json
+        SearchIndexDirective searchIndex = session.getSearchIndex();
+        SearchIndexWriter searchIndexWriter = new SearchIndexWriter(ctx.getOutputdir(),
+                page -> searchIndex.getEntries(page.getSourcePath()), prebuiltSearchIndex);
+        switch (searchSharding) {
+            case SECTION:
+                searchIndexWriter.writeShards(sections, searchShardMaxSize);
+                break;
+            case SIZE:
+                searchIndexWriter.writeShards(
+                        Collections.singletonList(new ArrayList<>(ctx.getPages().values())),
+                        searchShardMaxSize);
+                break;
+            default:
+                searchIndexWriter.write(ctx.getPages().values());
+        }
 
         // render index.html
         freemarker.renderFile("index", "index.html", model, ctx);
 
         // render main/config.js
         freemarker.renderFile("config", "main/config.js", model, ctx);
+        indexTimer.stop();
+
+        // copy vuetify resources, only the missing or changed files if the
+        // resources have a manifest
+        timings.time(Phase.ASSETS, () -> {
+            try {
+                if (staticManifest != null) {
+                    staticManifest.copy(staticResources, ctx.getOutputdir());
+                } else {
+                    copyResources(staticResources, ctx.getOutputdir());
+                }
+            } catch (IOException ex) {
+                throw new RenderingException(
+                        "An error occurred during static resource processing ", ex);
+            }
+        });
 
-        // copy vuetify resources
-        try {
-            copyResources(staticResources, ctx.getOutputdir());
-        } catch (IOException ex) {
-            throw new RenderingException(
-                    "An error occurred during static resource processing ", ex);
+        // fingerprint the generated files
+        if (fingerprint) {
+            timings.time(Phase.FINGERPRINT,
+                    () -> new Fingerprinter(ctx.getOutputdir()).fingerprint());
+        }
+    }
+
+    /**
+     * Group the pages by navigation group, the pages that are not in the
+     * navigation are grouped last.
+     */
+    private static List<List<Page>> sections(VuetifyNavigation navigation,
+                                             Collection<Page> pages) {
+
+        Map<String, Page> routes = new LinkedHashMap<>();
+        for (Page page : pages) {
+            routes.put(page.getTargetPath(), page);
+        }
+        List<List<Page>> groups = new ArrayList<>();
+        if (navigation != null) {
+            for (Item item : navigation.getItems()) {
+                if (item.isGroup()) {
+                    addSections(item.asGroup(), routes, groups);
+                }
+            }
+        }
+        groups.add(new ArrayList<>(routes.values()));
+        return groups;
+    }
+
+    private static void addSections(Group group,
+                                    Map<String, Page> routes,
+                                    List<List<Page>> groups) {
+
+        List<Page> groupPages = new ArrayList<>();
+        for (Item item : group.getItems()) {
+            if (item.isGroup()) {
+                addSections(item.asGroup(), routes, groups);
+            } else if (item.isLink()) {
+                Page page = routes.remove(item.asLink().getHref());
+                if (page != null) {
+                    groupPages.add(page);
+                }
+            }
+        }
+        if (!groupPages.isEmpty()) {
+            groups.add(groupPages);
         }
     }
 
@@ -266,6 +471,80 @@ public class VuetifyBackend extends Backend {
             return this;
         }
 
+        /**
+         * Enable the fingerprinting of the generated files, the files are
+         * copied with a content hash in their name and the references are
+         * rewritten.
+         * @param fingerprint {@code true} to fingerprint the generated files
+         * @return the {@link Builder} instance
+         */
+        public Builder fingerprint(boolean fingerprint){
+            put(FINGERPRINT_PROP, fingerprint);
+            return this;
+        }
+
+        /**
+         * Enable the bundling of the pages in chunks, the pages of a
+         * navigation group are downloaded with a single request.
+         * @param chunks {@code true} to bundle the pages
+         * @return the {@link Builder} instance
+         */
+        public Builder chunks(boolean chunks){
+            put(CHUNKS_PROP, chunks);
+            return this;
+        }
+
+        /**
+         * Set the maximum number of pages per chunk.
+         * @param chunkMaxPages the maximum number of pages
+         * @return the {@link Builder} instance
+         */
+        public Builder chunkMaxPages(int chunkMaxPages){
+            put(CHUNK_MAX_PAGES_PROP, chunkMaxPages);
+            return this;
+        }
+
+        /**
+         * Set the maximum size of a chunk.
+         * @param chunkMaxSize the maximum size in bytes
+         * @return the {@link Builder} instance
+         */
+        public Builder chunkMaxSize(int chunkMaxSize){
+            put(CHUNK_MAX_SIZE_PROP, chunkMaxSize);
+            return this;
+        }
+
+        /**
+         * Set the search index sharding mode.
+         * @param searchSharding the sharding mode
+         * @return the {@link Builder} instance
+         */
+        public Builder searchSharding(SearchSharding searchSharding){
+            put(SEARCH_SHARDING_PROP, searchSharding);
+            return this;
+        }
+
+        /**
+         * Set the maximum size of a search index shard.
+         * @param searchShardMaxSize the maximum size in bytes
+         * @return the {@link Builder} instance
+         */
+        public Builder searchShardMaxSize(int searchShardMaxSize){
+            put(SEARCH_SHARD_MAX_SIZE_PROP, searchShardMaxSize);
+            return this;
+        }
+
+        /**
+         * Build the search index at generation time, the browser only loads
+         * the prebuilt index.
+         * @param prebuiltSearchIndex {@code true} to prebuild the search index
+         * @return the {@link Builder} instance
+         */
+        public Builder prebuiltSearchIndex(boolean prebuiltSearchIndex){
+            put(PREBUILT_SEARCH_INDEX_PROP, prebuiltSearchIndex);
+            return this;
+        }
+
         @Override
         public Builder config(Config node) {
             if (node.exists()) {
@@ -286,6 +565,29 @@ public class VuetifyBackend extends Backend {
                 // releases
                 node.get(RELEASES_PROP).ifExists(c
                         -> put(RELEASES_PROP, c.asStringList()));
+
+                // fingerprint
+                node.get(FINGERPRINT_PROP).ifExists(c
+                        -> put(FINGERPRINT_PROP, c.asBoolean()));
+
+                // chunks
+                node.get(CHUNKS_PROP).ifExists(c
+                        -> put(CHUNKS_PROP, c.asBoolean()));
+                node.get(CHUNK_MAX_PAGES_PROP).ifExists(c
+                        -> put(CHUNK_MAX_PAGES_PROP, c.asInt()));
+                node.get(CHUNK_MAX_SIZE_PROP).ifExists(c
+                        -> put(CHUNK_MAX_SIZE_PROP, c.asInt()));
+
+                // search index sharding
+                node.get(SEARCH_SHARDING_PROP).ifExists(c
+                        -> put(SEARCH_SHARDING_PROP, SearchSharding.valueOf(
+                                c.asString().toUpperCase(Locale.ENGLISH))));
+                node.get(SEARCH_SHARD_MAX_SIZE_PROP).ifExists(c
+                        -> put(SEARCH_SHARD_MAX_SIZE_PROP, c.asInt()));
+
+                // prebuiltSearchIndex
+                node.get(PREBUILT_SEARCH_INDEX_PROP).ifExists(c
+                        -> put(PREBUILT_SEARCH_INDEX_PROP, c.asBoolean()));
             }
             return this;
         }
@@ -296,6 +598,13 @@ public class VuetifyBackend extends Backend {
             VuetifyNavigation navigation = null;
             String homePage = null;
             List<String> releases = null;
+            boolean fingerprint = false;
+            boolean chunks = false;
+            int chunkMaxPages = PageChunker.DEFAULT_MAX_PAGES;
+            int chunkMaxSize = PageChunker.DEFAULT_MAX_SIZE;
+            SearchSharding searchSharding = null;
+            int searchShardMaxSize = SearchIndexWriter.DEFAULT_MAX_SIZE;
+            boolean prebuiltSearchIndex = false;
             for (Entry<String, Object> entry : values()) {
                 String attr = entry.getKey();
                 Object val = entry.getValue();
@@ -312,12 +621,35 @@ public class VuetifyBackend extends Backend {
                     case (RELEASES_PROP):
                         releases = asList(val, String.class);
                         break;
+                    case (FINGERPRINT_PROP):
+                        fingerprint = asType(val, Boolean.class);
+                        break;
+                    case (CHUNKS_PROP):
+                        chunks = asType(val, Boolean.class);
+                        break;
+                    case (CHUNK_MAX_PAGES_PROP):
+                        chunkMaxPages = asType(val, Integer.class);
+                        break;
+                    case (CHUNK_MAX_SIZE_PROP):
+                        chunkMaxSize = asType(val, Integer.class);
+                        break;
+                    case (SEARCH_SHARDING_PROP):
+                        searchSharding = asType(val, SearchSharding.class);
+                        break;
+                    case (SEARCH_SHARD_MAX_SIZE_PROP):
+                        searchShardMaxSize = asType(val, Integer.class);
+                        break;
+                    case (PREBUILT_SEARCH_INDEX_PROP):
+                        prebuiltSearchIndex = asType(val, Boolean.class);
+                        break;
                     default:
                         throw new IllegalStateException(
                                 "Unkown attribute: " + attr);
                 }
             }
-            return new VuetifyBackend(theme, navigation, homePage, releases);
+            return new VuetifyBackend(theme, navigation, homePage, releases,
+                    fingerprint, chunks, chunkMaxPages, chunkMaxSize, searchSharding,
+                    searchShardMaxSize, prebuiltSearchIndex);
         }
     }
 
@@ -93,13 +93,14 @@ public class VuetifyNavigation implements Model {
         if (glyph != null) {
             navigationBuilder.glyph(glyph);
         }
+        SourcePathIndex<Page> pagesIndex = Page.index(allPages);
         List<Item> resolvedGroups = new LinkedList<>();
         for (Item group : items) {
             if (!(group instanceof Group)) {
                 throw new IllegalStateException(
                         "top level items is not a group");
             }
-            resolvedGroups.add(((Group) group).resolve(allPages));
+            resolvedGroups.add(((Group) group).resolve(pagesIndex));
         }
         navigationBuilder.items(resolvedGroups);
         return navigationBuilder.build();
@@ -390,7 +391,7 @@ public class VuetifyNavigation implements Model {
     /**
      * Special item type used to match {@link Page} instances.
      *
-     * The {@link #resolve(java.util.Collection)} method is designed to replace
+     * The {@link #resolve(SourcePathIndex)} method is designed to replace
      * matched pages with {@link Link} instances.
      */
     public static class Pages extends Item {
@@ -402,8 +403,8 @@ public class VuetifyNavigation implements Model {
             this.pages = pages;
         }
 
-        private List<Item> resolve(Collection<Page> allPages) {
-            return Page.filter(allPages, pages.getIncludes(), pages.getExcludes())
+        private List<Item> resolve(SourcePathIndex<Page> pagesIndex) {
+            return pagesIndex.filter(pages)
                     .stream()
                     .map(page -> Link.builder()
                         .href(page.getTargetPath())
@@ -520,7 +521,7 @@ public class VuetifyNavigation implements Model {
             return items;
         }
 
-        private Group resolve(Collection<Page> allPages) {
+        private Group resolve(SourcePathIndex<Page> pagesIndex) {
             Group.Builder groupBuilder = Group.builder();
             groupBuilder.title(getTitle());
             if (getGlyph() != null) {
@@ -528,10 +529,10 @@ public class VuetifyNavigation implements Model {
             }
             groupBuilder.items(items.stream().flatMap(item -> {
                 if (item instanceof Pages) {
-                    return ((Pages) item).resolve(allPages).stream();
+                    return ((Pages) item).resolve(pagesIndex).stream();
                 }
                 if (item instanceof SubGroup) {
-                    return Stream.of(((SubGroup) item).resolve(allPages));
+                    return Stream.of(((SubGroup) item).resolve(pagesIndex));
                 }
                 return Stream.of(item);
             }).collect(Collectors.toList()));
@@ -636,7 +637,7 @@ public class VuetifyNavigation implements Model {
             return pathprefix;
         }
 
-        private SubGroup resolve(Collection<Page> allPages) {
+        private SubGroup resolve(SourcePathIndex<Page> pagesIndex) {
             SubGroup.Builder subGroupBuilder = SubGroup.builder();
             subGroupBuilder.title(getTitle());
             if (getGlyph() != null) {
@@ -645,7 +646,7 @@ public class VuetifyNavigation implements Model {
             subGroupBuilder.pathprefix(pathprefix);
             subGroupBuilder.items(getItems().stream().flatMap(item -> {
                 if (item instanceof Pages) {
-                    return ((Pages) item).resolve(allPages).stream();
+                    return ((Pages) item).resolve(pagesIndex).stream();
                 }
                 return Stream.of(item);
             }).collect(Collectors.toList()));
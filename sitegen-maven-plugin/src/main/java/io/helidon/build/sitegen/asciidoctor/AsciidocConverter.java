@@ -18,9 +18,10 @@ package io.helidon.build.sitegen.asciidoctor;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
-import io.helidon.build.sitegen.SiteEngine;
 import io.helidon.build.sitegen.freemarker.FreemarkerEngine;
 
 import org.asciidoctor.ast.ContentNode;
@@ -36,6 +37,10 @@ import static io.helidon.build.sitegen.asciidoctor.CardBlockProcessor.BLOCKLINK_
  *
  * The Freemarker templates are loaded from classpath, see {@link io.helidon.build.sitegen.freemarker.TemplateLoader}
  *
+ * The {@link FreemarkerEngine} is resolved from the document attribute
+ * {@link #FREEMARKER_ENGINE_ATTR}, set for each rendering by
+ * {@link AsciidocEngine}.
+ *
  * @author rgrecour
  */
 public class AsciidocConverter extends AbstractConverter<String> {
@@ -43,7 +48,19 @@ public class AsciidocConverter extends AbstractConverter<String> {
     private static final Logger LOGGER =
             LoggerFactory.getLogger(AsciidocConverter.class);
 
-    private final FreemarkerEngine templateEngine;
+    /**
+     * Document attribute used to pass the {@link FreemarkerEngine}.
+     */
+    public static final String FREEMARKER_ENGINE_ATTR = "freemarkerEngine";
+
+    /**
+     * Document attribute used to pass the {@link Writer} that receives the
+     * output of the document template. If set, the document template is
+     * rendered directly to the writer and the converted document is empty.
+     */
+    static final String OUTPUT_WRITER_ATTR = "outputWriter";
+
+    private FreemarkerEngine templateEngine;
 
     /**
      * Create a new instance of {@link AsciidocConverter}.
@@ -52,7 +69,19 @@ public class AsciidocConverter extends AbstractConverter<String> {
      */
     public AsciidocConverter(String backend, Map<String, Object> opts) {
         super(backend, opts);
-        templateEngine = SiteEngine.get(backend).freemarker();
+    }
+
+    private FreemarkerEngine templateEngine(ContentNode node) {
+        // converter instances are created for each document
+        if (templateEngine == null) {
+            Object engine = node.getDocument().getAttribute(FREEMARKER_ENGINE_ATTR);
+            if (!(engine instanceof FreemarkerEngine)) {
+                throw new IllegalStateException(
+                        "document attribute '" + FREEMARKER_ENGINE_ATTR + "' is not valid");
+            }
+            templateEngine = (FreemarkerEngine) engine;
+        }
+        return templateEngine;
     }
 
     @Override
@@ -81,7 +110,15 @@ public class AsciidocConverter extends AbstractConverter<String> {
                 templateName = node.getNodeName();
             }
             LOGGER.debug("Rendering node: {}", node);
-            return templateEngine.renderString(templateName, node);
+            if ("document".equals(templateName)) {
+                Object writer = node.getDocument().getAttribute(OUTPUT_WRITER_ATTR);
+                if (writer instanceof Writer) {
+                    // stream the page instead of returning it through JRuby
+                    templateEngine(node).render(templateName, node, (Writer) writer);
+                    return "";
+                }
+            }
+            return templateEngine(node).renderString(templateName, node);
         } else {
             return "";
         }
@@ -89,6 +126,6 @@ public class AsciidocConverter extends AbstractConverter<String> {
 
     @Override
     public void write(String output, OutputStream out) throws IOException {
-        out.write(output.getBytes());
+        out.write(output.getBytes(StandardCharsets.UTF_8));
     }
 }
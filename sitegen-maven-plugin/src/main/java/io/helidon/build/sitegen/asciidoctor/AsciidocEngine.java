@@ -16,22 +16,22 @@
 
 package io.helidon.build.sitegen.asciidoctor;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Writer;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 
 import io.helidon.build.sitegen.AbstractBuilder;
 import io.helidon.build.sitegen.Page;
 import io.helidon.build.sitegen.RenderingContext;
 import io.helidon.build.sitegen.RenderingException;
-import io.helidon.build.sitegen.Site;
+import io.helidon.build.sitegen.asciidoctor.HeaderScanner.ScannedHeader;
+import io.helidon.build.sitegen.freemarker.FreemarkerEngine;
 import io.helidon.config.Config;
 
 import org.asciidoctor.Asciidoctor;
@@ -47,6 +47,8 @@ import static io.helidon.build.sitegen.Helper.checkNonNull;
 import static io.helidon.build.sitegen.Helper.checkNonNullNonEmpty;
 import static io.helidon.build.sitegen.Helper.checkValidFile;
 import static io.helidon.build.sitegen.Helper.getRelativePath;
+import static io.helidon.build.sitegen.asciidoctor.AsciidocConverter.FREEMARKER_ENGINE_ATTR;
+import static io.helidon.build.sitegen.asciidoctor.AsciidocConverter.OUTPUT_WRITER_ATTR;
 
 /**
  * A facade over Asciidoctorj.
@@ -60,19 +62,30 @@ public class AsciidocEngine {
     private static final String LIBRARIES_PROP = "libraries";
     private static final String ATTRIBUTES_PROP = "attributes";
     private static final String IMAGESDIR_PROP = "imagesdir";
+    private static final String RUNTIMES_PROP = "runtimes";
+
+    /**
+     * The maximum number of parsed documents retained between the header and
+     * render phases, the headers of the other documents are parsed alone.
+     */
+    static final int MAX_CACHED_DOCUMENTS = 64;
 
     /**
      * Constant for the default images directory.
      */
     public static final String DEFAULT_IMAGESDIR = "./images";
 
-    private static volatile Asciidoctor asciidoctorInstance = null;
+    /**
+     * Constant for the default maximum number of Asciidoctor runtimes.
+     */
+    public static final int DEFAULT_RUNTIMES = Runtime.getRuntime().availableProcessors();
 
     private final String backend;
     private final List<String> libraries;
     private final Map<String, Object> attributes;
     private final String imagesdir;
-    private final Asciidoctor asciidoctor;
+    private final AsciidoctorPool pool;
+    private final Map<String, ParsedDocument> documentCache = new ConcurrentHashMap<>();
 
     /**
      * Create a new instance of {@link AsciidocEngine}.
@@ -85,24 +98,86 @@ public class AsciidocEngine {
                           List<String> libraries,
                           Map<String, Object> attributes,
                           String imagesdir){
-        checkNonNullNonEmpty(backend, BACKEND_PROP);
+        this(backend, libraries, attributes, imagesdir, null);
+    }
+
+    /**
+     * Create a new instance of {@link AsciidocEngine}.
+     * @param backend the name of the backend, if {@code null} the engine must
+     * be bound to a backend before use, see {@link #bind(String)}
+     * @param libraries the asciidoctor libraries to use
+     * @param attributes the asciidoctor attributes to use
+     * @param imagesdir the images to use
+     * @param runtimes the maximum number of asciidoctor runtimes to use
+     */
+    public AsciidocEngine(String backend,
+                          List<String> libraries,
+                          Map<String, Object> attributes,
+                          String imagesdir,
+                          Integer runtimes){
         installSLF4JBridge();
         this.backend = backend;
         this.attributes = attributes == null ? Collections.emptyMap() : attributes;
         this.libraries = libraries == null ? Collections.emptyList() : libraries;
         this.imagesdir = imagesdir == null ? DEFAULT_IMAGESDIR : imagesdir;
-        if (asciidoctorInstance == null) {
-            asciidoctorInstance = Asciidoctor.Factory.create();
+        this.pool = new AsciidoctorPool(
+                runtimes == null || runtimes < 1 ? DEFAULT_RUNTIMES : runtimes,
+                this::createRuntime);
+    }
+
+    /**
+     * Get a {@link AsciidocEngine} with the same configuration bound to the
+     * given backend.
+     * @param backend the backend name
+     * @return this instance if already bound to the given backend, a new
+     * instance otherwise
+     */
+    public AsciidocEngine bind(String backend) {
+        checkNonNullNonEmpty(backend, BACKEND_PROP);
+        if (backend.equals(this.backend)) {
+            return this;
+        }
+        return new AsciidocEngine(backend, libraries, attributes, imagesdir,
+                pool.size());
+    }
+
+    private Asciidoctor createRuntime() {
+        if (backend == null) {
+            throw new IllegalStateException("engine is not bound to a backend");
         }
-        this.asciidoctor = asciidoctorInstance;
-        new AsciidocExtensionRegistry(backend).register(asciidoctor);
+        return AsciidoctorRuntimes.acquire(backend, libraries);
     }
 
     /**
-     * Unregister asciidoctor extensions.
+     * Unregister asciidoctor extensions. The idle runtimes are discarded
+     * instead of being released to {@link AsciidoctorRuntimes}.
      */
     public void unregister(){
-        this.asciidoctor.unregisterAllExtensions();
+        List<Asciidoctor> runtimes = pool.drain();
+        runtimes.addAll(pool.runtimes());
+        for (Asciidoctor asciidoctor : runtimes) {
+            asciidoctor.unregisterAllExtensions();
+        }
+    }
+
+    /**
+     * Release the idle runtimes of this engine to {@link AsciidoctorRuntimes}
+     * so that they can be re-used by other engines in the same JVM.
+     */
+    public void releaseRuntimes() {
+        for (Asciidoctor asciidoctor : pool.drain()) {
+            AsciidoctorRuntimes.release(backend, libraries, asciidoctor);
+        }
+    }
+
+    /**
+     * Get the maximum number of asciidoctor runtimes.
+     * The runtimes are created on demand, a runtime is used by one thread at
+     * a time.
+     * @return the maximum number of runtimes
+     */
+    public int getRuntimes() {
+        return pool.size();
     }
 
     /**
@@ -129,26 +204,6 @@ public class AsciidocEngine {
         return imagesdir;
     }
 
-    private static String parseSection0Title(File source) {
-        try (BufferedReader br = new BufferedReader(new FileReader(source))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                // level0
-                if (line.startsWith("= ")) {
-                    return line.substring(2).trim();
-                }
-                // level1, abort...
-                if (line.startsWith("== ")) {
-                    break;
-                }
-            }
-        } catch (IOException ex) {
-            LOGGER.error("Error while parsing section0 title of "
-                    + source.getAbsolutePath(), ex);
-        }
-        return null;
-    }
-
     /**
      * Read a document's header.
      * @param source the document to read the header from
@@ -156,6 +211,20 @@ public class AsciidocEngine {
      */
     public Map<String, Object> readDocumentHeader(File source){
         checkValidFile(source, "source");
+        ScannedHeader header = HeaderScanner.scan(source, attributes);
+        if (header.isResolved()) {
+            return documentHeader(header.h1(), header.attributes());
+        }
+        return parseDocumentHeader(source, header.h1());
+    }
+
+    /**
+     * Read a document's header with Asciidoctor.
+     * @param source the document to read the header from
+     * @param h1 the first level-0 title of the document, may be {@code null}
+     * @return the header as {@code Map<String, Object>}, never {@code null}
+     */
+    Map<String, Object> parseDocumentHeader(File source, String h1) {
         final OptionsBuilder optionsBuilder = OptionsBuilder.options()
                 .attributes(
                         AttributesBuilder
@@ -169,18 +238,92 @@ public class AsciidocEngine {
         if (backend != null) {
             optionsBuilder.backend(this.backend);
         }
-        Document doc = asciidoctor.loadFile(source, optionsBuilder.asMap());
+        Asciidoctor asciidoctor = pool.acquire();
+        try {
+            Document doc = asciidoctor.loadFile(source, optionsBuilder.asMap());
+            return documentHeader(h1, doc.getAttributes());
+        } finally {
+            pool.release(asciidoctor);
+        }
+    }
+
+    /**
+     * Read a document's header for a site processing invocation.
+     * If the header cannot be read without Asciidoctor, the document is fully
+     * parsed and the parsed document is retained until the document is
+     * rendered to the given output directory, see
+     * {@link #render(Page, RenderingContext, File, Map)}. The number of
+     * retained documents is bounded, once the bound is reached only the header
+     * of the other documents is parsed.
+     *
+     * @param source the document to read the header from
+     * @param outputdir the output directory of the site processing invocation
+     * @return the header as {@code Map<String, Object>}, never {@code null}
+     */
+    public Map<String, Object> readDocumentHeader(File source, File outputdir){
+        checkValidFile(source, "source");
+        checkNonNull(outputdir, "outputdir");
+        long lastModified = source.lastModified();
+        ScannedHeader header = HeaderScanner.scan(source, attributes);
+        if (header.isResolved()) {
+            return documentHeader(header.h1(), header.attributes());
+        }
+        // the concurrent readers may exceed the limit by the number of threads
+        if (documentCache.size() >= MAX_CACHED_DOCUMENTS) {
+            return parseDocumentHeader(source, header.h1());
+        }
+        Asciidoctor asciidoctor = pool.acquire();
+        try {
+            Document doc = loadDocument(asciidoctor, source, outputdir, true);
+            documentCache.put(source.getAbsolutePath(),
+                    new ParsedDocument(asciidoctor, doc, outputdir, lastModified));
+            return documentHeader(header.h1(), doc.getAttributes());
+        } finally {
+            pool.release(asciidoctor);
+        }
+    }
+
+    /**
+     * Release the parsed documents retained by this engine.
+     */
+    public void clearDocumentCache() {
+        documentCache.clear();
+    }
+
+    /**
+     * Get the number of parsed documents retained by this engine.
+     * @return the number of retained documents
+     */
+    int cachedDocuments() {
+        return documentCache.size();
+    }
+
+    private static Map<String, Object> documentHeader(String h1,
+                                                      Map<String, Object> attributes) {
         Map<String, Object> headerMap = new HashMap<>();
-        String h1 = parseSection0Title(source);
         if (h1 != null) {
             headerMap.put("h1", h1);
         }
-        headerMap.putAll(doc.getAttributes());
+        headerMap.putAll(attributes);
         return headerMap;
     }
 
+    /**
+     * Read the files transitively included by a document.
+     * @param source the document to read the includes from
+     * @return the {@code List} of included files, or {@code null} if an
+     * include target cannot be resolved
+     */
+    public List<File> readIncludes(File source) {
+        checkValidFile(source, "source");
+        return IncludeScanner.scan(source, attributes);
+    }
+
     /**
      * Render the document represented by the given {@link Page} instance.
+     * The document parsed while reading the header is used if it is still up
+     * to date, otherwise the document is parsed.
+     *
      * @param page the {@link Page} instance representing the document to render
      * @param ctx the context representing this site processing invocation
      * @param target the file to create as a result of the rendering
@@ -194,8 +337,6 @@ public class AsciidocEngine {
         checkNonNull(page, "page");
         checkNonNull(ctx, "ctx");
 
-        asciidoctor.requireLibraries(libraries);
-
         if (extraAttributes == null) {
             extraAttributes = Collections.emptyMap();
         }
@@ -205,9 +346,52 @@ public class AsciidocEngine {
         File source = new File(sourcedir, page.getSourcePath());
         checkValidFile(source, "source");
 
+        LOGGER.info("rendering {} to {}", source.getPath(), target.getPath());
+        ParsedDocument parsed = documentCache.remove(source.getAbsolutePath());
+        if (parsed != null && !parsed.isValid(source, outputdir)) {
+            parsed = null;
+        }
+        target.getParentFile().mkdirs();
+        try (Writer writer = FreemarkerEngine.newFileWriter(target)) {
+            // a parsed document is converted with the runtime that parsed it
+            Asciidoctor asciidoctor = parsed != null
+                    ? pool.acquire(parsed.asciidoctor)
+                    : pool.acquire();
+            String output;
+            try {
+                Document document = parsed != null
+                        ? parsed.document
+                        // parsed when converted
+                        : loadDocument(asciidoctor, source, outputdir, false);
+
+                // the extra attributes do not override the configured attributes
+                for (Entry<String, Object> attr : extraAttributes.entrySet()) {
+                    document.setAttribute(attr.getKey(), attr.getValue(), false);
+                }
+                document.setAttribute("templateSession", ctx.getTemplateSession(), true);
+                document.setAttribute(FREEMARKER_ENGINE_ATTR,
+                        ctx.getSite().getEngine().freemarker(), true);
+                // the document template is rendered directly to the file
+                document.setAttribute(OUTPUT_WRITER_ATTR, writer, true);
+                output = document.convert();
+            } finally {
+                pool.release(asciidoctor);
+            }
+            if (output != null && !output.isEmpty()) {
+                writer.write(output);
+            }
+        } catch (IOException ex) {
+            throw new RenderingException(ex.getMessage(), ex);
+        }
+    }
+
+    private Document loadDocument(Asciidoctor asciidoctor,
+                                  File source,
+                                  File outputdir,
+                                  boolean parse) {
+
         // set attributes
         final AttributesBuilder attributesBuilder = AttributesBuilder.attributes();
-        attributesBuilder.attributes(extraAttributes);
         attributesBuilder.attributes(attributes);
 
         // not using frontmatter
@@ -240,23 +424,36 @@ public class AsciidocEngine {
                 .headerFooter(false)
                 .eruby("")
                 .baseDir(source.getParentFile())
-                .option("parse", false);
+                .option("parse", parse);
         if (backend != null) {
             optionsBuilder.backend(this.backend);
         }
-        LOGGER.info("rendering {} to {}", source.getPath(), target.getPath());
-        Document document = asciidoctor.loadFile(source, optionsBuilder.asMap());
-        document.setAttribute("templateSession", ctx.getTemplateSession(), true);
-        String output = document.convert();
-        FileWriter writer;
-        try {
-            target.getParentFile().mkdirs();
-            writer = new FileWriter(target);
-            writer.write(output);
-            writer.flush();
-            writer.close();
-        } catch (IOException ex) {
-            throw new RenderingException(ex.getMessage(), ex);
+        return asciidoctor.loadFile(source, optionsBuilder.asMap());
+    }
+
+    /**
+     * A parsed document retained between the header and render phases.
+     */
+    private static final class ParsedDocument {
+
+        private final Asciidoctor asciidoctor;
+        private final Document document;
+        private final File outputdir;
+        private final long lastModified;
+
+        ParsedDocument(Asciidoctor asciidoctor,
+                       Document document,
+                       File outputdir,
+                       long lastModified) {
+            this.asciidoctor = asciidoctor;
+            this.document = document;
+            this.outputdir = outputdir;
+            this.lastModified = lastModified;
+        }
+
+        boolean isValid(File source, File outputdir) {
+            return this.outputdir.equals(outputdir)
+                    && lastModified == source.lastModified();
         }
     }
 
@@ -295,6 +492,16 @@ public class AsciidocEngine {
             return this;
         }
 
+        /**
+         * Set the maximum number of asciidoctor runtimes to use.
+         * @param runtimes the maximum number of runtimes
+         * @return the {@link Builder} instance
+         */
+        public Builder runtimes(int runtimes) {
+            put(RUNTIMES_PROP, runtimes);
+            return this;
+        }
+
         /**
          * Apply the configuration represented by the given {@link Config} node.
          * @param node a {@link Config} node containing configuration values to apply
@@ -308,6 +515,8 @@ public class AsciidocEngine {
                         -> put(ATTRIBUTES_PROP, c.detach().asMap()));
                 node.get(IMAGESDIR_PROP).ifExists(c
                         -> put(IMAGESDIR_PROP, c.asString()));
+                node.get(RUNTIMES_PROP).ifExists(c
+                        -> put(RUNTIMES_PROP, c.asInt()));
             }
             return this;
         }
@@ -317,6 +526,7 @@ public class AsciidocEngine {
             List<String> libraries = null;
             Map<String, Object> attributes = null;
             String imagesdir = null;
+            Integer runtimes = null;
             for (Entry<String, Object> entry : values()) {
                 String attr = entry.getKey();
                 Object val = entry.getValue();
@@ -330,13 +540,16 @@ public class AsciidocEngine {
                     case (IMAGESDIR_PROP):
                         imagesdir = asType(val, String.class);
                         break;
+                    case (RUNTIMES_PROP):
+                        runtimes = asType(val, Integer.class);
+                        break;
                     default:
                         throw new IllegalStateException(
                                 "Unkown attribute: " + attr);
                 }
             }
-            String backendName = Site.THREADLOCAL.get();
-            return new AsciidocEngine(backendName, libraries, attributes, imagesdir);
+            return new AsciidocEngine(null, libraries, attributes,
+                    imagesdir, runtimes);
         }
     }
 
@@ -17,12 +17,12 @@
 package io.helidon.build.sitegen.asciidoctor;
 
 import java.io.File;
+import java.util.List;
 import java.util.Map;
 
 import io.helidon.build.sitegen.Page;
 import io.helidon.build.sitegen.PageRenderer;
 import io.helidon.build.sitegen.RenderingContext;
-import io.helidon.build.sitegen.SiteEngine;
 
 import static io.helidon.build.sitegen.Helper.asString;
 import static io.helidon.build.sitegen.Helper.checkNonNull;
@@ -43,12 +43,26 @@ public class AsciidocPageRenderer implements PageRenderer {
      */
     public static final String ADOC_EXT = "adoc";
     private final String backendName;
+    private volatile AsciidocEngine engine;
 
     /**
      * Create a new instance of {@link AsciidocPageRenderer}.
+     * The {@link AsciidocEngine} is resolved from the {@link RenderingContext},
+     * {@link #readMetadata(File)} is not supported.
+     */
+    public AsciidocPageRenderer() {
+        this.backendName = null;
+    }
+
+    /**
+     * Create a new instance of {@link AsciidocPageRenderer}.
+     * The {@link AsciidocEngine} is resolved from the {@link RenderingContext},
+     * except for {@link #readMetadata(File)} that uses an engine created on
+     * demand for the given backend.
      * @param backendName the name of the backend
      */
     public AsciidocPageRenderer(String backendName) {
+        checkNonNullNonEmpty(backendName, "backendName");
         this.backendName = backendName;
     }
 
@@ -58,23 +72,66 @@ public class AsciidocPageRenderer implements PageRenderer {
         checkNonNull(ctx, "ctx");
         checkValidDir(pagesdir, "pagesdir");
         checkNonNullNonEmpty(ext, "ext");
-        SiteEngine siteEngine = SiteEngine.get(backendName);
         File target = new File(pagesdir, page.getTargetPath() + "." + ext);
-        siteEngine.asciidoc().render(page, ctx, target,
+        engine(ctx).render(page, ctx, target,
                 mapOf("page", page,
                       "pages", ctx.getPages()));
     }
 
+    /**
+     * Read a given document metadata with an engine of the backend given to
+     * {@link #AsciidocPageRenderer(String)}, without the configured libraries
+     * and attributes of the site.
+     * @param source the file to read the metadata from
+     * @return the {@link Metadata} instance, never {@code null}
+     * @throws IllegalStateException if this instance was created without a
+     * backend name
+     * @deprecated use {@link #readMetadata(File, RenderingContext)}
+     */
+    @Deprecated
     @Override
     public Metadata readMetadata(File source) {
         checkNonNull(source, "source");
-        SiteEngine siteEngine = SiteEngine.get(backendName);
-        Map<String, Object> docHeader = siteEngine
-                .asciidoc().readDocumentHeader(source);
+        if (backendName == null) {
+            throw new IllegalStateException(
+                    "no backend name, use readMetadata(File, RenderingContext)");
+        }
+        AsciidocEngine asciidoc = engine;
+        if (asciidoc == null) {
+            synchronized (this) {
+                asciidoc = engine;
+                if (asciidoc == null) {
+                    asciidoc = new AsciidocEngine(backendName, null, null, null);
+                    engine = asciidoc;
+                }
+            }
+        }
+        return metadata(asciidoc.readDocumentHeader(source));
+    }
+
+    @Override
+    public Metadata readMetadata(File source, RenderingContext ctx) {
+        checkNonNull(source, "source");
+        checkNonNull(ctx, "ctx");
+        return metadata(engine(ctx).readDocumentHeader(source, ctx.getOutputdir()));
+    }
+
+    @Override
+    public List<File> readDependencies(File source, RenderingContext ctx) {
+        checkNonNull(source, "source");
+        checkNonNull(ctx, "ctx");
+        return engine(ctx).readIncludes(source);
+    }
+
+    private static Metadata metadata(Map<String, Object> docHeader) {
         return new Metadata(
                 asString(docHeader.get("description")),
                 asString(docHeader.get("keywords")),
                 asString(docHeader.get("h1")),
                 asString(docHeader.get("doctitle")));
     }
+
+    private static AsciidocEngine engine(RenderingContext ctx) {
+        return ctx.getSite().getEngine().asciidoc();
+    }
 }
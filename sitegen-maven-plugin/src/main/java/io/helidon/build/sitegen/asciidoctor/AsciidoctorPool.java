@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen.asciidoctor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Supplier;
+
+import io.helidon.build.sitegen.RenderingException;
+
+import org.asciidoctor.Asciidoctor;
+
+/**
+ * A pool of Asciidoctor runtimes.
+ *
+ * The runtimes are created on demand, up to the pool size. A runtime is used
+ * by one thread at a time, between {@link #acquire()} and
+ * {@link #release(Asciidoctor)}.
+ */
+final class AsciidoctorPool {
+
+    private final int size;
+    private final Supplier<Asciidoctor> factory;
+    private final Deque<Asciidoctor> idle = new ArrayDeque<>();
+    private final List<Asciidoctor> runtimes = new ArrayList<>();
+    private int creating;
+
+    /**
+     * Create a new pool.
+     * @param size the maximum number of runtimes
+     * @param factory the factory used to create and configure the runtimes
+     */
+    AsciidoctorPool(int size, Supplier<Asciidoctor> factory) {
+        if (size < 1) {
+            throw new IllegalArgumentException("invalid pool size: " + size);
+        }
+        this.size = size;
+        this.factory = factory;
+    }
+
+    /**
+     * Get the maximum number of runtimes.
+     * @return the pool size
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Get the runtimes created so far.
+     * @return {@code List} of runtimes, never {@code null}
+     */
+    synchronized List<Asciidoctor> runtimes() {
+        return new ArrayList<>(runtimes);
+    }
+
+    /**
+     * Acquire a runtime, create a new one if none is available and the pool
+     * is not full, otherwise wait for a runtime to be released.
+     * @return the acquired runtime, never {@code null}
+     * @throws RenderingException if interrupted while waiting
+     */
+    Asciidoctor acquire() {
+        synchronized (this) {
+            while (idle.isEmpty() && runtimes.size() + creating >= size) {
+                await();
+            }
+            if (!idle.isEmpty()) {
+                return idle.pop();
+            }
+            creating++;
+        }
+        Asciidoctor runtime = null;
+        try {
+            runtime = factory.get();
+            return runtime;
+        } finally {
+            synchronized (this) {
+                creating--;
+                if (runtime != null) {
+                    runtimes.add(runtime);
+                } else {
+                    notifyAll();
+                }
+            }
+        }
+    }
+
+    /**
+     * Acquire a given runtime, wait for it to be released if it is in use.
+     * @param runtime the runtime to acquire
+     * @return the acquired runtime
+     * @throws IllegalArgumentException if the runtime is not part of this pool
+     * @throws RenderingException if interrupted while waiting
+     */
+    synchronized Asciidoctor acquire(Asciidoctor runtime) {
+        if (!runtimes.contains(runtime)) {
+            throw new IllegalArgumentException("unknown runtime");
+        }
+        while (!idle.remove(runtime)) {
+            await();
+        }
+        return runtime;
+    }
+
+    /**
+     * Release a runtime.
+     * @param runtime the runtime to release
+     */
+    synchronized void release(Asciidoctor runtime) {
+        idle.push(runtime);
+        notifyAll();
+    }
+
+    /**
+     * Remove the idle runtimes from this pool. The runtimes in use are left
+     * untouched.
+     * @return {@code List} of the removed runtimes, never {@code null}
+     */
+    synchronized List<Asciidoctor> drain() {
+        List<Asciidoctor> drained = new ArrayList<>(idle);
+        idle.clear();
+        runtimes.removeAll(drained);
+        notifyAll();
+        return drained;
+    }
+
+    private void await() {
+        try {
+            wait();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RenderingException(
+                    "Interrupted while waiting for an Asciidoctor runtime", ex);
+        }
+    }
+}
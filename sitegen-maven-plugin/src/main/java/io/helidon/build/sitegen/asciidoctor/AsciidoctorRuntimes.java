@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen.asciidoctor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.asciidoctor.Asciidoctor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static io.helidon.build.sitegen.Helper.checkNonNull;
+import static io.helidon.build.sitegen.Helper.checkNonNullNonEmpty;
+
+/**
+ * A JVM-wide cache of warm Asciidoctor runtimes.
+ *
+ * Creating an Asciidoctor runtime boots a JRuby runtime, which takes several
+ * seconds. The runtimes released to this cache are re-used by the subsequent
+ * site generations and mojo executions in the same JVM (e.g. a Maven reactor
+ * build).
+ *
+ * The runtimes are keyed by backend name and libraries; a cached runtime has
+ * the extensions of {@link AsciidocExtensionRegistry} registered for its
+ * backend and its libraries required. A runtime is used by one caller at a
+ * time, between {@link #acquire(String, List)} and
+ * {@link #release(String, List, Asciidoctor)}. Callers must undo any
+ * other registration (e.g. log handlers) before releasing a runtime.
+ *
+ * No other state is reset between uses: the documents are loaded with their
+ * own options and attributes and are not retained by the runtime, the
+ * converter is instantiated for each document and the extensions are
+ * stateless. The registered extensions and the required libraries are the
+ * same for all the uses of a key.
+ *
+ * The number of idle runtimes is bounded per key and overall, each runtime
+ * holds a JRuby runtime of several tens of MB. The surplus runtimes are shut
+ * down when released, the idle runtimes of the least recently used keys are
+ * shut down first.
+ */
+public final class AsciidoctorRuntimes {
+
+    /**
+     * The maximum number of idle runtimes per key.
+     */
+    static final int MAX_IDLE_PER_KEY = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * The maximum number of idle runtimes.
+     */
+    static final int MAX_IDLE = 2 * MAX_IDLE_PER_KEY;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsciidoctorRuntimes.class);
+    // in access order, the least recently used key first
+    private static final Map<Key, Deque<Asciidoctor>> IDLE = new LinkedHashMap<>(16, 0.75f, true);
+    private static int idleCount;
+
+    private AsciidoctorRuntimes() {
+    }
+
+    /**
+     * Acquire a runtime for the given backend and libraries. A cached
+     * runtime is returned if available, otherwise a new runtime is created.
+     *
+     * @param backend the backend name
+     * @param libraries the libraries to require, may be {@code null}
+     * @return the acquired runtime, never {@code null}
+     */
+    public static Asciidoctor acquire(String backend, List<String> libraries) {
+        Key key = new Key(backend, libraries);
+        synchronized (IDLE) {
+            Deque<Asciidoctor> runtimes = IDLE.get(key);
+            if (runtimes != null) {
+                Asciidoctor asciidoctor = runtimes.pop();
+                if (runtimes.isEmpty()) {
+                    IDLE.remove(key);
+                }
+                idleCount--;
+                return asciidoctor;
+            }
+        }
+        LOGGER.debug("creating asciidoctor runtime for {}", key);
+        Asciidoctor asciidoctor = Asciidoctor.Factory.create();
+        new AsciidocExtensionRegistry(backend).register(asciidoctor);
+        asciidoctor.requireLibraries(key.libraries);
+        return asciidoctor;
+    }
+
+    /**
+     * Release a runtime acquired with {@link #acquire(String, List)} to make
+     * it available to the subsequent acquisitions with the same backend and
+     * libraries. The runtime is shut down if there are already
+     * {@link #MAX_IDLE_PER_KEY} idle runtimes for the same key, the idle
+     * runtimes of the least recently used keys are shut down if there are more
+     * than {@link #MAX_IDLE} idle runtimes.
+     *
+     * @param backend the backend name used to acquire the runtime
+     * @param libraries the libraries used to acquire the runtime
+     * @param asciidoctor the runtime to release
+     */
+    public static void release(String backend,
+                               List<String> libraries,
+                               Asciidoctor asciidoctor) {
+
+        checkNonNull(asciidoctor, "asciidoctor");
+        Key key = new Key(backend, libraries);
+        List<Asciidoctor> surplus = new ArrayList<>();
+        synchronized (IDLE) {
+            Deque<Asciidoctor> runtimes = IDLE.computeIfAbsent(key, k -> new ArrayDeque<>());
+            if (runtimes.size() < MAX_IDLE_PER_KEY) {
+                runtimes.push(asciidoctor);
+                idleCount++;
+            } else {
+                surplus.add(asciidoctor);
+            }
+            Iterator<Deque<Asciidoctor>> it = IDLE.values().iterator();
+            while (idleCount > MAX_IDLE && it.hasNext()) {
+                Deque<Asciidoctor> eldest = it.next();
+                while (idleCount > MAX_IDLE && !eldest.isEmpty()) {
+                    surplus.add(eldest.removeLast());
+                    idleCount--;
+                }
+                if (eldest.isEmpty()) {
+                    it.remove();
+                }
+            }
+        }
+        if (!surplus.isEmpty()) {
+            LOGGER.debug("shutting down {} idle asciidoctor runtime(s)", surplus.size());
+        }
+        for (Asciidoctor runtime : surplus) {
+            try {
+                runtime.shutdown();
+            } catch (RuntimeException ex) {
+                LOGGER.warn("Error while shutting down an asciidoctor runtime", ex);
+            }
+        }
+    }
+
+    /**
+     * Get the number of idle runtimes for the given backend and libraries.
+     * @param backend the backend name
+     * @param libraries the libraries, may be {@code null}
+     * @return the number of idle runtimes
+     */
+    static int idle(String backend, List<String> libraries) {
+        synchronized (IDLE) {
+            Deque<Asciidoctor> runtimes = IDLE.get(new Key(backend, libraries));
+            return runtimes == null ? 0 : runtimes.size();
+        }
+    }
+
+    /**
+     * The cache key.
+     */
+    private static final class Key {
+
+        private final String backend;
+        private final List<String> libraries;
+
+        Key(String backend, List<String> libraries) {
+            checkNonNullNonEmpty(backend, "backend");
+            this.backend = backend;
+            this.libraries = libraries == null
+                    ? Collections.emptyList()
+                    : Collections.unmodifiableList(new ArrayList<>(libraries));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return backend.equals(key.backend)
+                    && libraries.equals(key.libraries);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(backend, libraries);
+        }
+
+        @Override
+        public String toString() {
+            return "backend=" + backend + ", libraries=" + libraries;
+        }
+    }
+}
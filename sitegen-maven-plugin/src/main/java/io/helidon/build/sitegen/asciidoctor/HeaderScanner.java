@@ -0,0 +1,469 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen.asciidoctor;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static io.helidon.build.sitegen.Helper.getFileExt;
+
+/**
+ * Reads the header of an asciidoc document without invoking Asciidoctor.
+ *
+ * The scanner supports the common header constructs: comments, attribute
+ * entries and a level-0 title with simple attribute references. The header
+ * is reported as unresolved if it uses other constructs (e.g. conditionals,
+ * includes, block attributes) or if the values of the metadata attributes
+ * cannot be resolved, in which case the document must be read with
+ * Asciidoctor.
+ */
+final class HeaderScanner {
+
+    private static final String DOCTITLE = "doctitle";
+    private static final List<String> METADATA_ATTRIBUTES = Arrays.asList(
+            DOCTITLE, "description", "keywords");
+    private static final List<String> DIRECTIVES = Arrays.asList(
+            "ifdef::", "ifndef::", "ifeval::", "endif::", "include::");
+    private static final Pattern ATTRIBUTE_ENTRY_PATTERN =
+            Pattern.compile("^:(!?)(\\w[\\w-]*)(!?):(?:[ \\t]+(.*))?$");
+    private static final Pattern ATTRIBUTE_REF_PATTERN =
+            Pattern.compile("(\\\\?)\\{([\\w-]+)(:?)[^}]*}");
+    private static final Pattern TITLE_PATTERN =
+            Pattern.compile("^=[ \\t]+(\\S.*)$");
+    private static final Pattern SETEXT_UNDERLINE_PATTERN =
+            Pattern.compile("^=+$");
+    private static final Pattern COMMENT_BLOCK_PATTERN =
+            Pattern.compile("^/{4,}$");
+    private static final Map<String, String> INTRINSIC_ATTRIBUTES = new HashMap<>();
+
+    static {
+        INTRINSIC_ATTRIBUTES.put("empty", "");
+        INTRINSIC_ATTRIBUTES.put("blank", "");
+        INTRINSIC_ATTRIBUTES.put("sp", " ");
+        INTRINSIC_ATTRIBUTES.put("nbsp", "&#160;");
+        INTRINSIC_ATTRIBUTES.put("zwsp", "&#8203;");
+        INTRINSIC_ATTRIBUTES.put("wj", "&#8288;");
+        INTRINSIC_ATTRIBUTES.put("apos", "&#39;");
+        INTRINSIC_ATTRIBUTES.put("quot", "&#34;");
+        INTRINSIC_ATTRIBUTES.put("lsquo", "&#8216;");
+        INTRINSIC_ATTRIBUTES.put("rsquo", "&#8217;");
+        INTRINSIC_ATTRIBUTES.put("ldquo", "&#8220;");
+        INTRINSIC_ATTRIBUTES.put("rdquo", "&#8221;");
+        INTRINSIC_ATTRIBUTES.put("deg", "&#176;");
+        INTRINSIC_ATTRIBUTES.put("plus", "&#43;");
+        INTRINSIC_ATTRIBUTES.put("brvbar", "&#166;");
+        INTRINSIC_ATTRIBUTES.put("vbar", "|");
+        INTRINSIC_ATTRIBUTES.put("amp", "&");
+        INTRINSIC_ATTRIBUTES.put("lt", "<");
+        INTRINSIC_ATTRIBUTES.put("gt", ">");
+        INTRINSIC_ATTRIBUTES.put("startsb", "[");
+        INTRINSIC_ATTRIBUTES.put("endsb", "]");
+        INTRINSIC_ATTRIBUTES.put("caret", "^");
+        INTRINSIC_ATTRIBUTES.put("asterisk", "*");
+        INTRINSIC_ATTRIBUTES.put("tilde", "~");
+        INTRINSIC_ATTRIBUTES.put("backslash", "\\");
+        INTRINSIC_ATTRIBUTES.put("backtick", "`");
+        INTRINSIC_ATTRIBUTES.put("two-colons", "::");
+        INTRINSIC_ATTRIBUTES.put("two-semicolons", ";;");
+        INTRINSIC_ATTRIBUTES.put("cpp", "C++");
+    }
+
+    private HeaderScanner() {
+    }
+
+    /**
+     * The result of a header scan.
+     */
+    static final class ScannedHeader {
+
+        private final String h1;
+        private final Map<String, Object> attributes;
+
+        private ScannedHeader(String h1, Map<String, Object> attributes) {
+            this.h1 = h1;
+            this.attributes = attributes;
+        }
+
+        /**
+         * Get the first level-0 title of the document.
+         * @return the title, or {@code null} if not found
+         */
+        String h1() {
+            return h1;
+        }
+
+        /**
+         * Indicate if the header attributes are resolved.
+         * @return {@code true} if resolved, {@code false} if the document must
+         * be read with Asciidoctor
+         */
+        boolean isResolved() {
+            return attributes != null;
+        }
+
+        /**
+         * Get the header attributes.
+         * @return the header attributes, or {@code null} if not resolved
+         */
+        Map<String, Object> attributes() {
+            return attributes;
+        }
+    }
+
+    /**
+     * Read the header of the given document.
+     *
+     * @param source the document to read
+     * @param attributes the attributes available to the document
+     * @return the scanned header, never {@code null}
+     */
+    static ScannedHeader scan(File source, Map<String, Object> attributes) {
+        try (BufferedReader reader = Files.newBufferedReader(
+                source.toPath(), StandardCharsets.UTF_8)) {
+            return scan(reader, source, attributes);
+        } catch (IOException ex) {
+            return new ScannedHeader(null, null);
+        }
+    }
+
+    /**
+     * Read the header of a document.
+     *
+     * @param reader the reader of the document content
+     * @param source the document file
+     * @param attributes the attributes available to the document
+     * @return the scanned header, never {@code null}
+     * @throws IOException if an error occurs while reading the document
+     */
+    static ScannedHeader scan(BufferedReader reader,
+                              File source,
+                              Map<String, Object> attributes)
+            throws IOException {
+
+        Scanner scanner = new Scanner(source, attributes);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (!scanner.accept(stripTrailing(line))) {
+                break;
+            }
+        }
+        return scanner.result();
+    }
+
+    /**
+     * The scanning states.
+     */
+    private enum State {
+        BEFORE_TITLE,
+        AUTHOR,
+        ENTRIES,
+        DONE
+    }
+
+    /**
+     * The scanning logic.
+     */
+    private static final class Scanner {
+
+        private final Map<String, Object> lockedAttributes;
+        private final Map<String, String> builtinAttributes = new HashMap<>();
+        private final Map<String, String> docAttributes = new HashMap<>();
+        private final Set<String> unresolvedAttributes = new HashSet<>();
+        private State state = State.BEFORE_TITLE;
+        private boolean resolved = true;
+        private boolean checkSetext;
+        private String commentDelimiter;
+        private String h1;
+        private boolean h1Done;
+        private String title;
+        private boolean doctitleModified;
+        private int authorLines;
+
+        Scanner(File source, Map<String, Object> attributes) {
+            lockedAttributes = attributes == null
+                    ? Collections.emptyMap()
+                    : attributes;
+            File file = source.getAbsoluteFile();
+            String ext = getFileExt(file.getName());
+            builtinAttributes.put("docfile", file.getPath());
+            builtinAttributes.put("docdir", file.getParent());
+            builtinAttributes.put("docname", ext == null
+                    ? file.getName()
+                    : file.getName().substring(0, file.getName().length() - ext.length() - 1));
+            builtinAttributes.put("docfilesuffix", ext == null ? "" : "." + ext);
+        }
+
+        /**
+         * Process a line.
+         * @param line the line to process
+         * @return {@code true} if more lines are needed, {@code false} otherwise
+         */
+        boolean accept(String line) {
+            if (!h1Done) {
+                // level0
+                if (line.startsWith("= ")) {
+                    h1 = line.substring(2).trim();
+                    h1Done = true;
+                } else if (line.startsWith("== ")) {
+                    // level1, abort...
+                    h1Done = true;
+                }
+            }
+            if (state != State.DONE) {
+                acceptHeaderLine(line);
+            }
+            return !h1Done || state != State.DONE;
+        }
+
+        private void acceptHeaderLine(String line) {
+            if (checkSetext) {
+                // setext title
+                checkSetext = false;
+                if (SETEXT_UNDERLINE_PATTERN.matcher(line).matches()) {
+                    unresolved();
+                }
+                state = State.DONE;
+                return;
+            }
+            if (commentDelimiter != null) {
+                if (line.equals(commentDelimiter)) {
+                    commentDelimiter = null;
+                }
+                return;
+            }
+            if (COMMENT_BLOCK_PATTERN.matcher(line).matches()) {
+                commentDelimiter = line;
+                return;
+            }
+            if (line.startsWith("//")) {
+                return;
+            }
+            if (line.trim().isEmpty()) {
+                if (state != State.BEFORE_TITLE) {
+                    state = State.DONE;
+                }
+                return;
+            }
+            for (String directive : DIRECTIVES) {
+                if (line.startsWith(directive)) {
+                    unresolved();
+                    return;
+                }
+            }
+            Matcher entryMatcher = ATTRIBUTE_ENTRY_PATTERN.matcher(line);
+            if (entryMatcher.matches()) {
+                attributeEntry(entryMatcher.group(2).toLowerCase(Locale.ENGLISH),
+                        !entryMatcher.group(1).isEmpty() || !entryMatcher.group(3).isEmpty(),
+                        entryMatcher.group(4));
+                if (state == State.AUTHOR) {
+                    state = State.ENTRIES;
+                }
+                return;
+            }
+            switch (state) {
+                case BEFORE_TITLE:
+                    Matcher titleMatcher = TITLE_PATTERN.matcher(line);
+                    if (titleMatcher.matches()) {
+                        title(titleMatcher.group(1).trim());
+                        state = State.AUTHOR;
+                    } else if (line.startsWith("[")
+                            || line.startsWith("#")
+                            || (line.startsWith(".") && !line.startsWith(".."))) {
+                        // block attributes, anchors, block titles or
+                        // markdown headings
+                        unresolved();
+                    } else {
+                        // no header
+                        checkSetext = true;
+                    }
+                    break;
+                case AUTHOR:
+                    // author and revision lines
+                    if (++authorLines > 2) {
+                        state = State.DONE;
+                    }
+                    break;
+                default:
+                    state = State.DONE;
+            }
+        }
+
+        private void attributeEntry(String name, boolean unset, String value) {
+            if (lockedAttributes.containsKey(name)) {
+                // attributes passed to the engine cannot be overridden
+                return;
+            }
+            if (state != State.BEFORE_TITLE && DOCTITLE.equals(name)) {
+                doctitleModified = true;
+            }
+            unresolvedAttributes.remove(name);
+            if (unset) {
+                docAttributes.remove(name);
+                return;
+            }
+            String str = value == null ? "" : value;
+            if (str.endsWith("\\") || str.startsWith("pass:")) {
+                // line continuation or passthrough
+                docAttributes.remove(name);
+                unresolvedAttributes.add(name);
+                return;
+            }
+            String resolvedValue = resolve(escapeSpecialChars(str));
+            if (resolvedValue == null) {
+                docAttributes.remove(name);
+                unresolvedAttributes.add(name);
+            } else {
+                docAttributes.put(name, resolvedValue);
+            }
+        }
+
+        private void title(String rawTitle) {
+            if (lockedAttributes.containsKey(DOCTITLE)
+                    || unresolvedAttributes.contains(DOCTITLE)) {
+                unresolved();
+                return;
+            }
+            // same substitutions as the attribute values, Asciidoctor skips
+            // the missing references
+            title = resolve(escapeSpecialChars(rawTitle));
+            if (title == null) {
+                unresolved();
+                return;
+            }
+            String assigned = docAttributes.get(DOCTITLE);
+            if (assigned == null || assigned.isEmpty()) {
+                docAttributes.put(DOCTITLE, title);
+            }
+        }
+
+        private String resolve(String value) {
+            Matcher matcher = ATTRIBUTE_REF_PATTERN.matcher(value);
+            StringBuffer sb = new StringBuffer();
+            while (matcher.find()) {
+                if (!matcher.group(1).isEmpty() || !matcher.group(3).isEmpty()) {
+                    // escaped reference or attribute directive
+                    return null;
+                }
+                String name = matcher.group(2).toLowerCase(Locale.ENGLISH);
+                String attrValue = attributeValue(name);
+                if (attrValue == null) {
+                    return null;
+                }
+                matcher.appendReplacement(sb, Matcher.quoteReplacement(attrValue));
+            }
+            matcher.appendTail(sb);
+            return sb.toString();
+        }
+
+        private String attributeValue(String name) {
+            if (unresolvedAttributes.contains(name)) {
+                return null;
+            }
+            Object locked = lockedAttributes.get(name);
+            if (locked != null) {
+                return String.valueOf(locked);
+            }
+            String value = docAttributes.get(name);
+            if (value != null) {
+                return value;
+            }
+            value = builtinAttributes.get(name);
+            if (value != null) {
+                return value;
+            }
+            return INTRINSIC_ATTRIBUTES.get(name);
+        }
+
+        private void unresolved() {
+            resolved = false;
+            state = State.DONE;
+        }
+
+        ScannedHeader result() {
+            if (!resolved) {
+                return new ScannedHeader(h1, null);
+            }
+            if (title != null && doctitleModified) {
+                String doctitle = docAttributes.get(DOCTITLE);
+                if (doctitle == null || doctitle.isEmpty()) {
+                    docAttributes.put(DOCTITLE, title);
+                }
+            }
+            for (String name : METADATA_ATTRIBUTES) {
+                if (unresolvedAttributes.contains(name)) {
+                    return new ScannedHeader(h1, null);
+                }
+            }
+            Map<String, Object> attributes = new HashMap<>(lockedAttributes);
+            attributes.putAll(builtinAttributes);
+            attributes.putAll(docAttributes);
+            return new ScannedHeader(h1, attributes);
+        }
+    }
+
+    private static String stripTrailing(String line) {
+        int end = line.length();
+        while (end > 0 && Character.isWhitespace(line.charAt(end - 1))) {
+            end--;
+        }
+        return end == line.length() ? line : line.substring(0, end);
+    }
+
+    private static String escapeSpecialChars(String value) {
+        StringBuilder sb = null;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            String replacement;
+            switch (c) {
+                case '&':
+                    replacement = "&amp;";
+                    break;
+                case '<':
+                    replacement = "&lt;";
+                    break;
+                case '>':
+                    replacement = "&gt;";
+                    break;
+                default:
+                    replacement = null;
+            }
+            if (replacement != null) {
+                if (sb == null) {
+                    sb = new StringBuilder(value.length() + 8);
+                    sb.append(value, 0, i);
+                }
+                sb.append(replacement);
+            } else if (sb != null) {
+                sb.append(c);
+            }
+        }
+        return sb == null ? value : sb.toString();
+    }
+}
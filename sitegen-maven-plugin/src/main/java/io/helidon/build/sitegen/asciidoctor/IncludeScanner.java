@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen.asciidoctor;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static io.helidon.build.sitegen.Helper.getFileExt;
+
+/**
+ * Finds the files transitively included by an asciidoc document without
+ * invoking Asciidoctor.
+ *
+ * The include targets are resolved using the attribute entries declared in
+ * the documents before the include directive and the given attributes.
+ */
+final class IncludeScanner {
+
+    private static final String INCLUDE_DIRECTIVE = "include::";
+    private static final Pattern ATTRIBUTE_ENTRY_PATTERN =
+            Pattern.compile("^:(!?)(\\w[\\w-]*)(!?):(?:[ \\t]+(.*))?$");
+    private static final Pattern ATTRIBUTE_REF_PATTERN =
+            Pattern.compile("\\{(\\w[\\w-]*)\\}");
+    private static final Set<String> ASCIIDOC_EXTS = new LinkedHashSet<>();
+
+    static {
+        ASCIIDOC_EXTS.add("adoc");
+        ASCIIDOC_EXTS.add("asciidoc");
+        ASCIIDOC_EXTS.add("asc");
+        ASCIIDOC_EXTS.add("ad");
+    }
+
+    private IncludeScanner() {
+    }
+
+    /**
+     * Find the files transitively included by the given document.
+     *
+     * @param source the document to scan
+     * @param attributes the attributes available to the document
+     * @return the included files, or {@code null} if an include target cannot
+     * be resolved
+     */
+    static List<File> scan(File source, Map<String, Object> attributes) {
+        Map<String, String> attrs = new HashMap<>();
+        for (Map.Entry<String, Object> attr : attributes.entrySet()) {
+            if (attr.getValue() != null) {
+                attrs.put(attr.getKey(), String.valueOf(attr.getValue()));
+            }
+        }
+        attrs.put("docdir", source.getAbsoluteFile().getParent());
+        Set<File> includes = new LinkedHashSet<>();
+        if (!scan(source, attrs, includes)) {
+            return null;
+        }
+        return new ArrayList<>(includes);
+    }
+
+    private static boolean scan(File file,
+                                Map<String, String> attrs,
+                                Set<File> includes) {
+
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+        } catch (IOException ex) {
+            // missing or unreadable files are accounted for by the caller
+            return true;
+        }
+        for (String line : lines) {
+            Matcher attrMatcher = ATTRIBUTE_ENTRY_PATTERN.matcher(line);
+            if (attrMatcher.matches()) {
+                String name = attrMatcher.group(2);
+                if (!attrMatcher.group(1).isEmpty()
+                        || !attrMatcher.group(3).isEmpty()) {
+                    attrs.remove(name);
+                } else {
+                    String value = attrMatcher.group(4);
+                    String resolved = resolve(value == null ? "" : value, attrs);
+                    attrs.put(name, resolved == null ? value : resolved);
+                }
+                continue;
+            }
+            if (!line.startsWith(INCLUDE_DIRECTIVE)) {
+                continue;
+            }
+            int endIdx = line.indexOf('[', INCLUDE_DIRECTIVE.length());
+            if (endIdx < 0) {
+                // not a valid include directive
+                continue;
+            }
+            String target = resolve(
+                    line.substring(INCLUDE_DIRECTIVE.length(), endIdx), attrs);
+            if (target == null || target.contains("://")) {
+                return false;
+            }
+            File include = new File(target);
+            if (!include.isAbsolute()) {
+                include = new File(file.getAbsoluteFile().getParentFile(), target);
+            }
+            include = include.toPath().normalize().toFile();
+            if (includes.add(include)
+                    && include.isFile()
+                    && ASCIIDOC_EXTS.contains(getFileExt(include.getName()))) {
+                if (!scan(include, attrs, includes)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static String resolve(String value, Map<String, String> attrs) {
+        Matcher matcher = ATTRIBUTE_REF_PATTERN.matcher(value);
+        StringBuffer sb = new StringBuffer();
+        while (matcher.find()) {
+            String attrValue = attrs.get(matcher.group(1));
+            if (attrValue == null) {
+                return null;
+            }
+            matcher.appendReplacement(sb, Matcher.quoteReplacement(attrValue));
+        }
+        matcher.appendTail(sb);
+        return sb.toString();
+    }
+}
@@ -51,12 +51,22 @@ public class ContentNodeAttributesModel implements TemplateHashModel {
 
     @Override
     public TemplateModel get(String key) throws TemplateModelException {
-        if (rubyMap.containsKey(key)) {
+        if (objectWrapper.isTimed()) {
+            RenderClock.enterJRuby();
+            try {
+                if (rubyMap.containsKey(key)) {
+                    return objectWrapper.wrap(rubyMap.get(key));
+                }
+            } finally {
+                RenderClock.exit();
+            }
+        } else if (rubyMap.containsKey(key)) {
             return objectWrapper.wrap(rubyMap.get(key));
         }
         // return method model if method name found for key
         if (SimpleMethodModel.hasMethodWithName(rubyMap, key)) {
-            return new SimpleMethodModel(objectWrapper, rubyMap, key);
+            return new SimpleMethodModel(objectWrapper, rubyMap, key,
+                    objectWrapper.isTimed());
         }
         return null;
     }
@@ -16,8 +16,6 @@
 
 package io.helidon.build.sitegen.freemarker;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.Objects;
 
 import freemarker.template.TemplateHashModel;
@@ -67,41 +65,41 @@ public class ContentNodeHashModel implements TemplateHashModel {
             return this;
         }
 
-        // derive getter name from key
-        String getterName = "get";
-        getterName += Character.toUpperCase(key.charAt(0));
-        getterName += key.substring(1);
-
         // find getter method
-        Method getterMethod = null;
-        for (Method m : contentNode.getClass().getMethods()) {
-            if (getterName.equals(m.getName())) {
-                if (m.getParameterCount() == 0) {
-                    getterMethod = m;
-                    break;
-                }
-            }
-        }
+        MethodAccessors.Getter getter = MethodAccessors
+                .of(contentNode.getClass())
+                .getter(key);
 
         // invoke getter if found
-        if (getterMethod != null) {
+        if (getter != null) {
             try {
-                return objectWrapper.wrap(getterMethod.invoke(contentNode));
-            } catch (InvocationTargetException
-                    | SecurityException
-                    | IllegalAccessException
-                    | IllegalArgumentException ex) {
+                Object value;
+                if (objectWrapper.isTimed()) {
+                    RenderClock.enterJRuby();
+                    try {
+                        value = getter.invoke(contentNode);
+                    } finally {
+                        RenderClock.exit();
+                    }
+                } else {
+                    value = getter.invoke(contentNode);
+                }
+                return objectWrapper.wrap(value);
+            } catch (TemplateModelException | Error ex) {
+                throw ex;
+            } catch (Throwable ex) {
                 throw new TemplateModelException(String.format(
                         "Error during getter invocation: node=%s, methodname=%s",
                         contentNode,
-                        getterMethod.getName()),
+                        getter.name()),
                         ex);
             }
         }
 
         // return method model if method name found for key
         if (SimpleMethodModel.hasMethodWithName(contentNode, key)) {
-            return new SimpleMethodModel(objectWrapper, contentNode, key);
+            return new SimpleMethodModel(objectWrapper, contentNode, key,
+                    objectWrapper.isTimed());
         }
         return null;
     }
@@ -16,21 +16,27 @@
 
 package io.helidon.build.sitegen.freemarker;
 
-import java.io.ByteArrayOutputStream;
+import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 
 import io.helidon.build.sitegen.AbstractBuilder;
 import io.helidon.build.sitegen.RenderingContext;
 import io.helidon.build.sitegen.RenderingException;
-import io.helidon.build.sitegen.Site;
 import io.helidon.config.Config;
 
+import freemarker.cache.StrongCacheStorage;
 import freemarker.core.Environment;
 import freemarker.template.Configuration;
 import freemarker.template.Template;
@@ -60,32 +66,77 @@ public class FreemarkerEngine {
     private static final Logger LOGGER = LoggerFactory.getLogger(FreemarkerEngine.class);
     private static final Version FREEMARKER_VERSION = Configuration.VERSION_2_3_23;
     private static final ObjectWrapper OBJECT_WRAPPER = new ObjectWrapper(FREEMARKER_VERSION);
+    private static final ObjectWrapper TIMED_OBJECT_WRAPPER = new ObjectWrapper(FREEMARKER_VERSION, true);
+    private static final Helper HELPER = new Helper(OBJECT_WRAPPER);
+    private static final PassthroughFixDirective PASSTHROUGH_FIX = new PassthroughFixDirective();
+    private static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
 
     private final String backend;
     private final Map<String, String> directives;
     private final Map<String, String> model;
     private final Configuration freemarker;
+    private final Set<String> templates;
+    private final ThreadLocal<RenderBuffers> buffers =
+            ThreadLocal.withInitial(RenderBuffers::new);
 
     /**
      * Create a new instance of {@link FreemarkerEngine}.
-     * @param backend the backend name
+     * @param backend the backend name, if {@code null} the engine must be
+     * bound to a backend before rendering, see {@link #bind(String)}
      * @param directives custom directives to register
      * @param model some model attributes to set for each rendering invocation
      */
     public FreemarkerEngine(String backend,
                             Map<String, String> directives,
                             Map<String, String> model) {
-        checkNonNullNonEmpty(backend, BACKEND_PROP);
         this.backend = backend;
         this.directives = directives == null ? Collections.emptyMap() : directives;
         this.model = model == null ? Collections.emptyMap() : model;
+        TemplateLoader templateLoader = new TemplateLoader();
         freemarker = new Configuration(FREEMARKER_VERSION);
-        freemarker.setTemplateLoader(new TemplateLoader());
+        freemarker.setTemplateLoader(templateLoader);
+        // the templates are bundled, never reload or evict them
+        freemarker.setCacheStorage(new StrongCacheStorage());
+        freemarker.setTemplateUpdateDelayMilliseconds(Long.MAX_VALUE);
+        freemarker.setLocalizedLookup(false);
         freemarker.setDefaultEncoding(DEFAULT_ENCODING);
         freemarker.setObjectWrapper(OBJECT_WRAPPER);
         freemarker.setTemplateExceptionHandler(
                 TemplateExceptionHandler.RETHROW_HANDLER);
         freemarker.setLogTemplateExceptions(false);
+        templates = backend == null
+                ? Collections.emptySet()
+                : preload(templateLoader, backend);
+    }
+
+    private Set<String> preload(TemplateLoader templateLoader, String backend) {
+        try {
+            Set<String> names = templateLoader.templateNames(backend);
+            for (String name : names) {
+                freemarker.getTemplate(backend + "/" + name);
+            }
+            LOGGER.debug("Preloaded {} templates for backend {}",
+                    names.size(), backend);
+            return names;
+        } catch (IOException ex) {
+            throw new RenderingException(
+                    "An error occurred while loading the templates of " + backend, ex);
+        }
+    }
+
+    /**
+     * Get a {@link FreemarkerEngine} with the same configuration bound to the
+     * given backend.
+     * @param backend the backend name
+     * @return this instance if already bound to the given backend, a new
+     * instance otherwise
+     */
+    public FreemarkerEngine bind(String backend) {
+        checkNonNullNonEmpty(backend, BACKEND_PROP);
+        if (backend.equals(this.backend)) {
+            return this;
+        }
+        return new FreemarkerEngine(backend, directives, model);
     }
 
     /**
@@ -120,11 +171,10 @@ public class FreemarkerEngine {
                            RenderingContext ctx)
             throws RenderingException {
 
-        String rendered = renderString(template, model, ctx.getTemplateSession());
         File target = new File(ctx.getOutputdir(), targetPath);
         target.getParentFile().mkdirs();
-        try (FileWriter writer = new FileWriter(target)) {
-            writer.write(rendered);
+        try (Writer writer = newFileWriter(target)) {
+            render(template, model, ctx.getTemplateSession(), writer);
         } catch (IOException ex) {
             throw new RenderingException(
                     "error while writing rendered output to file", ex);
@@ -143,15 +193,23 @@ public class FreemarkerEngine {
     public String renderString(String template, ContentNode node)
             throws RenderingException {
 
-        Object session = node.getDocument().getAttribute("templateSession");
-        checkNonNull(session, "document attribute 'templateSession'");
-        if (!(session instanceof TemplateSession)) {
-            throw new IllegalStateException(
-                    "document attribute 'templateSession' is not valid");
-        }
         // TODO extract page, pages, templateSession
         // and set them as variables
-        return renderString(template, node, (TemplateSession) session);
+        return renderString(template, node, templateSession(node));
+    }
+
+    /**
+     * Render a template to a writer.
+     *
+     * @param template the relative path of the template to render
+     * @param node the asciidoctor node to use as model for the template
+     * @param writer the writer to write the rendered output to
+     * @throws RenderingException if an error occurred
+     */
+    public void render(String template, ContentNode node, Writer writer)
+            throws RenderingException {
+
+        render(template, node, templateSession(node), writer);
     }
 
     /**
@@ -179,32 +237,128 @@ public class FreemarkerEngine {
     public String renderString(String template, Object model, TemplateSession session)
             throws RenderingException {
 
+        // the rendering of a node renders its children on the same thread
+        RenderBuffers threadBuffers = buffers.get();
+        StringWriter writer = threadBuffers.acquire();
+        try {
+            render(template, model, session, writer);
+            return writer.toString();
+        } finally {
+            threadBuffers.release(writer);
+        }
+    }
+
+    /**
+     * Render a template to a writer. The writer is not flushed or closed.
+     *
+     * @param template the relative path of the template to render
+     * @param model the model for the template to use
+     * @param session the session to share the global variable across
+     * invocations, may be {@code null}
+     * @param writer the writer to write the rendered output to
+     * @throws RenderingException if an error occurred
+     */
+    public void render(String template,
+                       Object model,
+                       TemplateSession session,
+                       Writer writer)
+            throws RenderingException {
+
+        if (backend == null) {
+            throw new IllegalStateException("engine is not bound to a backend");
+        }
+        checkNonNull(writer, "writer");
         String templatePath = backend + "/" + template;
+        if (!templates.contains(template)) {
+            LOGGER.warn("Unable to find template: {}", templatePath);
+            return;
+        }
+        TemplateProfiler profiler = session != null ? session.getProfiler() : null;
+        TemplateProfiler.CountingWriter counter = null;
+        long start = 0;
+        if (profiler != null) {
+            counter = new TemplateProfiler.CountingWriter(writer);
+            start = profiler.enter();
+            RenderClock.enterTemplate();
+        }
         try {
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
             Template tpl = freemarker.getTemplate(templatePath);
-            OutputStreamWriter writer = new OutputStreamWriter(baos);
             LOGGER.debug("Applying template: {}", templatePath);
-            Environment env = tpl.createProcessingEnvironment(model,
-                    writer);
+            // the timed wrapper accounts the node accesses to JRuby
+            Environment env = tpl.createProcessingEnvironment(
+                    profiler != null ? TIMED_OBJECT_WRAPPER.wrap(model) : model,
+                    counter != null ? counter : writer);
             if (session != null) {
                 for (Entry<String, TemplateDirectiveModel> directive
                         : session.getDirectives().entrySet()) {
                     env.setVariable(directive.getKey(), directive.getValue());
                 }
             }
-            env.setVariable("helper", new Helper(OBJECT_WRAPPER));
-            env.setVariable("passthroughfix", new PassthroughFixDirective());
+            env.setVariable("helper", HELPER);
+            env.setVariable("passthroughfix", PASSTHROUGH_FIX);
             env.setTemplateExceptionHandler(TemplateExceptionHandler.RETHROW_HANDLER);
             env.setLogTemplateExceptions(false);
             env.process();
-            return baos.toString(DEFAULT_ENCODING);
         } catch (TemplateNotFoundException ex) {
             LOGGER.warn("Unable to find template: {}", templatePath);
-            return "";
         } catch (TemplateException | IOException ex) {
             throw new RenderingException(
                     "An error occurred during rendering of " + templatePath, ex);
+        } finally {
+            if (profiler != null) {
+                RenderClock.exit();
+                profiler.exit(template, start, counter.bytes());
+            }
+        }
+    }
+
+    /**
+     * Create a buffered writer that writes UTF-8 encoded characters to a
+     * file.
+     *
+     * @param file the file to write
+     * @return the created writer
+     * @throws IOException if an error occurs while opening the file
+     */
+    public static Writer newFileWriter(File file) throws IOException {
+        return new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(file), StandardCharsets.UTF_8));
+    }
+
+    private static TemplateSession templateSession(ContentNode node) {
+        Object session = node.getDocument().getAttribute("templateSession");
+        checkNonNull(session, "document attribute 'templateSession'");
+        if (!(session instanceof TemplateSession)) {
+            throw new IllegalStateException(
+                    "document attribute 'templateSession' is not valid");
+        }
+        return (TemplateSession) session;
+    }
+
+    /**
+     * Per-thread stack of reusable buffers, one for each nested rendering.
+     */
+    private static final class RenderBuffers {
+
+        private final List<StringWriter> writers = new ArrayList<>();
+        private int depth;
+
+        StringWriter acquire() {
+            if (depth == writers.size()) {
+                writers.add(new StringWriter());
+            }
+            return writers.get(depth++);
+        }
+
+        void release(StringWriter writer) {
+            depth--;
+            StringBuffer buffer = writer.getBuffer();
+            if (buffer.capacity() > MAX_RETAINED_BUFFER_SIZE) {
+                // do not retain the buffers of large pages
+                writers.set(depth, new StringWriter());
+            } else {
+                buffer.setLength(0);
+            }
         }
     }
 
@@ -267,8 +421,7 @@ public class FreemarkerEngine {
                                 "Unkown attribute: " + attr);
                 }
             }
-            String backendName = Site.THREADLOCAL.get();
-            return new FreemarkerEngine(backendName, directives, model);
+            return new FreemarkerEngine(null, directives, model);
         }
     }
 
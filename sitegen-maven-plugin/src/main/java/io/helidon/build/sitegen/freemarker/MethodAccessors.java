@@ -0,0 +1,284 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen.freemarker;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cached method handles for the public methods of a class, used by the
+ * template models to invoke methods without reflective lookups.
+ *
+ * The instances are computed once per class, the getters and the overload
+ * resolutions are computed once per key.
+ */
+final class MethodAccessors {
+
+    private static final ClassValue<MethodAccessors> CACHE = new ClassValue<MethodAccessors>() {
+        @Override
+        protected MethodAccessors computeValue(Class<?> type) {
+            return new MethodAccessors(type);
+        }
+    };
+
+    private static final MethodType GETTER_TYPE =
+            MethodType.methodType(Object.class, Object.class);
+
+    private final Map<String, List<Method>> methods;
+    private final Map<String, Optional<Getter>> getters = new ConcurrentHashMap<>();
+    private final Map<Signature, Optional<Invoker>> invokers = new ConcurrentHashMap<>();
+
+    private MethodAccessors(Class<?> type) {
+        Map<String, List<Method>> map = new HashMap<>();
+        for (Method m : type.getMethods()) {
+            map.computeIfAbsent(m.getName(), k -> new ArrayList<>()).add(m);
+        }
+        this.methods = map;
+    }
+
+    /**
+     * Get the accessors for a class.
+     * @param type the class
+     * @return the accessors, never {@code null}
+     */
+    static MethodAccessors of(Class<?> type) {
+        return CACHE.get(type);
+    }
+
+    /**
+     * Test if the class has any public method with the given name.
+     * @param methodName the method name
+     * @return {@code true} if a method exists, {@code false} otherwise
+     */
+    boolean hasMethod(String methodName) {
+        return methods.containsKey(methodName);
+    }
+
+    /**
+     * Get the getter for a property key, the getter name is derived from the
+     * key with the {@code get} prefix (e.g. {@code getTitle} for
+     * {@code title}).
+     * @param key the property key
+     * @return the getter or {@code null} if not found
+     */
+    Getter getter(String key) {
+        return getters.computeIfAbsent(key, this::findGetter).orElse(null);
+    }
+
+    private Optional<Getter> findGetter(String key) {
+        String getterName = "get"
+                + Character.toUpperCase(key.charAt(0))
+                + key.substring(1);
+        for (Method m : methods.getOrDefault(getterName, Collections.emptyList())) {
+            if (m.getParameterCount() == 0) {
+                return Optional.of(new Getter(m.getName(),
+                        genericHandle(m).asType(GETTER_TYPE)));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Find the method to invoke for a given name and given argument types.
+     * The first method with a matching number of parameters and assignable
+     * parameter types is selected, a {@code null} argument type matches any
+     * parameter type. A method with one more trailing array parameter also
+     * matches, an empty array is passed for it.
+     * @param methodName the method name
+     * @param argTypes the argument types, {@code null} for a {@code null}
+     * argument
+     * @return the invoker or {@code null} if no method matches
+     */
+    Invoker invoker(String methodName, Class<?>[] argTypes) {
+        return invokers.computeIfAbsent(new Signature(methodName, argTypes),
+                this::findInvoker).orElse(null);
+    }
+
+    private Optional<Invoker> findInvoker(Signature signature) {
+        Class<?>[] argTypes = signature.argTypes;
+        int numArgs = argTypes.length;
+        for (Method m : methods.getOrDefault(signature.name, Collections.emptyList())) {
+            int paramsOffset = m.getParameterCount() - numArgs;
+            Class<?>[] mParameterTypes = m.getParameterTypes();
+            if (!(paramsOffset == 0
+                    || (paramsOffset == 1
+                    && mParameterTypes[numArgs].isArray()))) {
+                // method params do not match
+                // or has more more but the last param is not an array
+                continue;
+            }
+            boolean paramsMatch = true;
+            for (int i = 0; i < numArgs; i++) {
+                // treat null as a match
+                if (argTypes[i] != null
+                        && !mParameterTypes[i].isAssignableFrom(argTypes[i])) {
+                    paramsMatch = false;
+                    break;
+                }
+            }
+            if (paramsMatch) {
+                MethodHandle handle = genericHandle(m)
+                        .asSpreader(Object[].class, m.getParameterCount());
+                Object emptyArray = paramsOffset == 1
+                        ? Array.newInstance(mParameterTypes[numArgs].getComponentType(), 0)
+                        : null;
+                return Optional.of(new Invoker(m.getName(), handle, numArgs, emptyArray));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Create a method handle of type {@code (Object, Object...)Object} where
+     * the first parameter is the receiver, ignored for static methods.
+     */
+    private static MethodHandle genericHandle(Method m) {
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.publicLookup().unreflect(m).asFixedArity();
+        } catch (IllegalAccessException ex) {
+            throw new IllegalStateException(
+                    "Unable to access method: " + m, ex);
+        }
+        handle = handle.asType(handle.type().generic());
+        if (Modifier.isStatic(m.getModifiers())) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        return handle;
+    }
+
+    /**
+     * A cached getter.
+     */
+    static final class Getter {
+
+        private final String name;
+        private final MethodHandle handle;
+
+        private Getter(String name, MethodHandle handle) {
+            this.name = name;
+            this.handle = handle;
+        }
+
+        /**
+         * Get the method name.
+         * @return method name
+         */
+        String name() {
+            return name;
+        }
+
+        /**
+         * Invoke the getter.
+         * @param target the object to invoke the getter on
+         * @return the returned value
+         * @throws Throwable if thrown by the getter
+         */
+        Object invoke(Object target) throws Throwable {
+            return (Object) handle.invokeExact(target);
+        }
+    }
+
+    /**
+     * A cached method resolution.
+     */
+    static final class Invoker {
+
+        private final String name;
+        private final MethodHandle handle;
+        private final int numArgs;
+        private final Object emptyArray;
+
+        private Invoker(String name, MethodHandle handle, int numArgs, Object emptyArray) {
+            this.name = name;
+            this.handle = handle;
+            this.numArgs = numArgs;
+            this.emptyArray = emptyArray;
+        }
+
+        /**
+         * Get the method name.
+         * @return method name
+         */
+        String name() {
+            return name;
+        }
+
+        /**
+         * Invoke the method.
+         * @param target the object to invoke the method on
+         * @param args the arguments
+         * @return the returned value, {@code null} for a {@code void} method
+         * @throws Throwable if thrown by the method
+         */
+        Object invoke(Object target, Object[] args) throws Throwable {
+            Object[] params = args;
+            if (emptyArray != null) {
+                // varargs, put an empty array as last parameter
+                params = Arrays.copyOf(args, numArgs + 1);
+                params[numArgs] = emptyArray;
+            }
+            return (Object) handle.invokeExact(target, params);
+        }
+    }
+
+    /**
+     * A method name and argument types, used as resolution cache key.
+     */
+    private static final class Signature {
+
+        private final String name;
+        private final Class<?>[] argTypes;
+        private final int hash;
+
+        Signature(String name, Class<?>[] argTypes) {
+            this.name = name;
+            this.argTypes = argTypes;
+            this.hash = 31 * name.hashCode() + Arrays.hashCode(argTypes);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Signature)) {
+                return false;
+            }
+            Signature other = (Signature) o;
+            return name.equals(other.name)
+                    && Arrays.equals(argTypes, other.argTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
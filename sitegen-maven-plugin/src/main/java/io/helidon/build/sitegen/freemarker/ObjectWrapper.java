@@ -32,15 +32,37 @@ import org.asciidoctor.internal.RubyAttributesMapDecorator;
  */
 public class ObjectWrapper extends DefaultObjectWrapper {
 
+    private final boolean timed;
+
     /**
      * Create a new instance of {@link ObjectWrapper}.
      * @param incompatibleImprovements the freemarker version
      */
     public ObjectWrapper(Version incompatibleImprovements) {
+        this(incompatibleImprovements, false);
+    }
+
+    /**
+     * Create a new instance of {@link ObjectWrapper}.
+     * @param incompatibleImprovements the freemarker version
+     * @param timed {@code true} if the JRuby calls of the wrapped nodes are
+     * accounted to the {@link RenderClock} of the current thread
+     */
+    public ObjectWrapper(Version incompatibleImprovements, boolean timed) {
         super(incompatibleImprovements);
+        this.timed = timed;
         this.setSimpleMapWrapper(true);
     }
 
+    /**
+     * Indicate if the JRuby calls of the wrapped nodes are accounted to the
+     * {@link RenderClock} of the current thread.
+     * @return {@code true} if timed, {@code false} otherwise
+     */
+    public boolean isTimed() {
+        return timed;
+    }
+
     @Override
     public TemplateModel wrap(Object obj) throws TemplateModelException {
         if (obj == null) {
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen.freemarker;
+
+import java.util.Arrays;
+
+/**
+ * Splits the time spent rendering a document between the template
+ * processing and the Asciidoctor (JRuby) processing.
+ *
+ * A clock is started on the rendering thread before converting a document,
+ * the conversion time is accounted to JRuby until a template is entered.
+ * The templates switch back to JRuby while accessing the nodes, the nested
+ * conversions switch back to templates, and so on.
+ */
+public final class RenderClock {
+
+    private static final ThreadLocal<RenderClock> CURRENT = new ThreadLocal<>();
+
+    private boolean[] modes = new boolean[16];
+    private int depth;
+    private boolean template;
+    private long mark;
+    private long templateNanos;
+    private long jrubyNanos;
+
+    private RenderClock() {
+    }
+
+    /**
+     * Start a clock on the current thread.
+     * @return the started clock
+     */
+    public static RenderClock start() {
+        RenderClock clock = new RenderClock();
+        CURRENT.set(clock);
+        clock.mark = System.nanoTime();
+        return clock;
+    }
+
+    /**
+     * Stop this clock.
+     */
+    public void stop() {
+        elapse(System.nanoTime());
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * Get the time accounted to the templates.
+     * @return duration in nanoseconds
+     */
+    public long templateNanos() {
+        return templateNanos;
+    }
+
+    /**
+     * Get the time accounted to JRuby.
+     * @return duration in nanoseconds
+     */
+    public long jrubyNanos() {
+        return jrubyNanos;
+    }
+
+    /**
+     * Account the time to the templates until the matching {@link #exit()}.
+     */
+    static void enterTemplate() {
+        RenderClock clock = CURRENT.get();
+        if (clock != null) {
+            clock.push(true);
+        }
+    }
+
+    /**
+     * Account the time to JRuby until the matching {@link #exit()}.
+     */
+    static void enterJRuby() {
+        RenderClock clock = CURRENT.get();
+        if (clock != null) {
+            clock.push(false);
+        }
+    }
+
+    /**
+     * Account the time to the previous mode.
+     */
+    static void exit() {
+        RenderClock clock = CURRENT.get();
+        if (clock != null && clock.depth > 0) {
+            clock.elapse(System.nanoTime());
+            clock.template = clock.modes[--clock.depth];
+        }
+    }
+
+    private void push(boolean mode) {
+        elapse(System.nanoTime());
+        if (depth == modes.length) {
+            modes = Arrays.copyOf(modes, depth * 2);
+        }
+        modes[depth++] = template;
+        template = mode;
+    }
+
+    private void elapse(long now) {
+        if (template) {
+            templateNanos += now - mark;
+        } else {
+            jrubyNanos += now - mark;
+        }
+        mark = now;
+    }
+}
@@ -19,6 +19,9 @@ package io.helidon.build.sitegen.freemarker;
 import java.io.IOException;
 import java.io.StringWriter;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -38,11 +41,15 @@ import org.asciidoctor.ast.StructuralNode;
 /**
  * A freemarker directive to accumulate entries for the search index.
  *
+ * The entries are accumulated per page, this directive can be used
+ * concurrently to render different pages.
+ *
  * @author rgrecour
  */
 public class SearchIndexDirective implements TemplateDirectiveModel {
 
-    private final List<SearchEntry> entries = new ArrayList<>();
+    private final Map<String, List<SearchEntry>> entries =
+            Collections.synchronizedMap(new LinkedHashMap<>());
 
     @Override
     public void execute(Environment env,
@@ -92,7 +99,25 @@ public class SearchIndexDirective implements TemplateDirectiveModel {
 
         SearchEntry entry = new SearchEntry(
                 page.getTargetPath(), stripHtmlMarkups(writer.toString()), title);
-        entries.add(entry);
+        pageEntries(page.getSourcePath()).add(entry);
+    }
+
+    private List<SearchEntry> pageEntries(String sourcePath) {
+        return entries.computeIfAbsent(sourcePath,
+                k -> Collections.synchronizedList(new ArrayList<>()));
+    }
+
+    /**
+     * Declare the pages to be rendered. The accumulated entries are ordered
+     * by page using the declared order, regardless of the order in which the
+     * pages are rendered.
+     *
+     * @param pages the pages in rendering order
+     */
+    public void declarePages(Collection<Page> pages) {
+        for (Page page : pages) {
+            pageEntries(page.getSourcePath());
+        }
     }
 
     // TODO write a unit test for this
@@ -106,12 +131,44 @@ public class SearchIndexDirective implements TemplateDirectiveModel {
                 .replaceAll("\\s+", " ");
     }
 
+    /**
+     * Add search index entries for a page.
+     *
+     * @param sourcePath the source path of the page
+     * @param pageEntries the entries to add
+     */
+    public void addEntries(String sourcePath, List<SearchEntry> pageEntries) {
+        pageEntries(sourcePath).addAll(pageEntries);
+    }
+
+    /**
+     * Get the search index entries accumulated for a page.
+     *
+     * @param sourcePath the source path of the page
+     * @return the list of search index entries, never {@code null}
+     */
+    public List<SearchEntry> getEntries(String sourcePath) {
+        List<SearchEntry> pageEntries = entries.get(sourcePath);
+        if (pageEntries == null) {
+            return Collections.emptyList();
+        }
+        synchronized (pageEntries) {
+            return new ArrayList<>(pageEntries);
+        }
+    }
+
     /**
      * Get the search index entries accumulated.
      *
      * @return the list of search index entries.
      */
     public List<SearchEntry> getEntries() {
-        return entries;
+        List<SearchEntry> allEntries = new ArrayList<>();
+        synchronized (entries) {
+            for (List<SearchEntry> pageEntries : entries.values()) {
+                allEntries.addAll(pageEntries);
+            }
+        }
+        return allEntries;
     }
 }
@@ -16,9 +16,6 @@
 
 package io.helidon.build.sitegen.freemarker;
 
-import java.lang.reflect.Array;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.List;
 import java.util.Objects;
 
@@ -38,6 +35,7 @@ public class SimpleMethodModel implements TemplateMethodModelEx {
     private final BeansWrapper objectWrapper;
     private final Object object;
     private final String methodName;
+    private final boolean jruby;
 
     /**
      * Create a new simple method model instance.
@@ -49,12 +47,30 @@ public class SimpleMethodModel implements TemplateMethodModelEx {
     public SimpleMethodModel(BeansWrapper objectWrapper,
                              Object object,
                              String methodName) {
+        this(objectWrapper, object, methodName, false);
+    }
+
+    /**
+     * Create a new simple method model instance.
+     *
+     * @param objectWrapper the object wrapper to use
+     * @param object the object source on which the method will be invoked
+     * @param methodName the name of the method to invoke
+     * @param jruby {@code true} if the object is backed by JRuby and the
+     * invocations are accounted to the {@link RenderClock} of the current
+     * thread
+     */
+    public SimpleMethodModel(BeansWrapper objectWrapper,
+                             Object object,
+                             String methodName,
+                             boolean jruby) {
         Objects.requireNonNull(objectWrapper);
         this.objectWrapper = objectWrapper;
         Objects.requireNonNull(object);
         this.object = object;
         Objects.requireNonNull(methodName);
         this.methodName = methodName;
+        this.jruby = jruby;
     }
 
     /**
@@ -65,12 +81,7 @@ public class SimpleMethodModel implements TemplateMethodModelEx {
      * otherwise.
      */
     public static boolean hasMethodWithName(Object object, String methodName){
-        for (Method m : object.getClass().getMethods()) {
-            if (m.getName().equals(methodName)) {
-                return true;
-            }
-        }
-        return false;
+        return MethodAccessors.of(object.getClass()).hasMethod(methodName);
     }
 
     @Override
@@ -78,7 +89,7 @@ public class SimpleMethodModel implements TemplateMethodModelEx {
         // get parameters and parameterTypes from args list
         int numArgs = arguments.size();
         Object[] parameters = new Object[numArgs];
-        Class[] parameterTypes = new Class[numArgs];
+        Class<?>[] parameterTypes = new Class<?>[numArgs];
         for (int i = 0; i < numArgs; i++) {
             Object arg = arguments.get(i);
             if (arg instanceof TemplateModel) {
@@ -97,48 +108,12 @@ public class SimpleMethodModel implements TemplateMethodModelEx {
         }
 
         // find a method with matching parameters
-        Method method = null;
-        for (Method m : object.getClass().getMethods()) {
-            if (methodName.equals(m.getName())) {
-                int paramsOffset = m.getParameterCount() - numArgs;
-                Class<?>[] mParameterTypes = m.getParameterTypes();
-                if (!(paramsOffset == 0
-                   || (paramsOffset == 1
-                        && mParameterTypes[numArgs].isArray()))) {
-                    // method params do not match
-                    // or has more more but the last param is not an array
-                    continue;
-                }
-                boolean paramsMatch = true;
-                for (int i = 0; i < numArgs; i++) {
-                    // treat null as a match
-                    if (parameterTypes[i] == null) {
-                        continue;
-                    }
-                    if (!mParameterTypes[i].isAssignableFrom(parameterTypes[i])) {
-                        paramsMatch = false;
-                        break;
-                    }
-                }
-                if (paramsMatch) {
-                    method = m;
-                    if (paramsOffset == 1) {
-                        // varargs, put an empty array of the right type
-                        // as last parameter
-                        Object[] newParameters = new Object[numArgs + 1];
-                        System.arraycopy(parameters, 0, newParameters, 0,
-                                numArgs);
-                        newParameters[numArgs] = Array.newInstance(
-                                m.getParameterTypes()[numArgs], 0);
-                        parameters = newParameters;
-                    }
-                    break;
-                }
-            }
-        }
+        MethodAccessors.Invoker invoker = MethodAccessors
+                .of(object.getClass())
+                .invoker(methodName, parameterTypes);
 
         // throw an exception if no method found
-        if (method == null) {
+        if (invoker == null) {
             throw new TemplateModelException(String.format(
                     "Unable to find method to invoke: object=%s, methodname=%s, parameters=%s",
                     object,
@@ -148,15 +123,24 @@ public class SimpleMethodModel implements TemplateMethodModelEx {
 
         // invoke the method
         try {
-            Object value = method.invoke(object, parameters);
+            Object value;
+            if (jruby) {
+                RenderClock.enterJRuby();
+                try {
+                    value = invoker.invoke(object, parameters);
+                } finally {
+                    RenderClock.exit();
+                }
+            } else {
+                value = invoker.invoke(object, parameters);
+            }
             if (value == null) {
                 return null;
             }
             return objectWrapper.wrap(value);
-        } catch (SecurityException
-                | IllegalAccessException
-                | IllegalArgumentException
-                | InvocationTargetException ex) {
+        } catch (TemplateModelException | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
             throw new TemplateModelException(String.format(
                     "Error during method invocation: object=%s, method=%s",
                     object, methodName),
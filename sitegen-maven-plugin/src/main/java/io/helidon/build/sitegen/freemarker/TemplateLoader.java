@@ -20,8 +20,12 @@ import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
 
 import io.helidon.build.sitegen.Helper;
 
@@ -55,6 +59,31 @@ public class TemplateLoader extends URLTemplateLoader {
         }
     }
 
+    /**
+     * Get the names of the templates available for a backend.
+     *
+     * @param backend the backend name
+     * @return {@code Set} of template names relative to the backend
+     * directory and without file extension, never {@code null}
+     * @throws IOException if an error occurs while listing the templates
+     */
+    public Set<String> templateNames(String backend) throws IOException {
+        Path backendDir = templatesDir.resolve(backend);
+        if (!Files.isDirectory(backendDir)) {
+            return Collections.emptySet();
+        }
+        Set<String> names = new TreeSet<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(
+                backendDir, "*" + TEMPLATE_FILE_EXT)) {
+            for (Path tpl : stream) {
+                String fileName = tpl.getFileName().toString();
+                names.add(fileName.substring(0,
+                        fileName.length() - TEMPLATE_FILE_EXT.length()));
+            }
+        }
+        return names;
+    }
+
     @Override
     protected URL getURL(String name) {
         String tplName = name;
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen.freemarker;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static io.helidon.build.sitegen.Helper.utf8Length;
+
+/**
+ * Collects the number of invocations, the total and self time and the output
+ * size of each template across a site generation.
+ *
+ * The self time of a template excludes the time spent in the templates it
+ * renders, directly or through the nested Asciidoctor conversions on the
+ * same thread.
+ */
+public final class TemplateProfiler {
+
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+    private final ThreadLocal<Frames> frames = ThreadLocal.withInitial(Frames::new);
+
+    /**
+     * Mark the start of a template rendering on the current thread.
+     * @return the start time in nanoseconds, to pass to
+     * {@link #exit(String, long, long)}
+     */
+    long enter() {
+        frames.get().push();
+        return System.nanoTime();
+    }
+
+    /**
+     * Mark the end of a template rendering on the current thread.
+     * @param template the template name
+     * @param start the start time returned by {@link #enter()}
+     * @param bytes the number of bytes written by the template
+     */
+    void exit(String template, long start, long bytes) {
+        long total = System.nanoTime() - start;
+        long children = frames.get().pop(total);
+        stats.computeIfAbsent(template, Stats::new).add(total, total - children, bytes);
+    }
+
+    /**
+     * Get the statistics of the rendered templates, sorted by decreasing
+     * self time.
+     * @return {@code List} of statistics, never {@code null}
+     */
+    public List<Stats> stats() {
+        List<Stats> list = new ArrayList<>(stats.values());
+        list.sort(Comparator.comparingLong(Stats::selfNanos).reversed()
+                .thenComparing(Stats::template));
+        return list;
+    }
+
+    /**
+     * The statistics of a template.
+     */
+    public static final class Stats {
+
+        private final String template;
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder selfNanos = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+
+        private Stats(String template) {
+            this.template = template;
+        }
+
+        private void add(long total, long self, long size) {
+            invocations.increment();
+            totalNanos.add(total);
+            selfNanos.add(self);
+            bytes.add(size);
+        }
+
+        /**
+         * Get the template name.
+         * @return template name
+         */
+        public String template() {
+            return template;
+        }
+
+        /**
+         * Get the number of invocations.
+         * @return number of invocations
+         */
+        public long invocations() {
+            return invocations.sum();
+        }
+
+        /**
+         * Get the time spent in the template, including the nested
+         * templates.
+         * @return duration in nanoseconds
+         */
+        public long totalNanos() {
+            return totalNanos.sum();
+        }
+
+        /**
+         * Get the time spent in the template, excluding the nested
+         * templates.
+         * @return duration in nanoseconds
+         */
+        public long selfNanos() {
+            return selfNanos.sum();
+        }
+
+        /**
+         * Get the number of bytes written by the template, including the
+         * output of the nested templates that it writes.
+         * @return number of bytes
+         */
+        public long bytes() {
+            return bytes.sum();
+        }
+    }
+
+    /**
+     * Per-thread stack of the time spent in the nested templates of the
+     * renderings in progress.
+     */
+    private static final class Frames {
+
+        private long[] children = new long[16];
+        private int depth;
+
+        void push() {
+            if (depth == children.length) {
+                children = Arrays.copyOf(children, depth * 2);
+            }
+            children[depth++] = 0;
+        }
+
+        long pop(long total) {
+            long nested = children[--depth];
+            if (depth > 0) {
+                children[depth - 1] += total;
+            }
+            return nested;
+        }
+    }
+
+    /**
+     * A writer that counts the UTF-8 encoded size of the characters written.
+     */
+    static final class CountingWriter extends Writer {
+
+        private final Writer delegate;
+        private long bytes;
+
+        CountingWriter(Writer delegate) {
+            this.delegate = delegate;
+        }
+
+        /**
+         * Get the number of bytes written.
+         * @return number of bytes
+         */
+        long bytes() {
+            return bytes;
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            bytes += utf8Length((char) c);
+            delegate.write(c);
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            for (int i = off; i < off + len; i++) {
+                bytes += utf8Length(cbuf[i]);
+            }
+            delegate.write(cbuf, off, len);
+        }
+
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            for (int i = off; i < off + len; i++) {
+                bytes += utf8Length(str.charAt(i));
+            }
+            delegate.write(str, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+}
@@ -28,6 +28,9 @@ import freemarker.template.TemplateDirectiveModel;
  * This is especially useful for asciidoc rendering where many templates are
  * recursively invoked to render a single document.
  *
+ * The directives of a session are safe to use concurrently when rendering
+ * multiple documents in parallel.
+ *
  * @author rgrecour
  */
 public class TemplateSession {
@@ -36,11 +39,23 @@ public class TemplateSession {
     private final SearchIndexDirective searchIndexDirective = new SearchIndexDirective();
     private final VueBindingsDirective vueBindingsDirective = new VueBindingsDirective();
     private final CustomLayoutDirective customLayoutDirective = new CustomLayoutDirective();
+    private final TemplateProfiler profiler;
 
     /**
      * Create a new TemplateSession instance.
      */
     public TemplateSession() {
+        this(null);
+    }
+
+    /**
+     * Create a new TemplateSession instance.
+     *
+     * @param profiler the profiler of the templates rendered with this
+     * session, may be {@code null}
+     */
+    public TemplateSession(TemplateProfiler profiler) {
+        this.profiler = profiler;
         directives.put("searchIndex", searchIndexDirective);
         directives.put("vueBindings", vueBindingsDirective);
         directives.put("customLayout", customLayoutDirective);
@@ -81,4 +96,13 @@ public class TemplateSession {
     public CustomLayoutDirective getCustomLayouts(){
         return customLayoutDirective;
     }
+
+    /**
+     * Get the template profiler of this session.
+     *
+     * @return the profiler, {@code null} if profiling is not enabled
+     */
+    public TemplateProfiler getProfiler() {
+        return profiler;
+    }
 }
@@ -18,19 +18,19 @@ package io.helidon.build.sitegen.maven;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.PathMatcher;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
-import io.helidon.build.sitegen.asciidoctor.AsciidocExtensionRegistry;
+import io.helidon.build.sitegen.SourcePath;
+import io.helidon.build.sitegen.SourcePattern;
+import io.helidon.build.sitegen.asciidoctor.AsciidoctorRuntimes;
 
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
@@ -78,12 +78,12 @@ import static io.helidon.build.sitegen.maven.Constants.PROPERTY_PREFIX;
  *
  * <tr>
  * <td>includes</td>
- * <td>glob expressions for .adoc files to process</td>
+ * <td>match patterns for .adoc files to process</td>
  * </tr>
  *
  * <tr>
  * <td>excludes</td>
- * <td>glob expressions for .adoc files to skip</td>
+ * <td>match patterns for .adoc files to skip</td>
  * </tr>
  *
  * </table>
@@ -93,6 +93,7 @@ public abstract class AbstractAsciiDocMojo extends AbstractMojo {
 
     private static final String DEFAULT_SRC_DIR = "${project.basedir}";
     private static final String JRUBY_DEBUG_PROPERTY_NAME = "jruby.cli.verbose";
+    private static final String BACKEND_NAME = "simple";
 
     @Parameter(defaultValue = "${project}", readonly = true)
     private MavenProject project;
@@ -142,7 +143,9 @@ public abstract class AbstractAsciiDocMojo extends AbstractMojo {
         }
 
         AtomicBoolean isPrelim = new AtomicBoolean();
-        Asciidoctor asciiDoctor = createAsciiDoctor("simple", isPrelim);
+        LogHandler logHandler = new SelectiveLogHandler(isPrelim);
+        Asciidoctor asciiDoctor = AsciidoctorRuntimes.acquire(BACKEND_NAME, null);
+        asciiDoctor.registerLogHandler(logHandler);
         try {
             for (Path p : inputs(inputDirectory.toPath(), includes, excludes)) {
                 processFile(asciiDoctor, inputDirectory.toPath(), p, isPrelim);
@@ -150,6 +153,9 @@ public abstract class AbstractAsciiDocMojo extends AbstractMojo {
         } catch (IOException ex) {
             throw new MojoExecutionException("Error collecting inputs", ex);
         } finally {
+            // reset the runtime before returning it to the shared cache
+            asciiDoctor.unregisterLogHandler(logHandler);
+            AsciidoctorRuntimes.release(BACKEND_NAME, null, asciiDoctor);
             if (getLog().isDebugEnabled()) {
                 if (previousJRubyCliVerboseValue == null) {
                     System.clearProperty(JRUBY_DEBUG_PROPERTY_NAME);
@@ -162,19 +168,27 @@ public abstract class AbstractAsciiDocMojo extends AbstractMojo {
 
     /**
      * Computes paths to be processed as inputs, based on an input directory
-     * and glob-style include and exclude expressions identifying paths within
-     * that input directory.
+     * and include and exclude match patterns identifying files within
+     * that input directory, see {@link SourcePattern}.
      * @param inputDirectory the directory within which to search for files
-     * @param includes glob-style include expressions
-     * @param excludes glob-style exclude expressions
+     * @param includes include patterns
+     * @param excludes exclude patterns
      * @return Paths within the input directory tree that match the includes and
      * are not ruled out by the excludes
      * @throws IOException in case of errors matching candidate paths
      */
     static Collection<Path> inputs(Path inputDirectory, String[] includes, String[] excludes) throws IOException {
-        return Files.find(inputDirectory, Integer.MAX_VALUE, (path, attrs) ->
-                        matches(path, pathMatchers(inputDirectory, includes))
-                        && !matches(path, pathMatchers(inputDirectory, excludes)))
+        List<SourcePattern> includePatterns = SourcePattern.compile(Arrays.asList(includes));
+        List<SourcePattern> excludePatterns = SourcePattern.compile(Arrays.asList(excludes));
+        File dir = inputDirectory.toFile();
+        return Files.find(inputDirectory, Integer.MAX_VALUE, (path, attrs) -> {
+                    if (!attrs.isRegularFile()) {
+                        return false;
+                    }
+                    SourcePath sourcePath = new SourcePath(dir, path.toFile());
+                    return SourcePattern.matchesAny(sourcePath, includePatterns)
+                            && !SourcePattern.matchesAny(sourcePath, excludePatterns);
+                })
                 .collect(Collectors.toSet());
     }
 
@@ -256,23 +270,6 @@ public abstract class AbstractAsciiDocMojo extends AbstractMojo {
         postProcessFile(adocFilePath, outputPath);
 
     }
-    /**
-     * Creates a stream of PathMatchers, one for each glob.
-     * @param inputDirectory Path within which the globs are applied
-     * @param globs the glob patterns
-     * @return PathMatchers for the globs
-     */
-    private static Stream<PathMatcher> pathMatchers(Path inputDirectory, String[] globs) {
-          return Arrays.stream(globs)
-                .map(glob -> {
-                    return FileSystems.getDefault().getPathMatcher("glob:" + inputDirectory + "/" + glob);
-                });
-    }
-
-    private static boolean matches(Path candidate, Stream<PathMatcher> matchers) {
-        return matchers.anyMatch((m) -> (m.matches(candidate)));
-    }
-
     static void validateParams(File inputDirectory, String[] includes) throws MojoExecutionException {
         if (includes.length == 0) {
             throw new MojoExecutionException("You must specify at least one 'includes'");
@@ -286,13 +283,6 @@ public abstract class AbstractAsciiDocMojo extends AbstractMojo {
         }
     }
 
-    private Asciidoctor createAsciiDoctor(String backendName, AtomicBoolean isPrelim) {
-        Asciidoctor asciiDoctor = Asciidoctor.Factory.create();
-        asciiDoctor.registerLogHandler(new SelectiveLogHandler(isPrelim));
-        new AsciidocExtensionRegistry(backendName).register(asciiDoctor);
-        return asciiDoctor;
-    }
-
     private static class SelectiveLogHandler implements LogHandler {
 
         private final AtomicBoolean isPrelim;
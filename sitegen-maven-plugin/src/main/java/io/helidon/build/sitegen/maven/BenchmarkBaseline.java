@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen.maven;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import io.helidon.build.sitegen.freemarker.FreemarkerEngine;
+
+/**
+ * A benchmark baseline stored as a flat JSON object of durations in
+ * milliseconds indexed by phase name, e.g.
+ * {@code { "scan": 12.5, "render": 5230.0, "total": 6001.2 }}.
+ */
+final class BenchmarkBaseline {
+
+    private static final Pattern ENTRY_PATTERN =
+            Pattern.compile("\"([^\"]+)\"\\s*:\\s*(-?[0-9]+(?:\\.[0-9]+)?(?:[eE][-+]?[0-9]+)?)");
+
+    private BenchmarkBaseline() {
+    }
+
+    /**
+     * Read a baseline file.
+     * @param file the file to read
+     * @return {@code Map} of durations in milliseconds indexed by phase name
+     * @throws IOException if an error occurs while reading the file
+     */
+    static Map<String, Double> read(File file) throws IOException {
+        String content = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+        Map<String, Double> entries = new LinkedHashMap<>();
+        Matcher matcher = ENTRY_PATTERN.matcher(content);
+        while (matcher.find()) {
+            entries.put(matcher.group(1), Double.parseDouble(matcher.group(2)));
+        }
+        return entries;
+    }
+
+    /**
+     * Write a baseline file.
+     * @param file the file to write
+     * @param entries durations in milliseconds indexed by phase name
+     * @throws IOException if an error occurs while writing the file
+     */
+    static void write(File file, Map<String, Double> entries) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            Files.createDirectories(parent.toPath());
+        }
+        try (Writer writer = FreemarkerEngine.newFileWriter(file)) {
+            writer.write("{\n");
+            Iterator<Entry<String, Double>> it = entries.entrySet().iterator();
+            while (it.hasNext()) {
+                Entry<String, Double> entry = it.next();
+                writer.write(String.format(Locale.ROOT, "    \"%s\": %.1f%s\n",
+                        entry.getKey(), entry.getValue(), it.hasNext() ? "," : ""));
+            }
+            writer.write("}\n");
+        }
+    }
+}
@@ -0,0 +1,278 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen.maven;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import io.helidon.build.sitegen.GenerationTimings;
+import io.helidon.build.sitegen.GenerationTimings.Phase;
+import io.helidon.build.sitegen.RenderingException;
+import io.helidon.build.sitegen.Site;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+
+import static io.helidon.build.sitegen.maven.Constants.DEFAULT_BENCHMARK_BASELINE_FILE;
+import static io.helidon.build.sitegen.maven.Constants.DEFAULT_BENCHMARK_OUTPUT_DIR;
+import static io.helidon.build.sitegen.maven.Constants.DEFAULT_SITE_SOURCE_DIR;
+import static io.helidon.build.sitegen.maven.Constants.PROPERTY_PREFIX;
+
+/**
+ * Goal that benchmarks the generation of the site and compares the time spent
+ * in each phase with a baseline.
+ */
+@Mojo(name = "benchmark",
+      requiresProject = true)
+public class BenchmarkMojo extends AbstractMojo {
+
+    private static final String TOTAL = "total";
+
+    @Parameter(defaultValue = "${project}", readonly = true, required = true)
+    private MavenProject project;
+
+    /**
+     * Directory containing the site sources.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "siteSourceDirectory",
+               defaultValue = DEFAULT_SITE_SOURCE_DIR,
+               required = true)
+    private File siteSourceDirectory;
+
+    /**
+     * Site configuration file.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "siteConfigFile", required = true)
+    private File siteConfigFile;
+
+    /**
+     * Number of worker threads used to render the pages, overrides the
+     * {@code threads} option of the site configuration file.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "siteThreads", required = false)
+    private Integer siteThreads;
+
+    /**
+     * Directory containing the site files generated by the benchmark.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "benchmarkOutputDirectory",
+               defaultValue = DEFAULT_BENCHMARK_OUTPUT_DIR,
+               required = true)
+    private File benchmarkOutputDirectory;
+
+    /**
+     * Number of generations executed before the measured generations.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "benchmarkWarmup",
+               defaultValue = "2",
+               required = false)
+    private int benchmarkWarmup;
+
+    /**
+     * Number of measured generations.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "benchmarkIterations",
+               defaultValue = "5",
+               required = false)
+    private int benchmarkIterations;
+
+    /**
+     * Baseline file, a JSON object of durations in milliseconds indexed by
+     * phase name.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "benchmarkBaselineFile",
+               defaultValue = DEFAULT_BENCHMARK_BASELINE_FILE,
+               required = true)
+    private File benchmarkBaselineFile;
+
+    /**
+     * Maximum slowdown of a phase compared to the baseline, in percent.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "benchmarkThreshold",
+               defaultValue = "20",
+               required = false)
+    private int benchmarkThreshold;
+
+    /**
+     * Minimum slowdown of a phase compared to the baseline in milliseconds
+     * to be considered a regression, filters out the noise of the short
+     * phases.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "benchmarkMinDelta",
+               defaultValue = "100",
+               required = false)
+    private long benchmarkMinDelta;
+
+    /**
+     * Write the measured durations to the baseline file instead of comparing
+     * them.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "benchmarkUpdateBaseline",
+               defaultValue = "false",
+               required = false)
+    private boolean benchmarkUpdateBaseline;
+
+    /**
+     * Fail the build if a regression is detected.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "benchmarkFailOnRegression",
+               defaultValue = "true",
+               required = false)
+    private boolean benchmarkFailOnRegression;
+
+    /**
+     * Skip this goal execution.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "benchmarkSkip",
+               defaultValue = "false",
+               required = false)
+    private boolean benchmarkSkip;
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        if (benchmarkSkip) {
+            getLog().info("processing is skipped.");
+            return;
+        }
+        if (benchmarkIterations < 1) {
+            throw new MojoExecutionException(
+                    "invalid benchmarkIterations: " + benchmarkIterations);
+        }
+
+        Site.Builder siteBuilder = Site.builder()
+                .config(siteConfigFile, GenerateMojo.siteProperties(project));
+        if (siteThreads != null) {
+            siteBuilder.threads(siteThreads);
+        }
+        Site site = siteBuilder.build();
+
+        Map<String, Double> results;
+        try {
+            for (int i = 1; i <= benchmarkWarmup; i++) {
+                getLog().info(String.format("warmup %d/%d", i, benchmarkWarmup));
+                site.generate(siteSourceDirectory, benchmarkOutputDirectory);
+            }
+            List<GenerationTimings> iterations = new ArrayList<>();
+            long[] totals = new long[benchmarkIterations];
+            for (int i = 0; i < benchmarkIterations; i++) {
+                getLog().info(String.format("iteration %d/%d", i + 1, benchmarkIterations));
+                GenerationTimings timings = new GenerationTimings();
+                long start = System.nanoTime();
+                site.generate(siteSourceDirectory, benchmarkOutputDirectory, null, timings);
+                totals[i] = System.nanoTime() - start;
+                iterations.add(timings);
+            }
+            results = results(iterations, totals);
+        } catch (RenderingException ex) {
+            throw new MojoExecutionException(ex.getMessage(), ex);
+        }
+
+        try {
+            if (benchmarkUpdateBaseline || !benchmarkBaselineFile.exists()) {
+                BenchmarkBaseline.write(benchmarkBaselineFile, results);
+                report(results, null);
+                getLog().info("baseline written to " + benchmarkBaselineFile);
+                return;
+            }
+            Map<String, Double> baseline = BenchmarkBaseline.read(benchmarkBaselineFile);
+            List<String> regressions = report(results, baseline);
+            if (!regressions.isEmpty()) {
+                String message = String.format(
+                        "generation is slower than the baseline by more than %d%% for: %s",
+                        benchmarkThreshold, String.join(", ", regressions));
+                if (benchmarkFailOnRegression) {
+                    throw new MojoFailureException(message);
+                }
+                getLog().warn(message);
+            }
+        } catch (IOException ex) {
+            throw new MojoExecutionException(
+                    "Error while processing baseline file: " + benchmarkBaselineFile, ex);
+        }
+    }
+
+    /**
+     * Compute the median duration in milliseconds of each phase.
+     */
+    private static Map<String, Double> results(List<GenerationTimings> iterations,
+                                               long[] totals) {
+
+        Map<String, Double> results = new LinkedHashMap<>();
+        long[] values = new long[iterations.size()];
+        for (Phase phase : Phase.values()) {
+            for (int i = 0; i < values.length; i++) {
+                values[i] = iterations.get(i).nanos(phase);
+            }
+            results.put(phase.label(), medianMillis(values));
+        }
+        results.put(TOTAL, medianMillis(totals));
+        return results;
+    }
+
+    private static double medianMillis(long[] nanos) {
+        long[] sorted = Arrays.copyOf(nanos, nanos.length);
+        Arrays.sort(sorted);
+        int mid = sorted.length / 2;
+        double median = sorted.length % 2 == 0
+                ? (sorted[mid - 1] + sorted[mid]) / 2.0
+                : sorted[mid];
+        return median / 1_000_000.0;
+    }
+
+    /**
+     * Log the results and return the phases that regressed.
+     */
+    private List<String> report(Map<String, Double> results,
+                                Map<String, Double> baseline) {
+
+        List<String> regressions = new ArrayList<>();
+        for (Entry<String, Double> entry : results.entrySet()) {
+            String phase = entry.getKey();
+            double current = entry.getValue();
+            Double expected = baseline == null ? null : baseline.get(phase);
+            if (expected == null) {
+                getLog().info(String.format(Locale.ROOT, "%-12s %10.1f ms", phase, current));
+                continue;
+            }
+            double delta = current - expected;
+            double percent = expected > 0 ? delta * 100 / expected : 0;
+            boolean regressed = delta > benchmarkMinDelta
+                    && current > expected * (1 + benchmarkThreshold / 100.0);
+            String line = String.format(Locale.ROOT,
+                    "%-12s %10.1f ms (baseline %10.1f ms, %+6.1f%%)",
+                    phase, current, expected, percent);
+            if (regressed) {
+                regressions.add(phase);
+                getLog().warn(line);
+            } else {
+                getLog().info(line);
+            }
+        }
+        return regressions;
+    }
+}
@@ -24,4 +24,8 @@ abstract class Constants {
     static final String PROPERTY_PREFIX = "sitegen.";
     static final String DEFAULT_SITE_OUTPUT_DIR = "${project.build.directory}/site";
     static final String DEFAULT_SITE_SOURCE_DIR = "${project.basedir}/src/main/site";
+    static final String DEFAULT_SITE_MANIFEST_FILE = "${project.build.directory}/sitegen-manifest.bin";
+    static final String DEFAULT_SITE_REPORT_FILE = "${project.build.directory}/sitegen-report.json";
+    static final String DEFAULT_BENCHMARK_OUTPUT_DIR = "${project.build.directory}/sitegen-benchmark";
+    static final String DEFAULT_BENCHMARK_BASELINE_FILE = "${project.basedir}/sitegen-benchmark-baseline.json";
 }
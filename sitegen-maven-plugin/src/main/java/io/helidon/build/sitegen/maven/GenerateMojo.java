@@ -17,12 +17,21 @@
 package io.helidon.build.sitegen.maven;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
 import java.util.Properties;
 
+import io.helidon.build.sitegen.BuildManifest;
+import io.helidon.build.sitegen.GenerationTimings;
+import io.helidon.build.sitegen.GenerationTimings.Phase;
+import io.helidon.build.sitegen.Precompressor;
 import io.helidon.build.sitegen.RenderingException;
 import io.helidon.build.sitegen.Site;
+import io.helidon.build.sitegen.freemarker.TemplateProfiler;
 
 import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecution;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
@@ -30,7 +39,9 @@ import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
 
+import static io.helidon.build.sitegen.maven.Constants.DEFAULT_SITE_MANIFEST_FILE;
 import static io.helidon.build.sitegen.maven.Constants.DEFAULT_SITE_OUTPUT_DIR;
+import static io.helidon.build.sitegen.maven.Constants.DEFAULT_SITE_REPORT_FILE;
 import static io.helidon.build.sitegen.maven.Constants.DEFAULT_SITE_SOURCE_DIR;
 import static io.helidon.build.sitegen.maven.Constants.PROPERTY_PREFIX;
 
@@ -47,6 +58,9 @@ public class GenerateMojo extends AbstractMojo {
     @Parameter(defaultValue = "${project}", readonly = true, required = true)
     private MavenProject project;
 
+    @Parameter(defaultValue = "${mojoExecution}", readonly = true, required = true)
+    private MojoExecution mojoExecution;
+
     /**
      * Directory containing the generated site files.
      */
@@ -77,6 +91,80 @@ public class GenerateMojo extends AbstractMojo {
             required = false)
     private boolean siteGenerateSkip;
 
+    /**
+     * Number of worker threads used to render the pages, overrides the
+     * {@code threads} option of the site configuration file.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "siteThreads", required = false)
+    private Integer siteThreads;
+
+    /**
+     * Only render the pages that have changed since the previous execution.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "siteIncremental",
+            defaultValue = "false",
+            required = false)
+    private boolean siteIncremental;
+
+    /**
+     * Manifest file used to record the rendered pages between executions
+     * when {@code siteIncremental} is enabled.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "siteManifestFile",
+            defaultValue = DEFAULT_SITE_MANIFEST_FILE,
+            required = false)
+    private File siteManifestFile;
+
+    /**
+     * Report file describing the time spent in each phase and the slowest
+     * pages of the generation.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "siteReportFile",
+            defaultValue = DEFAULT_SITE_REPORT_FILE,
+            required = false)
+    private File siteReportFile;
+
+    /**
+     * Maximum number of slowest pages included in the report.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "siteReportPages",
+            defaultValue = "20",
+            required = false)
+    private int siteReportPages;
+
+    /**
+     * Profile the templates and log the time spent in each template at the
+     * end of the generation.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "siteProfileTemplates",
+            defaultValue = "false",
+            required = false)
+    private boolean siteProfileTemplates;
+
+    /**
+     * Write a gzip file next to the generated files matched by
+     * {@code siteCompressIncludes}, to be served by static file servers.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "siteCompress",
+            defaultValue = "false",
+            required = false)
+    private boolean siteCompress;
+
+    /**
+     * Include patterns of the generated files to compress, defaults to the
+     * index, scripts, JSON and CSS files generated by the Vuetify backend.
+     */
+    @Parameter(required = false)
+    private List<String> siteCompressIncludes;
+
+    /**
+     * Minimum size in bytes of the generated files to compress.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "siteCompressMinSize",
+            defaultValue = "1024",
+            required = false)
+    private int siteCompressMinSize;
+
     @SuppressWarnings("CanBeFinal")
     private Site site = null;
 
@@ -89,16 +177,14 @@ public class GenerateMojo extends AbstractMojo {
 
         project.addCompileSourceRoot(siteSourceDirectory.getAbsolutePath());
 
-        Properties properties = new Properties();
-        properties.putAll(project.getProperties());
-        properties.setProperty("project.groupId", project.getGroupId());
-        properties.setProperty("project.artifactId", project.getArtifactId());
-        properties.setProperty("project.version", project.getVersion());
-        properties.setProperty("project.basedir", project.getBasedir().getAbsolutePath());
+        Properties properties = siteProperties(project);
 
-        site = Site.builder()
-                .config(siteConfigFile, properties)
-                .build();
+        Site.Builder siteBuilder = Site.builder()
+                .config(siteConfigFile, properties);
+        if (siteThreads != null) {
+            siteBuilder.threads(siteThreads);
+        }
+        site = siteBuilder.build();
 
         // enable jruby verbose mode on debugging
         if (getLog().isDebugEnabled()) {
@@ -106,12 +192,66 @@ public class GenerateMojo extends AbstractMojo {
         }
 
         try {
-            site.generate(siteSourceDirectory, siteOutputDirectory);
+            BuildManifest manifest = null;
+            if (siteIncremental) {
+                manifest = new BuildManifest(siteManifestFile,
+                        BuildManifest.siteDigest(siteConfigFile, properties, site.getBackend(),
+                                mojoExecution.getVersion()));
+            }
+            TemplateProfiler profiler = siteProfileTemplates ? new TemplateProfiler() : null;
+            GenerationTimings timings = new GenerationTimings(profiler);
+            site.generate(siteSourceDirectory, siteOutputDirectory, manifest, timings);
+            if (siteCompress) {
+                Precompressor precompressor = new Precompressor(siteCompressIncludes,
+                        siteCompressMinSize, Runtime.getRuntime().availableProcessors());
+                int compressed = timings.time(Phase.COMPRESS,
+                        () -> precompressor.compress(siteOutputDirectory));
+                getLog().info(compressed + " file(s) compressed");
+            }
+            if (profiler != null) {
+                logTemplateProfile(profiler);
+            }
+            if (siteReportFile != null) {
+                GenerationReport.write(siteReportFile, timings, siteReportPages);
+                getLog().info("Generation report: " + siteReportFile);
+            }
         } catch (RenderingException ex) {
             throw new MojoExecutionException(ex.getMessage(), ex);
+        } catch (IOException ex) {
+            throw new MojoExecutionException(
+                    "Error while writing the generation report", ex);
+        }
+    }
+
+    private void logTemplateProfile(TemplateProfiler profiler) {
+        getLog().info("Template profile (sorted by self time):");
+        getLog().info(String.format(Locale.ROOT, "%-32s %12s %12s %12s %12s",
+                "template", "invocations", "total ms", "self ms", "bytes"));
+        for (TemplateProfiler.Stats stats : profiler.stats()) {
+            getLog().info(String.format(Locale.ROOT, "%-32s %12d %12.1f %12.1f %12d",
+                    stats.template(),
+                    stats.invocations(),
+                    stats.totalNanos() / 1_000_000.0,
+                    stats.selfNanos() / 1_000_000.0,
+                    stats.bytes()));
         }
     }
 
+    /**
+     * Get the properties used to resolve the site configuration file.
+     * @param project the maven project
+     * @return the properties
+     */
+    static Properties siteProperties(MavenProject project) {
+        Properties properties = new Properties();
+        properties.putAll(project.getProperties());
+        properties.setProperty("project.groupId", project.getGroupId());
+        properties.setProperty("project.artifactId", project.getArtifactId());
+        properties.setProperty("project.version", project.getVersion());
+        properties.setProperty("project.basedir", project.getBasedir().getAbsolutePath());
+        return properties;
+    }
+
     /**
      * Get the site instance.
      * @return {@code Site} instance
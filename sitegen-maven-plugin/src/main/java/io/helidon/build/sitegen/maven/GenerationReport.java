@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen.maven;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import io.helidon.build.sitegen.GenerationTimings;
+import io.helidon.build.sitegen.GenerationTimings.PageTiming;
+import io.helidon.build.sitegen.GenerationTimings.Phase;
+import io.helidon.build.sitegen.freemarker.FreemarkerEngine;
+import io.helidon.build.sitegen.freemarker.TemplateProfiler;
+
+import static io.helidon.build.sitegen.Helper.jsonString;
+
+/**
+ * A JSON report of a site generation: the time spent in each phase, the
+ * totals of the rendered pages, the slowest pages and the template profile
+ * if the templates are profiled. The durations are in milliseconds.
+ */
+final class GenerationReport {
+
+    private static final Comparator<PageTiming> SLOWEST_FIRST = Comparator
+            .comparingLong((PageTiming page) -> page.metadataNanos() + page.renderNanos())
+            .reversed()
+            .thenComparing(PageTiming::sourcePath);
+
+    private GenerationReport() {
+    }
+
+    /**
+     * Write a report file.
+     * @param file the file to write
+     * @param timings the timings of the generation
+     * @param maxPages the maximum number of slowest pages to include
+     * @throws IOException if an error occurs while writing the file
+     */
+    static void write(File file, GenerationTimings timings, int maxPages) throws IOException {
+        List<PageTiming> pages = timings.pages();
+        pages.sort(SLOWEST_FIRST);
+        int rendered = 0;
+        long bytes = 0;
+        long templateNanos = 0;
+        long jrubyNanos = 0;
+        for (PageTiming page : pages) {
+            if (page.renderNanos() > 0) {
+                rendered++;
+            }
+            bytes += page.bytes();
+            templateNanos += page.templateNanos();
+            jrubyNanos += page.jrubyNanos();
+        }
+        TemplateProfiler profiler = timings.templateProfiler();
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            Files.createDirectories(parent.toPath());
+        }
+        try (Writer writer = FreemarkerEngine.newFileWriter(file)) {
+            writer.write("{\n");
+            writer.write("    \"elapsed\": " + millis(timings.elapsedNanos()) + ",\n");
+            writer.write("    \"phases\": {\n");
+            int i = 0;
+            Map<Phase, Long> phases = timings.toMap();
+            for (Entry<Phase, Long> entry : phases.entrySet()) {
+                writer.write("        " + jsonString(entry.getKey().label()) + ": "
+                        + millis(entry.getValue())
+                        + (++i < phases.size() ? ",\n" : "\n"));
+            }
+            writer.write("    },\n");
+            writer.write("    \"pages\": {\n");
+            writer.write("        \"count\": " + pages.size() + ",\n");
+            writer.write("        \"rendered\": " + rendered + ",\n");
+            writer.write("        \"bytes\": " + bytes);
+            if (profiler != null) {
+                writer.write(",\n        \"template\": " + millis(templateNanos) + ",\n");
+                writer.write("        \"jruby\": " + millis(jrubyNanos));
+            }
+            writer.write("\n    },\n");
+            writer.write("    \"slowestPages\": [");
+            int count = Math.min(maxPages, pages.size());
+            for (i = 0; i < count; i++) {
+                PageTiming page = pages.get(i);
+                writer.write(i == 0 ? "\n" : ",\n");
+                writer.write("        {\n");
+                writer.write("            \"sourcePath\": " + jsonString(page.sourcePath()) + ",\n");
+                writer.write("            \"metadata\": " + millis(page.metadataNanos()) + ",\n");
+                writer.write("            \"render\": " + millis(page.renderNanos()) + ",\n");
+                if (profiler != null) {
+                    writer.write("            \"template\": " + millis(page.templateNanos()) + ",\n");
+                    writer.write("            \"jruby\": " + millis(page.jrubyNanos()) + ",\n");
+                }
+                writer.write("            \"bytes\": " + page.bytes() + "\n");
+                writer.write("        }");
+            }
+            writer.write(count > 0 ? "\n    ]" : "]");
+            if (profiler != null) {
+                writer.write(",\n    \"templates\": [");
+                List<TemplateProfiler.Stats> templates = profiler.stats();
+                for (i = 0; i < templates.size(); i++) {
+                    TemplateProfiler.Stats stats = templates.get(i);
+                    writer.write(i == 0 ? "\n" : ",\n");
+                    writer.write("        {\n");
+                    writer.write("            \"template\": " + jsonString(stats.template()) + ",\n");
+                    writer.write("            \"invocations\": " + stats.invocations() + ",\n");
+                    writer.write("            \"total\": " + millis(stats.totalNanos()) + ",\n");
+                    writer.write("            \"self\": " + millis(stats.selfNanos()) + ",\n");
+                    writer.write("            \"bytes\": " + stats.bytes() + "\n");
+                    writer.write("        }");
+                }
+                writer.write(templates.isEmpty() ? "]" : "\n    ]");
+            }
+            writer.write("\n}\n");
+        }
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+}
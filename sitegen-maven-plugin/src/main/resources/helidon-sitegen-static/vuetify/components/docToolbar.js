@@ -14,7 +14,7 @@
  * limitations under the License.
  */
 
-/* global Vue, lunr, search_index, searchIndex */
+/* global Vue, lunr, searchIndex, loadSearchShard */
 
 window.allComponents['docToolbar'] = {
     init: function(){
@@ -119,8 +119,7 @@ window.allComponents['docToolbar'] = {
             data: function () {
                 return{
                     results: [],
-                    values_: null,
-                    index_: null,
+                    value_: null,
                     searchMeta: messages.placeholder,
                     search: ''
                 };
@@ -128,11 +127,65 @@ window.allComponents['docToolbar'] = {
 
             watch: {
                 search(val) {
-                    /* Abort early, if index is not build or input hasn't changed */
-                    if (!this.index_ || val === this.value_)
+                    /* Abort early, if input hasn't changed */
+                    if (val === this.value_)
                         return;
 
                     this.value_ = val;
+                    this.runSearch();
+                }
+            },
+            created() {
+                /* Not reactive, the indexes are not observed */
+                this.shards_ = [];
+                this.pendingShards_ = [];
+            },
+            mounted() {
+                this.init();
+            },
+            methods: {
+                init() {
+                    const _this = this;
+                    searchIndex.then(function (search_index) {
+                        if (search_index.shards === undefined) {
+                            _this.addSearchShard(search_index);
+                            return;
+                        }
+
+                        /* Load the shard of the current page, the other shards are loaded when searching */
+                        _this.pendingShards_ = search_index.shards;
+                        const current = search_index.shards.find(shard => shard.routes.includes(_this.$route.path));
+                        if (current !== undefined)
+                            _this.loadSearchShard(current);
+                    }).catch(function (ex){
+                        console.error("searchIndex error", ex);
+                    });
+                },
+                loadSearchShard(shard) {
+                    const _this = this;
+                    this.pendingShards_ = this.pendingShards_.filter(pending => pending !== shard);
+                    loadSearchShard(shard).then(function (search_index) {
+                        _this.addSearchShard(search_index);
+                    }).catch(function (ex){
+                        console.error("searchIndex error", ex);
+                    });
+                },
+                setIsSearching(val) {
+                    this.$refs.toolbar.isScrolling = !val;
+                    this.$store.commit('sitegen/ISSEARCHING', val);
+                    if (val) {
+                        this.pendingShards_.forEach(shard => this.loadSearchShard(shard));
+                        this.$nextTick(() => {
+                            this.$refs.search.focus();
+                        });
+                    } else {
+                        this.search = null;
+                    }
+                },
+                runSearch() {
+                    /* Abort early, if no index is built */
+                    if (this.shards_.length === 0)
+                        return;
 
                     /* Abort early, if search input is empty */
                     if (this.value_ === null || this.value_.length === 0) {
@@ -141,38 +194,35 @@ window.allComponents['docToolbar'] = {
                         return;
                     }
 
-                    /* Perform search on index and group sections by document */
-                    const result = this.index_
-
-                            /* Append trailing wildcard to all terms for prefix querying */
-                            .query(query => {
-                                this.value_.toLowerCase().split(" ")
-                                        .filter(Boolean)
-                                        .forEach(term => {
-                                            query.term(term, {wildcard: lunr.Query.wildcard.LEADING | lunr.Query.wildcard.TRAILING});
-                                        });
-                            })
+                    /* Perform search on each index, append trailing wildcard to all terms for prefix querying.
+                       The scores of the shards are only comparable if the indexes are prebuilt with the site statistics */
+                    const terms = this.value_.toLowerCase().split(" ").filter(Boolean);
+                    const hits = [];
+                    this.shards_.forEach(shard => {
+                        shard.index
+                                .query(query => {
+                                    terms.forEach(term => {
+                                        query.term(term, {wildcard: lunr.Query.wildcard.LEADING | lunr.Query.wildcard.TRAILING});
+                                    });
+                                })
+                                .forEach(item => hits.push({doc: shard.docs.get(item.ref), score: item.score}));
+                    });
+                    hits.sort((hit1, hit2) => hit2.score - hit1.score);
 
-                            /* Process query results */
-                            .reduce((items, item) => {
-                                const doc = this.docs_.get(item.ref);
-                                //if (doc.parent) {
-                                //  const ref = doc.parent.location
-                                //  items.set(ref, (items.get(ref) || []).concat(item))
-                                //} else {
-                                const ref = doc.location;
-                                items.set(ref, (items.get(ref) || []));
-                                //}
-                                return items;
-                            }, new Map);
+                    /* Process query results, group sections by document */
+                    const docs = new Map;
+                    const result = hits.reduce((items, hit) => {
+                        const ref = hit.doc.location;
+                        docs.set(ref, hit.doc);
+                        items.set(ref, (items.get(ref) || []));
+                        return items;
+                    }, new Map);
 
                     /* Assemble regular expressions for matching */
                     const matches = [];
-                    this.value_.toLowerCase().split(" ")
-                            .filter(Boolean)
-                            .forEach(query => {
-                                matches.push(new RegExp(`(|${lunr.tokenizer.separator})(${query})`, "img"));
-                            });
+                    terms.forEach(query => {
+                        matches.push(new RegExp(`(|${lunr.tokenizer.separator})(${query})`, "img"));
+                    });
 
                     const highlight = (_, separator, token) =>
                             `${separator}<em>${token}</em>`;
@@ -180,7 +230,7 @@ window.allComponents['docToolbar'] = {
                     /* Reset stack and render results */
                     this.results = [];
                     result.forEach((items, ref) => {
-                        const doc = this.docs_.get(ref);
+                        const doc = docs.get(ref);
 
                         const entry = {};
 
@@ -196,8 +246,7 @@ window.allComponents['docToolbar'] = {
                         });
 
                         /* render sections */
-                        entry.sections = items.map(item => {
-                            const section = this.docs_.get(item.ref);
+                        entry.sections = items.map(section => {
                             const sectionEntry = {};
                             sectionEntry.location = section.location;
                             sectionEntry.title = section.title;
@@ -224,35 +273,11 @@ window.allComponents['docToolbar'] = {
                         default:
                             this.searchMeta = messages.other.replace("#", result.size);
                     }
-                }
-            },
-            mounted() {
-                this.init();
-            },
-            methods: {
-                init() {
-                    const _this = this;
-                    searchIndex.then(function (search_index) {
-                        _this.initDocSearch(search_index);
-                    }).catch(function (ex){
-                        console.error("searchIndex error", ex);
-                    });
                 },
-                setIsSearching(val) {
-                    this.$refs.toolbar.isScrolling = !val;
-                    this.$store.commit('sitegen/ISSEARCHING', val);
-                    if (val) {
-                        this.$nextTick(() => {
-                            this.$refs.search.focus();
-                        });
-                    } else {
-                        this.search = null;
-                    }
-                },
-                initDocSearch(search_index) {
+                addSearchShard(search_index) {
                     /* Preprocess and index sections and documents */
                     const data = search_index.docs;
-                    this.docs_ = data.reduce((docs, doc) => {
+                    const docs = data.reduce((docs, doc) => {
                         const [path, hash] = doc.location.split("#");
 
                         /* Associate section with parent document */
@@ -273,13 +298,8 @@ window.allComponents['docToolbar'] = {
                         return docs;
                     }, new Map);
 
-                    /* eslint-disable no-invalid-this */
-                    const docs = this.docs_,
-                            lang = this.lang_;
-
-                    /* Create stack and index */
-                    this.stack_ = [];
-                    this.index_ = lunr(function () {
+                    /* Load the prebuilt index, or create index */
+                    const index = search_index.index !== undefined ? lunr.Index.load(search_index.index) : lunr(function () {
                         const filters = {
                             "search.pipeline.trimmer": lunr.trimmer,
                             "search.pipeline.stopwords": lunr.stopWordFilter
@@ -304,6 +324,10 @@ window.allComponents['docToolbar'] = {
                         /* Index documents */
                         docs.forEach(doc => this.add(doc));
                     });
+                    this.shards_.push({docs: docs, index: index});
+
+                    /* Update the results, if searching */
+                    this.runSearch();
                 },
                 toggleSidebar() {
                     this.$store.commit('vuetify/SIDEBAR', !this.$store.state.sidebar);
@@ -14,12 +14,12 @@
  * limitations under the License.
  */
 
-/* global Vue, releases, Vuex, Vuetify, superagent */
+/* global Vue, releases, Vuex, Vuetify, superagent, assetPath */
 
 const config = createConfig();
 const navItems = createNav();
 const searchIndex = new Promise(function(resolve, reject){
-    superagent.get("main/search-index.json").end(function (error, response) {
+    superagent.get(assetPath("main/search-index.json")).end(function (error, response) {
       if(error){
         reject("unable to load search index: " + error);
         return;
@@ -28,6 +28,23 @@ const searchIndex = new Promise(function(resolve, reject){
     });
 });
 
+/**
+ * Load a shard of the search index.
+ * @param {Object} shard the shard, as described in the search index manifest
+ * @returns {Promise} a promise resolved with the shard index
+ */
+function loadSearchShard(shard){
+    return new Promise(function(resolve, reject){
+        superagent.get(assetPath(shard.path)).end(function (error, response) {
+          if(error){
+            reject("unable to load search index shard " + shard.path + ": " + error);
+            return;
+          }
+          resolve(JSON.parse(response.text));
+        });
+    });
+}
+
 function main() {
 
     // add components
@@ -16,6 +16,19 @@
 
 /* global superagent, Vue */
 
+/**
+ * Get the path of a generated file, the fingerprinted path if the site is
+ * generated with fingerprinting.
+ * @param {string} path the path of the generated file
+ * @returns {string} the path to load
+ */
+function assetPath(path){
+    if(window.assetPaths !== undefined && window.assetPaths[path] !== undefined){
+        return window.assetPaths[path];
+    }
+    return path;
+}
+
 function createPageTemplateElt(id, text){
     if(document.getElementById(id) === null){
         const scriptElt = document.createElement("script");
@@ -36,6 +49,42 @@ function createPageCustomElt(id, src, onload){
     }
 }
 
+const chunkLoads = {};
+
+/**
+ * Load a page chunk, the chunk is loaded once.
+ * @param {string} chunkPath the path of the chunk
+ * @returns {Promise} a promise resolved when the chunk is loaded
+ */
+function loadChunk(chunkPath){
+    if(chunkLoads[chunkPath] === undefined){
+        chunkLoads[chunkPath] = new Promise(function (resolve, reject) {
+            const scriptElt = document.createElement("script");
+            scriptElt.src = assetPath(chunkPath);
+            scriptElt.onload = resolve;
+            scriptElt.onerror = function(){
+                // allow a retry
+                delete chunkLoads[chunkPath];
+                document.body.removeChild(scriptElt);
+                reject("load of " + chunkPath + " failed");
+            };
+            document.body.appendChild(scriptElt);
+        });
+    }
+    return chunkLoads[chunkPath];
+}
+
+function resolveCustom(compDef, custom){
+    if(custom !== undefined){
+        if(custom.methods !== undefined){
+            compDef.methods = custom.methods;
+        }
+        if(custom.data !== undefined){
+            compDef.data = custom.data;
+        }
+    }
+}
+
 function loadPage(id, targetPath, compDef, customJsPath) {
     if (compDef === undefined) {
         compDef = {};
@@ -50,8 +99,18 @@ function loadPage(id, targetPath, compDef, customJsPath) {
                 return;
             }
 
+            // load the chunk of the page
+            if(window.pageChunks !== undefined && window.pageChunks[targetPath] !== undefined){
+                loadChunk(window.pageChunks[targetPath]).then(function(){
+                    resolveCustom(compDef, window.allCustoms[id]);
+                    createPageTemplateElt(id, window.allPages[id]);
+                    resolve(compDef);
+                }, reject);
+                return;
+            }
+
             // download the template
-            const page = "pages" + targetPath + ".js";
+            const page = assetPath("pages" + targetPath + ".js");
             superagent.get(page).end(function (error, response) {
 
                 // error loading page
@@ -68,14 +127,8 @@ function loadPage(id, targetPath, compDef, customJsPath) {
                 }
 
                 // resolve template and custom bindings
-                createPageCustomElt(id + "_custom", "pages/" + customJsPath, function(){
-                    const custom = window.allCustoms[id];
-                    if(custom.methods !== undefined){
-                        compDef.methods = custom.methods;
-                    }
-                    if(custom.data !== undefined){
-                        compDef.data = custom.data;
-                    }
+                createPageCustomElt(id + "_custom", assetPath("pages/" + customJsPath), function(){
+                    resolveCustom(compDef, window.allCustoms[id]);
                     createPageTemplateElt(id, response.text);
                     resolve(compDef);
                 });
@@ -13,6 +13,14 @@
   See the License for the specific language governing permissions and
   limitations under the License.
  -->
+<#if chunks?has_content>
+window.pageChunks = {
+<#list chunks?keys as route>
+    "${route?js_string}": "${chunks[route]}"<#sep>,</#sep>
+</#list>
+};
+
+</#if>
 function createConfig() {
     return {
         home: "${home.target?remove_beginning("/")}",
@@ -46,6 +46,7 @@
   <script>
       window.allComponents = {};
       window.allCustoms = {};
+      window.allPages = {};
   </script>
   <script src="components/mainView.js"></script>
   <script src="components/docView.js"></script>
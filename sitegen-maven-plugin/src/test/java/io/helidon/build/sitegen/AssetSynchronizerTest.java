@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import io.helidon.build.sitegen.StaticAsset.Sync;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static io.helidon.build.sitegen.TestHelper.getFile;
+import static io.helidon.common.CollectionsHelper.listOf;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests {@link AssetSynchronizer}.
+ */
+public class AssetSynchronizerTest {
+
+    private static final File TEST_DIR = getFile("target/asset-synchronizer-test");
+
+    private Path source;
+    private Path target;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        source = new File(TEST_DIR, "source/images/logo.png").toPath();
+        target = new File(TEST_DIR, "target/images/logo.png").toPath();
+        Files.createDirectories(source.getParent());
+        Files.deleteIfExists(target);
+        write(source, "logo", 1000L);
+    }
+
+    private static void write(Path file, String content, long time) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(time));
+    }
+
+    private static String read(Path file) throws IOException {
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testCopy() throws IOException {
+        AssetSynchronizer synchronizer = new AssetSynchronizer();
+        assertTrue(synchronizer.sync(source, target, Sync.COPY), "first copy");
+        assertTrue(synchronizer.sync(source, target, Sync.COPY), "second copy");
+        assertEquals("logo", read(target));
+    }
+
+    @Test
+    public void testSync() throws IOException {
+        AssetSynchronizer synchronizer = new AssetSynchronizer();
+        assertTrue(synchronizer.sync(source, target, Sync.SYNC), "first sync");
+        assertEquals("logo", read(target));
+        assertEquals(FileTime.fromMillis(1000L), Files.getLastModifiedTime(target));
+        assertFalse(synchronizer.sync(source, target, Sync.SYNC), "same time");
+
+        // same content, different time
+        Files.setLastModifiedTime(source, FileTime.fromMillis(2000L));
+        assertFalse(synchronizer.sync(source, target, Sync.SYNC), "same content");
+        assertEquals(FileTime.fromMillis(2000L), Files.getLastModifiedTime(target));
+
+        // same size, different content
+        write(source, "LOGO", 3000L);
+        assertTrue(synchronizer.sync(source, target, Sync.SYNC), "different content");
+        assertEquals("LOGO", read(target));
+    }
+
+    @Test
+    public void testLink() throws IOException {
+        AssetSynchronizer synchronizer = new AssetSynchronizer();
+        assertTrue(synchronizer.sync(source, target, Sync.LINK), "first link");
+        assertEquals("logo", read(target));
+        assertFalse(synchronizer.sync(source, target, Sync.LINK), "linked");
+
+        // a copy replaces the link
+        assertTrue(synchronizer.sync(source, target, Sync.COPY), "copy");
+        write(target, "copy", 4000L);
+        assertEquals("logo", read(source));
+    }
+
+    @Test
+    public void testOverlappingAssets() throws IOException {
+        File sourcedir = new File(TEST_DIR, "overlap-source");
+        File outputdir = new File(TEST_DIR, "overlap-output");
+        for (int i = 0; i < 32; i++) {
+            write(new File(sourcedir, "images/image" + i + ".png").toPath(), "image" + i, 1000L);
+            write(new File(sourcedir, "images/icon" + i + ".svg").toPath(), "icon" + i, 1000L);
+        }
+        Files.createDirectories(outputdir.toPath());
+        Site site = Site.builder()
+                .pages(listOf(SourcePathFilter.builder()
+                        .includes(listOf("**/*.adoc"))
+                        .build()))
+                .assets(listOf(
+                        StaticAsset.builder()
+                                .includes(listOf("images/**"))
+                                .target("static")
+                                .sync(Sync.COPY)
+                                .build(),
+                        StaticAsset.builder()
+                                .includes(listOf("**/*.png"))
+                                .target("static")
+                                .sync(Sync.SYNC)
+                                .build()))
+                .threads(4)
+                .build();
+        new RenderingContext(site, sourcedir, outputdir).copyStaticAssets();
+        for (int i = 0; i < 32; i++) {
+            // the last asset wins
+            Path image = new File(outputdir, "static/images/image" + i + ".png").toPath();
+            assertEquals("image" + i, read(image));
+            assertEquals(FileTime.fromMillis(1000L), Files.getLastModifiedTime(image));
+            Path icon = new File(outputdir, "static/images/icon" + i + ".svg").toPath();
+            assertEquals("icon" + i, read(icon));
+            assertNotEquals(FileTime.fromMillis(1000L), Files.getLastModifiedTime(icon));
+        }
+    }
+}
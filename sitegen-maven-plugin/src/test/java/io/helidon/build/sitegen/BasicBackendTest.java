@@ -17,6 +17,9 @@
 package io.helidon.build.sitegen;
 
 import java.io.File;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.jupiter.api.Test;
 
@@ -80,4 +83,40 @@ public class BasicBackendTest {
                 new File(sourcedir, "_expected.ftl"),
                 new File(OUTPUT_DIR, "passthrough.html"));
     }
+
+    @Test
+    public void testConcurrentSites() throws Exception {
+        File sourcedir1 = getFile(SOURCE_DIR_PREFIX + "testbasic1");
+        File sourcedir2 = getFile(SOURCE_DIR_PREFIX + "testbasic2");
+        File outputdir1 = getFile("target/basic-backend-test-concurrent1");
+        File outputdir2 = getFile("target/basic-backend-test-concurrent2");
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> site1 = executor.submit(() -> basicSite()
+                    .generate(sourcedir1, outputdir1));
+            Future<?> site2 = executor.submit(() -> basicSite()
+                    .generate(sourcedir2, outputdir2));
+            site1.get();
+            site2.get();
+        } finally {
+            executor.shutdownNow();
+        }
+        assertRendering(
+                outputdir1,
+                new File(sourcedir1, "_expected.ftl"),
+                new File(outputdir1, "basic.html"));
+        assertRendering(
+                outputdir2,
+                new File(sourcedir2, "_expected.ftl"),
+                new File(outputdir2, "example-manual.html"));
+    }
+
+    private static Site basicSite() {
+        return Site.builder()
+                .pages(listOf(SourcePathFilter.builder()
+                        .includes(listOf("**/*.adoc"))
+                        .excludes(listOf("**/_*"))
+                        .build()))
+                .build();
+    }
 }
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import io.helidon.build.sitegen.maven.BenchmarkMojo;
+
+import org.apache.maven.plugin.MojoFailureException;
+import org.junit.jupiter.api.Test;
+
+import static io.helidon.build.sitegen.TestHelper.getFile;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests {@link BenchmarkMojo}.
+ */
+public class BenchmarkMojoTest {
+
+    private static BenchmarkMojo benchmarkMojo(String pom, File outputdir) throws Exception {
+        return MavenPluginHelper.getInstance().getMojo(
+                "generate-mojo/" + pom,
+                outputdir,
+                "benchmark",
+                BenchmarkMojo.class);
+    }
+
+    private static File baselineFile(File outputdir) throws IOException {
+        File baseline = new File(outputdir, "sitegen-benchmark-baseline.json");
+        Files.deleteIfExists(baseline.toPath());
+        return baseline;
+    }
+
+    @Test
+    public void testBaseline() throws Exception {
+        File outputdir = getFile("target/benchmark-mojo");
+        File baseline = baselineFile(outputdir);
+
+        // creates the missing baseline
+        benchmarkMojo("pom-benchmark.xml", outputdir).execute();
+        assertTrue(baseline.exists());
+        String content = new String(Files.readAllBytes(baseline.toPath()), StandardCharsets.UTF_8);
+        assertTrue(content.contains("\"render\":"), content);
+        assertTrue(content.contains("\"total\":"), content);
+
+        // compares with the baseline, within the noise floor
+        benchmarkMojo("pom-benchmark.xml", outputdir).execute();
+    }
+
+    @Test
+    public void testRegression() throws Exception {
+        File outputdir = getFile("target/benchmark-mojo-regression");
+        File baseline = baselineFile(outputdir);
+        Files.createDirectories(outputdir.toPath());
+        Files.write(baseline.toPath(), "{ \"total\": 0.0 }".getBytes(StandardCharsets.UTF_8));
+
+        BenchmarkMojo mojo = benchmarkMojo("pom-benchmark-regression.xml", outputdir);
+        assertThrows(MojoFailureException.class, mojo::execute);
+    }
+}
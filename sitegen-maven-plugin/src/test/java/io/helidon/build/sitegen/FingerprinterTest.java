@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static io.helidon.build.sitegen.TestHelper.getFile;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests {@link Fingerprinter}.
+ */
+public class FingerprinterTest {
+
+    private static final File OUTPUT_DIR = getFile("target/fingerprinter-test");
+
+    private static void write(String path, String content) throws IOException {
+        File file = new File(OUTPUT_DIR, path);
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String read(String path) throws IOException {
+        return new String(Files.readAllBytes(new File(OUTPUT_DIR, path).toPath()),
+                StandardCharsets.UTF_8);
+    }
+
+    private static void generate(String app) throws IOException {
+        write("index.html", "<script src=\"main/app.js\"></script>\n"
+                + "<script src=\"main/config.js\"></script>\n"
+                + "<script src=\"https://unpkg.com/vue.js\"></script>\n");
+        write("main/config.js", "function createConfig() {}\n");
+        write("main/app.js", app);
+        write("pages/nested/page.js", "page");
+        write("images/logo.png", "logo");
+    }
+
+    @Test
+    public void testFingerprintedName() {
+        assertEquals("main/app.abc.js", Fingerprinter.fingerprintedName("main/app.js", "abc"));
+        assertEquals("main/app.min.abc.js", Fingerprinter.fingerprintedName("main/app.min.js", "abc"));
+        assertEquals("a.b/LICENSE.abc", Fingerprinter.fingerprintedName("a.b/LICENSE", "abc"));
+    }
+
+    @Test
+    public void testFingerprint() throws IOException {
+        generate("app1");
+        Map<String, String> mapping = new Fingerprinter(OUTPUT_DIR).fingerprint();
+        assertEquals(3, mapping.size());
+        assertFalse(mapping.containsKey("images/logo.png"), "not included");
+
+        String app = mapping.get("main/app.js");
+        String page = mapping.get("pages/nested/page.js");
+        String config = mapping.get("main/config.js");
+        assertTrue(app.matches("main/app\\.[0-9a-f]{12}\\.js"), app);
+        assertTrue(page.matches("pages/nested/page\\.[0-9a-f]{12}\\.js"), page);
+        assertEquals("app1", read(app));
+        assertEquals("page", read(page));
+        assertEquals("app1", read("main/app.js"));
+
+        // config.js has the mapping of the other files
+        String configContent = read(config);
+        assertEquals(read("main/config.js"), configContent);
+        assertTrue(configContent.contains("\"pages/nested/page.js\": \"" + page + "\""), configContent);
+
+        // index.html references the fingerprinted files
+        String index = read("index.html");
+        assertTrue(index.contains("src=\"" + app + "\""), index);
+        assertTrue(index.contains("src=\"" + config + "\""), index);
+        assertTrue(index.contains("src=\"https://unpkg.com/vue.js\""), index);
+
+        assertTrue(read(Fingerprinter.MANIFEST_FILE).contains("\"main/app.js\": \"" + app + "\""), "manifest");
+
+        // unchanged
+        generate("app1");
+        assertEquals(mapping, new Fingerprinter(OUTPUT_DIR).fingerprint());
+
+        // changed, the stale copy is removed
+        generate("app2");
+        Map<String, String> mapping2 = new Fingerprinter(OUTPUT_DIR).fingerprint();
+        assertNotEquals(app, mapping2.get("main/app.js"));
+        assertNotEquals(config, mapping2.get("main/config.js"));
+        assertEquals(page, mapping2.get("pages/nested/page.js"));
+        assertEquals("app2", read(mapping2.get("main/app.js")));
+        assertFalse(new File(OUTPUT_DIR, app).exists(), "stale copy");
+        assertFalse(new File(OUTPUT_DIR, config).exists(), "stale copy");
+    }
+}
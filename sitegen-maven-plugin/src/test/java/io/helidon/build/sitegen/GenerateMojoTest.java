@@ -17,6 +17,8 @@
 package io.helidon.build.sitegen;
 
 import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 
 import io.helidon.build.sitegen.maven.GenerateMojo;
 
@@ -27,7 +29,9 @@ import static io.helidon.build.sitegen.TestHelper.assertString;
 import static io.helidon.build.sitegen.TestHelper.assertType;
 import static io.helidon.build.sitegen.TestHelper.getFile;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  *
@@ -50,6 +54,40 @@ public class GenerateMojoTest {
         assertEquals("basic", site.getBackend().getName());
     }
 
+    @Test
+    public void testGenerationReport() throws Exception {
+        File report = new File(OUTPUT_DIR, "sitegen-report.json");
+        Files.deleteIfExists(report.toPath());
+        GenerateMojo mojo = MavenPluginHelper.getInstance().getMojo(
+                "generate-mojo/pom-basic-backend.xml",
+                OUTPUT_DIR,
+                "generate",
+                GenerateMojo.class);
+        mojo.execute();
+        assertTrue(report.exists(), "report not found");
+        String content = new String(Files.readAllBytes(report.toPath()), StandardCharsets.UTF_8);
+        assertTrue(content.contains("\"render\":"), content);
+        assertFalse(content.contains("\"jruby\":"), content);
+        assertTrue(content.contains("\"slowestPages\": [\n"), content);
+    }
+
+    @Test
+    public void testGenerationReportProfileTemplates() throws Exception {
+        File report = new File(OUTPUT_DIR, "sitegen-report.json");
+        Files.deleteIfExists(report.toPath());
+        GenerateMojo mojo = MavenPluginHelper.getInstance().getMojo(
+                "generate-mojo/pom-profile-templates.xml",
+                OUTPUT_DIR,
+                "generate",
+                GenerateMojo.class);
+        mojo.execute();
+        assertTrue(report.exists(), "report not found");
+        String content = new String(Files.readAllBytes(report.toPath()), StandardCharsets.UTF_8);
+        assertTrue(content.contains("\"render\":"), content);
+        assertTrue(content.contains("\"jruby\":"), content);
+        assertTrue(content.contains("\"templates\": [\n"), content);
+    }
+
     @Test
     public void testVuetifyBackendConfiguration() throws Exception {
         GenerateMojo mojo = MavenPluginHelper.getInstance().getMojo(
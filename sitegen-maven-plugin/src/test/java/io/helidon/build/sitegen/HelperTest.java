@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import static io.helidon.build.sitegen.Helper.jsonString;
+import static io.helidon.build.sitegen.Helper.utf8Length;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests {@link Helper}.
+ */
+public class HelperTest {
+
+    @Test
+    public void testJsonString() {
+        assertEquals("null", jsonString(null));
+        assertEquals("\"\"", jsonString(""));
+        assertEquals("\"a\\\"b\\\\c\"", jsonString("a\"b\\c"));
+        assertEquals("\"\\n\\r\\t\\u0001\"", jsonString("\n\r\t\u0001"));
+        assertEquals("\"a\\u2028b\\u2029c\"", jsonString("a\u2028b\u2029c"));
+    }
+
+    @Test
+    public void testUtf8Length() {
+        assertEquals(0, utf8Length(""));
+        assertEquals(3, utf8Length("abc"));
+        assertEquals(2, utf8Length("\u00e9"));
+        assertEquals(3, utf8Length("\u20ac"));
+        assertEquals(4, utf8Length("\ud83d\ude00"));
+        for (String str : new String[]{"a\u00e9b\u20acc\ud83d\ude00", "\u4e2d\u6587"}) {
+            assertEquals(str.getBytes(StandardCharsets.UTF_8).length, utf8Length(str));
+        }
+        assertEquals(2, utf8Length('\ud83d'));
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.junit.jupiter.api.Test;
+
+import static io.helidon.common.CollectionsHelper.listOf;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests {@link LunrIndex}.
+ */
+public class LunrIndexTest {
+
+    @Test
+    public void testTokenize() {
+        assertEquals(listOf("foo", "bar", "(baz)"), LunrIndex.tokenize(" Foo-BAR\t\n (baz)  "));
+        assertEquals(listOf(), LunrIndex.tokenize(null));
+    }
+
+    @Test
+    public void testPipeline() {
+        assertEquals(listOf("foo", "bar", "a.b"),
+                LunrIndex.pipeline(listOf("(foo)", "the", "bar!", "a.b")));
+    }
+
+    @Test
+    public void testWrite() throws IOException {
+        LunrIndex index = new LunrIndex();
+        index.add(new SearchEntry("/a", "Hello world", "Page a"));
+        // same title as the page, merged with the page
+        index.add(new SearchEntry("/a#intro", "intro text", "Page a"));
+        index.add(new SearchEntry("/a#usage", "config server, config", "Usage"));
+        StringWriter writer = new StringWriter();
+        index.write(writer);
+        String json = writer.toString();
+
+        assertTrue(json.startsWith("{\"version\": \"" + LunrIndex.VERSION + "\""), json);
+        assertTrue(json.contains("[\"title//a\", [0,"), json);
+        assertTrue(json.contains("[\"text//a#usage\", ["), json);
+        assertFalse(json.contains("/a#intro"), json);
+        assertFalse(json.contains("hello"), json);
+        assertTrue(json.contains("[\"intro\", {\"_index\": 1, \"title\": {}, \"text\": {\"/a\": {}}}]"), json);
+        assertTrue(json.contains("[\"usage\", {\"_index\": 3, \"title\": {\"/a#usage\": {}}, \"text\": {}}]"), json);
+        assertTrue(json.indexOf("[\"config\"") < json.indexOf("[\"usage\""), json);
+        assertTrue(json.endsWith("\"pipeline\": [\"stemmer\"]}"), json);
+    }
+
+    @Test
+    public void testStatistics() throws IOException {
+        SearchEntry entryA = new SearchEntry("/a", "common text", "Alpha");
+        SearchEntry entryB = new SearchEntry("/b", "common words, more common words", "Beta");
+        LunrIndex shardA = new LunrIndex();
+        shardA.add(entryA);
+        LunrIndex shardB = new LunrIndex();
+        shardB.add(entryB);
+        LunrIndex corpus = new LunrIndex();
+        corpus.add(entryA);
+        corpus.add(entryB);
+        LunrIndex.Statistics statistics = new LunrIndex.Statistics();
+        statistics.add(shardA);
+        statistics.add(shardB);
+
+        String vectorA = fieldVector(write(corpus, null), "text//a");
+        assertEquals(vectorA, fieldVector(write(shardA, statistics), "text//a"));
+        assertNotEquals(vectorA, fieldVector(write(shardA, null), "text//a"));
+    }
+
+    private static String write(LunrIndex index, LunrIndex.Statistics statistics) throws IOException {
+        StringWriter writer = new StringWriter();
+        index.write(writer, statistics);
+        return writer.toString();
+    }
+
+    private static String fieldVector(String json, String ref) {
+        int start = json.indexOf("[\"" + ref + "\", [");
+        assertTrue(start >= 0, json);
+        return json.substring(start, json.indexOf("]]", start));
+    }
+}
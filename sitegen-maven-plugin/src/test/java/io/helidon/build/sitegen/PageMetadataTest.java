@@ -17,11 +17,11 @@
 package io.helidon.build.sitegen;
 
 import java.io.File;
+import java.util.Map;
 
 import io.helidon.build.sitegen.Page.Metadata;
 import io.helidon.build.sitegen.asciidoctor.AsciidocEngine;
 import io.helidon.build.sitegen.asciidoctor.AsciidocPageRenderer;
-import io.helidon.build.sitegen.freemarker.FreemarkerEngine;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -29,8 +29,10 @@ import org.junit.jupiter.api.Test;
 import static io.helidon.build.sitegen.TestHelper.SOURCE_DIR_PREFIX;
 import static io.helidon.build.sitegen.TestHelper.assertString;
 import static io.helidon.build.sitegen.TestHelper.getFile;
+import static io.helidon.common.CollectionsHelper.listOf;
 import org.junit.jupiter.api.AfterAll;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -41,25 +43,28 @@ import static org.junit.jupiter.api.Assertions.fail;
 public class PageMetadataTest {
 
     private static final File SOURCEDIR = getFile(SOURCE_DIR_PREFIX + "testmetadata");
-    private static final String BACKEND_NAME = "dummy";
+    private static final File OUTPUTDIR = getFile("target/page-metadata-test");
     private static AsciidocPageRenderer pageRenderer;
+    private static RenderingContext ctx;
 
     @BeforeAll
     public static void init(){
-        SiteEngine.register(BACKEND_NAME, new SiteEngine(
-                new FreemarkerEngine(BACKEND_NAME, null, null),
-                new AsciidocEngine(BACKEND_NAME, null, null, null)));
-        pageRenderer = new AsciidocPageRenderer(BACKEND_NAME);
+        Site site = Site.builder()
+                .pages(listOf(SourcePathFilter.builder()
+                        .includes(listOf("with_description.adoc"))
+                        .build()))
+                .build();
+        ctx = new RenderingContext(site, SOURCEDIR, OUTPUTDIR);
+        pageRenderer = new AsciidocPageRenderer();
     }
 
     @AfterAll
     public static void cleanup(){
-        SiteEngine.get(BACKEND_NAME).asciidoc().unregister();
-        SiteEngine.deregister(BACKEND_NAME);
+        ctx.getSite().getEngine().asciidoc().unregister();
     }
 
     private static Metadata readMetadata(String fname){
-        return pageRenderer.readMetadata(new File(SOURCEDIR, fname));
+        return pageRenderer.readMetadata(new File(SOURCEDIR, fname), ctx);
     }
 
     @Test
@@ -129,4 +134,41 @@ public class PageMetadataTest {
         }
         assertString("keyword1, keyword2, keyword3", m.getKeywords(), "metadata.keywords");
     }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testDeprecatedReadMetadata(){
+        Metadata expected = readMetadata("with_keywords.adoc");
+        Metadata m = new AsciidocPageRenderer(BasicBackend.BACKEND_NAME)
+                .readMetadata(new File(SOURCEDIR, "with_keywords.adoc"));
+        assertEquals(expected.getTitle(), m.getTitle(), "metadata.title");
+        assertEquals(expected.getKeywords(), m.getKeywords(), "metadata.keywords");
+
+        Map<String, Page> pages = Page.create(
+                listOf(new SourcePath("with_description.adoc"), new SourcePath("with_keywords.adoc")),
+                listOf(SourcePathFilter.builder().includes(listOf("with_description.adoc")).build()),
+                SOURCEDIR,
+                new BasicBackend());
+        assertEquals(1, pages.size());
+        assertString("This is a description", pages.get("with_description.adoc").getMetadata().getDescription(),
+                "metadata.description");
+    }
+
+    @Test
+    public void testPageWithOutputdir(){
+        AsciidocEngine engine = ctx.getSite().getEngine().asciidoc();
+        for (String fname : new String[]{
+                "no_description.adoc",
+                "title_and_h1.adoc",
+                "with_description.adoc",
+                "with_keywords.adoc"}) {
+            File source = new File(SOURCEDIR, fname);
+            Map<String, Object> expected = engine.readDocumentHeader(source);
+            Map<String, Object> header = engine.readDocumentHeader(source, OUTPUTDIR);
+            for (String key : new String[]{"doctitle", "h1", "description", "keywords"}) {
+                assertEquals(expected.get(key), header.get(key), fname + " " + key);
+            }
+        }
+        engine.clearDocumentCache();
+    }
 }
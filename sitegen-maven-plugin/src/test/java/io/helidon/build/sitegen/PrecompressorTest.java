@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+
+import static io.helidon.build.sitegen.TestHelper.getFile;
+import static io.helidon.common.CollectionsHelper.listOf;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests {@link Precompressor}.
+ */
+public class PrecompressorTest {
+
+    private static final File OUTPUT_DIR = getFile("target/precompressor-test");
+
+    private static String content(int lines) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            sb.append("<p>line ").append(i).append("</p>\n");
+        }
+        return sb.toString();
+    }
+
+    private static void write(String path, String content) throws IOException {
+        File file = new File(OUTPUT_DIR, path);
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String gunzip(String path) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (InputStream is = new GZIPInputStream(
+                Files.newInputStream(new File(OUTPUT_DIR, path).toPath()))) {
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = is.read(buffer)) != -1) {
+                baos.write(buffer, 0, read);
+            }
+        }
+        return new String(baos.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testCompress() throws IOException {
+        write("index.html", content(200));
+        write("main/app.js", content(100));
+        write("main/small.js", "small");
+        write("pages/page.js", content(100));
+        write("pages/nested/page.js", content(100));
+        write("images/logo.png", content(100));
+
+        Precompressor precompressor = new Precompressor(null, Precompressor.DEFAULT_MIN_SIZE, 2);
+        assertEquals(4, precompressor.compress(OUTPUT_DIR));
+        assertEquals(content(200), gunzip("index.html.gz"));
+        assertEquals(content(100), gunzip("main/app.js.gz"));
+        assertFalse(new File(OUTPUT_DIR, "main/small.js.gz").exists(), "small file");
+        assertEquals(content(100), gunzip("pages/page.js.gz"));
+        assertEquals(content(100), gunzip("pages/nested/page.js.gz"));
+        assertFalse(new File(OUTPUT_DIR, "images/logo.png.gz").exists(), "not included");
+
+        // up-to-date
+        assertEquals(0, precompressor.compress(OUTPUT_DIR));
+
+        write("index.html", content(300));
+        File index = new File(OUTPUT_DIR, "index.html");
+        Files.setLastModifiedTime(index.toPath(), FileTime.fromMillis(index.lastModified() + 10000));
+        assertEquals(1, precompressor.compress(OUTPUT_DIR));
+        assertEquals(content(300), gunzip("index.html.gz"));
+
+        // compressed format
+        precompressor = new Precompressor(listOf("images/**"), 0, 1);
+        assertEquals(0, precompressor.compress(OUTPUT_DIR));
+        assertTrue(new File(OUTPUT_DIR, "images/logo.png").exists());
+    }
+}
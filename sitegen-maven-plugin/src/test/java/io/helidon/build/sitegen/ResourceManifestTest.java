@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+
+import static io.helidon.build.sitegen.TestHelper.getFile;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Tests {@link ResourceManifest}.
+ */
+public class ResourceManifestTest {
+
+    private static final Path VUETIFY_RESOURCES =
+            getFile("src/main/resources/helidon-sitegen-static/vuetify").toPath();
+    private static final File OUTPUT_DIR = getFile("target/resource-manifest-test");
+
+    @Test
+    public void testManifestUpToDate() throws IOException {
+        ResourceManifest manifest = ResourceManifest.load(VUETIFY_RESOURCES);
+        assertNotNull(manifest, "manifest");
+        assertEquals(ResourceManifest.create(VUETIFY_RESOURCES).toString(), manifest.toString(),
+                ResourceManifest.manifestFile(VUETIFY_RESOURCES) + " is outdated");
+    }
+
+    @Test
+    public void testCopy() throws IOException {
+        ResourceManifest manifest = ResourceManifest.load(VUETIFY_RESOURCES);
+        assertNotNull(manifest, "manifest");
+        manifest.copy(VUETIFY_RESOURCES, OUTPUT_DIR);
+        assertEquals(0, manifest.copy(VUETIFY_RESOURCES, OUTPUT_DIR), "up-to-date");
+
+        Path appJs = OUTPUT_DIR.toPath().resolve("main/app.js");
+        Files.write(appJs, "modified".getBytes(StandardCharsets.UTF_8));
+        Files.delete(OUTPUT_DIR.toPath().resolve("libs/superagent.js"));
+        assertEquals(2, manifest.copy(VUETIFY_RESOURCES, OUTPUT_DIR), "modified");
+        assertEquals(new String(Files.readAllBytes(VUETIFY_RESOURCES.resolve("main/app.js")),
+                StandardCharsets.UTF_8),
+                new String(Files.readAllBytes(appJs), StandardCharsets.UTF_8));
+        assertEquals(manifest.toString(), ResourceManifest.create(OUTPUT_DIR.toPath()).toString());
+    }
+}
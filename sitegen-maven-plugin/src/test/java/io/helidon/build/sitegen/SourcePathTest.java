@@ -16,6 +16,8 @@
 
 package io.helidon.build.sitegen;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -23,6 +25,7 @@ import java.util.List;
 import org.junit.jupiter.api.Test;
 
 import static io.helidon.build.sitegen.SourcePath.wildcardMatch;
+import static io.helidon.build.sitegen.TestHelper.getFile;
 import static io.helidon.common.CollectionsHelper.listOf;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -83,6 +86,118 @@ public class SourcePathTest {
         assertEquals(true, path2.matches("**/*.html"), "**/*.html");
     }
 
+    @Test
+    public void testCompiledPatterns(){
+        SourcePath path = new SourcePath("abc/def/ghi/index.html");
+        assertEquals(true, SourcePattern.compile("abc/def").matches(path), "leading segments");
+        assertEquals(true, SourcePattern.compile("abc/**/**/index.html").matches(path), "abc/**/**/index.html");
+        assertEquals(true, SourcePattern.compile("**/def/**/*.html").matches(path), "**/def/**/*.html");
+        assertEquals(false, SourcePattern.compile("abc/**/abc").matches(path), "abc/**/abc");
+        assertEquals(false, SourcePattern.compile("abc/def/ghi/index.html/foo").matches(path), "longer pattern");
+        assertEquals(false, new SourcePath("abc/def").matches("abc/**/abc"), "abc/**/abc");
+
+        // many double wildcards on a deep path
+        StringBuilder deepPath = new StringBuilder();
+        StringBuilder deepPattern = new StringBuilder();
+        for (int i = 0; i < 40; i++) {
+            deepPath.append("d").append(i).append('/');
+        }
+        for (int i = 0; i < 12; i++) {
+            deepPattern.append("**/d*/");
+        }
+        deepPath.append("index.adoc");
+        deepPattern.append("**/*.html");
+        assertEquals(false, SourcePattern.compile(deepPattern.toString())
+                .matches(new SourcePath(deepPath.toString())), "deep pattern");
+    }
+
+    @Test
+    public void testEqualsAndHashCode(){
+        SourcePath path = new SourcePath("abc/def/index.html");
+        SourcePath child = new SourcePath(new SourcePath("abc/def"), "index.html");
+        assertEquals(path, child);
+        assertEquals(path.hashCode(), child.hashCode(), "hash code");
+        assertEquals("/abc/def/index.html", child.asString());
+        assertNotEquals(new SourcePath("abc/def"), path, "parent path");
+        assertNotEquals(path, new SourcePath("abc/def"), "child path");
+        assertNotEquals(new SourcePath("abc/ghi/index.html"), path, "sibling path");
+        assertEquals(new SourcePath("."), new SourcePath("./."));
+        assertEquals("/", new SourcePath(".").asString());
+
+        List<SourcePath> paths = new ArrayList<>();
+        paths.add(new SourcePath("abc/def/index.html"));
+        paths.add(new SourcePath("abc"));
+        paths.add(new SourcePath("abc/def"));
+        paths.add(new SourcePath("abc/bar.html"));
+        paths.add(new SourcePath("."));
+        assertEquals("/\n/abc\n/abc/bar.html\n/abc/def\n/abc/def/index.html",
+                printPaths(SourcePath.sort(paths)));
+    }
+
+    @Test
+    public void testIndexFiltering(){
+        List<SourcePath> paths = new ArrayList<>();
+        paths.add(new SourcePath("abc/def/index.html"));
+        paths.add(new SourcePath("abc/index.html"));
+        paths.add(new SourcePath("abc/def/ghi/index.adoc"));
+        paths.add(new SourcePath("abc/def/index.html"));
+        paths.add(new SourcePath("index.html"));
+
+        SourcePathIndex<SourcePath> index = SourcePathIndex.of(paths);
+        assertEquals(4, index.size(), "duplicated paths");
+
+        // overlapping includes, sorted without duplicates
+        List<SourcePath> filtered = index.filter(
+                SourcePattern.compile(listOf("abc/**", "**/*.html", "abc/def")),
+                SourcePattern.compile(listOf("**/ghi/**")));
+        assertEquals("/abc/def/index.html\n/abc/index.html\n/index.html",
+                printPaths(filtered));
+
+        filtered = SourcePath.filter(paths, listOf("**/index.*", "abc/**"), null);
+        assertEquals("/abc/def/ghi/index.adoc\n/abc/def/index.html\n/abc/index.html\n/index.html",
+                printPaths(filtered));
+
+        filtered = index.filter(SourcePattern.compile(listOf("**/*.html")),
+                SourcePattern.compile(listOf("abc/def/index.html")));
+        assertEquals("/abc/index.html\n/index.html", printPaths(filtered));
+
+        assertEquals(0, index.filter(SourcePattern.compile(listOf("foo/**")), null).size());
+    }
+
+    @Test
+    public void testScan() throws IOException {
+        File dir = getFile("target/source-path-scan-test");
+        for (String path : listOf("docs/index.adoc", "docs/guides/intro.adoc",
+                "docs/images/logo.png", "node_modules/foo/index.adoc", "README.md")) {
+            File file = new File(dir, path);
+            file.getParentFile().mkdirs();
+            file.createNewFile();
+        }
+
+        assertEquals("/README.md\n/docs/guides/intro.adoc\n/docs/images/logo.png"
+                + "\n/docs/index.adoc\n/node_modules/foo/index.adoc",
+                printPaths(SourcePath.scan(dir)));
+
+        List<SourcePath> scanned = new SourcePathScanner(dir)
+                .filter(SourcePattern.compile(listOf("**/*.adoc")),
+                        SourcePattern.compile(listOf("node_modules")))
+                .filter(SourcePattern.compile(listOf("docs/images")),
+                        SourcePattern.compile(listOf("**/*.svg")))
+                .scan();
+        assertEquals("/docs/guides/intro.adoc\n/docs/images/logo.png\n/docs/index.adoc",
+                printPaths(scanned));
+    }
+
+    @Test
+    public void testSharedParents() {
+        SourcePath path1 = new SourcePath("docs/guides/intro.adoc");
+        SourcePath path2 = new SourcePath("/docs/guides/config.adoc");
+        assertSame(path1.getParent(), path2.getParent());
+        assertSame(path1.getParent().getParent(), new SourcePath("docs/index.adoc").getParent());
+        assertNull(new SourcePath("index.adoc").getParent());
+        assertEquals("/docs/guides", path1.getParent().asString());
+    }
+
     private static String printPaths(List<SourcePath> paths){
         StringBuilder sb = new StringBuilder();
         Iterator<SourcePath> it = paths.iterator();
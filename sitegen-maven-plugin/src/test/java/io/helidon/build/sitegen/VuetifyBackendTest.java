@@ -17,8 +17,10 @@
 package io.helidon.build.sitegen;
 
 import java.io.File;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
+import java.util.regex.Pattern;
 
 import io.helidon.build.sitegen.asciidoctor.AsciidocEngine;
 
@@ -37,14 +39,12 @@ import static org.junit.jupiter.api.Assertions.*;
  */
 public class VuetifyBackendTest {
 
-    @Test
-    public void testVuetify1() throws Exception {
-
-        File sourcedir = getFile(SOURCE_DIR_PREFIX + "testvuetify1");
-        Path outputdirPath = FileSystems.getDefault().getPath("target", "vuetify-backend-test", "testvuetify1");
-        File outputdir = getFile(outputdirPath.toString());
+    private static Site.Builder testVuetify1Site() {
+        return testVuetify1Site(VuetifyBackend.builder());
+    }
 
-        Site.builder()
+    private static Site.Builder testVuetify1Site(VuetifyBackend.Builder backend) {
+        return Site.builder()
                 .pages(listOf(SourcePathFilter.builder()
                         .includes(listOf("**/*.adoc"))
                         .build()))
@@ -52,7 +52,7 @@ public class VuetifyBackendTest {
                         .includes(listOf("sunset.jpg"))
                         .target("images")
                         .build()))
-                .backend(VuetifyBackend.builder()
+                .backend(backend
                         .homePage("home.adoc")
                         .releases(listOf("1.0"))
                         .navigation(VuetifyNavigation.builder()
@@ -107,7 +107,17 @@ public class VuetifyBackendTest {
                                         .title("Main documentation")
                                         .build()))
                                 .build())
-                        .build())
+                        .build());
+    }
+
+    @Test
+    public void testVuetify1() throws Exception {
+
+        File sourcedir = getFile(SOURCE_DIR_PREFIX + "testvuetify1");
+        Path outputdirPath = FileSystems.getDefault().getPath("target", "vuetify-backend-test", "testvuetify1");
+        File outputdir = getFile(outputdirPath.toString());
+
+        testVuetify1Site()
                 .build()
                 .generate(sourcedir, outputdir);
 
@@ -132,6 +142,162 @@ public class VuetifyBackendTest {
 
     }
 
+    @Test
+    public void testVuetify1Parallel() throws Exception {
+        File sourcedir = getFile(SOURCE_DIR_PREFIX + "testvuetify1");
+        File sequentialdir = getFile("target/vuetify-backend-test/testvuetify1-sequential");
+        File paralleldir = getFile("target/vuetify-backend-test/testvuetify1-parallel");
+
+        testVuetify1Site().threads(1).build().generate(sourcedir, sequentialdir);
+        testVuetify1Site().threads(4).build().generate(sourcedir, paralleldir);
+
+        assertSameContent(sequentialdir, paralleldir, "main/search-index.json");
+        assertSameContent(sequentialdir, paralleldir, "main/config.js");
+        assertSameContent(sequentialdir, paralleldir, "index.html");
+        File[] pages = new File(sequentialdir, "pages").listFiles();
+        assertNotNull(pages);
+        assertTrue(pages.length > 1);
+        for (File page : pages) {
+            assertSameContent(sequentialdir, paralleldir, "pages/" + page.getName());
+        }
+    }
+
+    @Test
+    public void testVuetify1Incremental() throws Exception {
+        File sourcedir = getFile(SOURCE_DIR_PREFIX + "testvuetify1");
+        File fulldir = getFile("target/vuetify-backend-test/testvuetify1-full");
+        File incrementaldir = getFile("target/vuetify-backend-test/testvuetify1-incremental");
+        File manifestFile = new File(incrementaldir, "sitegen-manifest.bin");
+        Files.deleteIfExists(manifestFile.toPath());
+
+        Site site = testVuetify1Site().build();
+        site.generate(sourcedir, fulldir);
+        site.generate(sourcedir, incrementaldir, new BuildManifest(manifestFile, "digest"));
+        assertTrue(manifestFile.exists());
+
+        // second pass restores all the pages from the manifest
+        File home = new File(incrementaldir, "pages/home.js");
+        long lastModified = home.lastModified();
+        site.generate(sourcedir, incrementaldir, new BuildManifest(manifestFile, "digest"));
+        assertEquals(lastModified, home.lastModified());
+
+        assertSameContent(fulldir, incrementaldir, "main/search-index.json");
+        assertSameContent(fulldir, incrementaldir, "main/config.js");
+        assertSameContent(fulldir, incrementaldir, "index.html");
+    }
+
+    @Test
+    public void testIncrementalAddedPage() throws Exception {
+        File sourcedir = getFile("target/vuetify-backend-test/incremental-added-page-src");
+        File outputdir = getFile("target/vuetify-backend-test/incremental-added-page");
+        File manifestFile = new File(outputdir, "sitegen-manifest.bin");
+        Files.deleteIfExists(manifestFile.toPath());
+        File added = new File(sourcedir, "added.adoc");
+        Files.deleteIfExists(added.toPath());
+        sourcedir.mkdirs();
+        Files.write(new File(sourcedir, "home.adoc").toPath(),
+                "= Home\n:description: home\n:keywords: home\n\nSee <<added.adoc,added page>>.\n"
+                        .getBytes(StandardCharsets.UTF_8));
+
+        Site site = Site.builder()
+                .backend(VuetifyBackend.builder()
+                        .homePage("home.adoc")
+                        .build())
+                .build();
+        site.generate(sourcedir, outputdir, new BuildManifest(manifestFile, "digest"));
+        assertFalse(read(outputdir, "pages/home.js").contains("/added"), "unresolved link");
+
+        // home.adoc is unchanged but its link is resolved
+        Files.write(added.toPath(), "= Added\n:description: added\n:keywords: added\n\nAdded page.\n"
+                .getBytes(StandardCharsets.UTF_8));
+        site.generate(sourcedir, outputdir, new BuildManifest(manifestFile, "digest"));
+        assertTrue(new File(outputdir, "pages/added.js").exists());
+        assertTrue(read(outputdir, "pages/home.js").contains("/added"), "resolved link");
+    }
+
+    @Test
+    public void testVuetify1Chunks() throws Exception {
+        File sourcedir = getFile(SOURCE_DIR_PREFIX + "testvuetify1");
+        File outputdir = getFile("target/vuetify-backend-test/testvuetify1-chunks");
+
+        testVuetify1Site(VuetifyBackend.builder().chunks(true).chunkMaxPages(2))
+                .build()
+                .generate(sourcedir, outputdir);
+
+        File[] chunks = new File(outputdir, "chunks").listFiles();
+        assertNotNull(chunks);
+        assertTrue(chunks.length > 1);
+        int numPages = 0;
+        for (File chunk : chunks) {
+            int chunkPages = count(read(outputdir, "chunks/" + chunk.getName()), "window.allPages[");
+            assertTrue(chunkPages > 0 && chunkPages <= 2, chunk.getName());
+            numPages += chunkPages;
+        }
+        String config = read(outputdir, "main/config.js");
+        assertTrue(config.contains("window.pageChunks"));
+        assertTrue(config.contains("\"/home\": \"chunks/chunk"));
+        assertEquals(numPages, count(config, "\": \"chunks/chunk"));
+    }
+
+    @Test
+    public void testVuetify1SearchShards() throws Exception {
+        File sourcedir = getFile(SOURCE_DIR_PREFIX + "testvuetify1");
+        File fulldir = getFile("target/vuetify-backend-test/testvuetify1-search");
+        File sectiondir = getFile("target/vuetify-backend-test/testvuetify1-search-section");
+        File sizedir = getFile("target/vuetify-backend-test/testvuetify1-search-size");
+
+        testVuetify1Site().build().generate(sourcedir, fulldir);
+        testVuetify1Site(VuetifyBackend.builder()
+                .searchSharding(VuetifyBackend.SearchSharding.SECTION))
+                .build()
+                .generate(sourcedir, sectiondir);
+        testVuetify1Site(VuetifyBackend.builder()
+                .searchSharding(VuetifyBackend.SearchSharding.SIZE)
+                .searchShardMaxSize(1))
+                .build()
+                .generate(sourcedir, sizedir);
+
+        int numEntries = count(read(fulldir, "main/search-index.json"), "\"location\": ");
+        assertTrue(numEntries > 0);
+        assertFalse(new File(fulldir, "main/search-index").exists());
+        assertEquals(numEntries, countShardEntries(sectiondir));
+        assertEquals(numEntries, countShardEntries(sizedir));
+
+        // one page per shard
+        String manifest = read(sizedir, "main/search-index.json");
+        assertEquals(count(manifest, "\"path\": "), count(manifest, "\"routes\": [\""));
+        assertTrue(count(manifest, "\"path\": ") > count(read(sectiondir, "main/search-index.json"), "\"path\": "));
+    }
+
+    private static int countShardEntries(File outputdir) throws Exception {
+        String manifest = read(outputdir, "main/search-index.json");
+        assertTrue(manifest.contains("\"shards\""), manifest);
+        File[] shards = new File(outputdir, "main/search-index").listFiles();
+        assertNotNull(shards);
+        assertEquals(count(manifest, "\"path\": "), shards.length);
+        int numEntries = 0;
+        for (File shard : shards) {
+            assertTrue(manifest.contains("\"main/search-index/" + shard.getName() + "\""), shard.getName());
+            numEntries += count(read(outputdir, "main/search-index/" + shard.getName()), "\"location\": ");
+        }
+        return numEntries;
+    }
+
+    private static String read(File dir, String path) throws Exception {
+        return new String(Files.readAllBytes(new File(dir, path).toPath()), StandardCharsets.UTF_8);
+    }
+
+    private static int count(String str, String substr) {
+        return str.split(Pattern.quote(substr), -1).length - 1;
+    }
+
+    private static void assertSameContent(File expectedDir, File actualDir, String path) throws Exception {
+        assertArrayEquals(
+                Files.readAllBytes(new File(expectedDir, path).toPath()),
+                Files.readAllBytes(new File(actualDir, path).toPath()),
+                path);
+    }
+
     @Test
     public void testVuetify2() throws Exception {
         File sourcedir = getFile(SOURCE_DIR_PREFIX + "testvuetify2");
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen.asciidoctor;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static io.helidon.build.sitegen.TestHelper.getFile;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests {@link AsciidocEngine}.
+ */
+public class AsciidocEngineTest {
+
+    private static final File OUTPUT_DIR = getFile("target/asciidoc-engine-test");
+
+    @Test
+    public void testDocumentCacheBound() throws IOException {
+        File sourcedir = new File(OUTPUT_DIR, "document-cache-src");
+        Files.createDirectories(sourcedir.toPath());
+        AsciidocEngine engine = new AsciidocEngine("basic", null, null, null);
+        try {
+            int count = AsciidocEngine.MAX_CACHED_DOCUMENTS + 5;
+            for (int i = 0; i < count; i++) {
+                // the conditional makes the header scanner give up
+                File source = new File(sourcedir, "page" + i + ".adoc");
+                Files.write(source.toPath(), ("= Page " + i + "\n"
+                        + "ifdef::backend-html5[]\n"
+                        + ":description: Page " + i + " description\n"
+                        + "endif::[]\n"
+                        + "\n"
+                        + "Some text.\n").getBytes(StandardCharsets.UTF_8));
+                Map<String, Object> header = engine.readDocumentHeader(source, OUTPUT_DIR);
+                assertEquals("Page " + i, header.get("doctitle"), source.getName());
+            }
+            assertEquals(AsciidocEngine.MAX_CACHED_DOCUMENTS, engine.cachedDocuments());
+        } finally {
+            engine.clearDocumentCache();
+            engine.unregister();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen.asciidoctor;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.asciidoctor.Asciidoctor;
+import org.junit.jupiter.api.Test;
+
+import static io.helidon.common.CollectionsHelper.listOf;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Tests {@link AsciidoctorRuntimes}.
+ */
+public class AsciidoctorRuntimesTest {
+
+    @Test
+    public void testReuse() {
+        Asciidoctor asciidoctor = AsciidoctorRuntimes.acquire("runtimes-test", null);
+        Asciidoctor other = AsciidoctorRuntimes.acquire("runtimes-test", null);
+        assertNotSame(asciidoctor, other);
+        AsciidoctorRuntimes.release("runtimes-test", null, asciidoctor);
+        AsciidoctorRuntimes.release("runtimes-test", Collections.emptyList(), other);
+        assertSame(other, AsciidoctorRuntimes.acquire("runtimes-test", Collections.emptyList()));
+        assertSame(asciidoctor, AsciidoctorRuntimes.acquire("runtimes-test", null));
+    }
+
+    @Test
+    public void testKey() {
+        Asciidoctor asciidoctor = AsciidoctorRuntimes.acquire("runtimes-test-key", null);
+        AsciidoctorRuntimes.release("runtimes-test-key", null, asciidoctor);
+        assertNotSame(asciidoctor, AsciidoctorRuntimes.acquire("runtimes-test-key2", null));
+        assertNotSame(asciidoctor, AsciidoctorRuntimes.acquire("runtimes-test-key",
+                listOf("asciidoctor-diagram")));
+        assertSame(asciidoctor, AsciidoctorRuntimes.acquire("runtimes-test-key", null));
+    }
+
+    @Test
+    public void testMaxIdle() {
+        int max = AsciidoctorRuntimes.MAX_IDLE_PER_KEY;
+        AtomicInteger shutdowns = new AtomicInteger();
+        for (int i = 0; i <= max; i++) {
+            AsciidoctorRuntimes.release("runtimes-test-max1", null, fakeRuntime(shutdowns));
+        }
+        assertEquals(max, AsciidoctorRuntimes.idle("runtimes-test-max1", null));
+        assertEquals(1, shutdowns.get());
+
+        // the least recently used key is evicted first
+        for (int i = 0; i < max; i++) {
+            AsciidoctorRuntimes.release("runtimes-test-max2", null, fakeRuntime(shutdowns));
+            AsciidoctorRuntimes.release("runtimes-test-max3", null, fakeRuntime(shutdowns));
+        }
+        assertEquals(0, AsciidoctorRuntimes.idle("runtimes-test-max1", null));
+        assertEquals(max, AsciidoctorRuntimes.idle("runtimes-test-max2", null));
+        assertEquals(max, AsciidoctorRuntimes.idle("runtimes-test-max3", null));
+        assertEquals(max + 1, shutdowns.get());
+
+        // do not leave the fake runtimes to the other tests
+        List<Asciidoctor> runtimes = new ArrayList<>();
+        for (int i = 0; i < max; i++) {
+            runtimes.add(AsciidoctorRuntimes.acquire("runtimes-test-max2", null));
+            runtimes.add(AsciidoctorRuntimes.acquire("runtimes-test-max3", null));
+        }
+        assertEquals(2 * max, runtimes.size());
+    }
+
+    private static Asciidoctor fakeRuntime(AtomicInteger shutdowns) {
+        return (Asciidoctor) Proxy.newProxyInstance(Asciidoctor.class.getClassLoader(),
+                new Class<?>[]{Asciidoctor.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "shutdown":
+                            shutdowns.incrementAndGet();
+                            return null;
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen.asciidoctor;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Collections;
+import java.util.Map;
+
+import io.helidon.build.sitegen.asciidoctor.HeaderScanner.ScannedHeader;
+
+import org.junit.jupiter.api.Test;
+
+import static io.helidon.build.sitegen.TestHelper.SOURCE_DIR_PREFIX;
+import static io.helidon.build.sitegen.TestHelper.getFile;
+import static io.helidon.common.CollectionsHelper.mapOf;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the pure Java header scanning.
+ */
+public class HeaderScannerTest {
+
+    private static ScannedHeader scan(String content, Map<String, Object> attributes)
+            throws IOException {
+
+        return HeaderScanner.scan(new BufferedReader(new StringReader(content)),
+                new File("docs/page.adoc"), attributes);
+    }
+
+    private static ScannedHeader scan(String content) throws IOException {
+        return scan(content, Collections.emptyMap());
+    }
+
+    @Test
+    public void testSimpleHeader() throws IOException {
+        ScannedHeader header = scan("////\nlicense\n= Not a title\n////\n\n"
+                + "= This is a title\n"
+                + ":description: This is a description\n"
+                + ":keywords: keyword1, keyword2\n"
+                + "\n"
+                + "== Section\n");
+        assertTrue(header.isResolved());
+        assertEquals("This is a title", header.attributes().get("doctitle"));
+        assertEquals("This is a description", header.attributes().get("description"));
+        assertEquals("keyword1, keyword2", header.attributes().get("keywords"));
+        // the h1 is the first level-0 line, including comments
+        assertEquals("Not a title", header.h1());
+    }
+
+    @Test
+    public void testDoctitleOverride() throws IOException {
+        ScannedHeader header = scan("= This is an h1 title\n"
+                + ":doctitle: This is the document title\n");
+        assertTrue(header.isResolved());
+        assertEquals("This is an h1 title", header.h1());
+        assertEquals("This is the document title", header.attributes().get("doctitle"));
+    }
+
+    @Test
+    public void testAttributeReferences() throws IOException {
+        ScannedHeader header = scan("= Title\n"
+                + "Author Name\n"
+                + "v1.0\n"
+                + ":product: Helidon\n"
+                + ":description: {product} {version} & <more>\n"
+                + ":keywords: {docname}\n",
+                mapOf("version", "1.0"));
+        assertTrue(header.isResolved());
+        assertEquals("Helidon 1.0 &amp; &lt;more&gt;", header.attributes().get("description"));
+        assertEquals("page", header.attributes().get("keywords"));
+    }
+
+    @Test
+    public void testTitleSubstitutions() throws IOException {
+        ScannedHeader header = scan(":product: Helidon\n"
+                + "= {product} {version} & <more>\n",
+                mapOf("version", "1.0"));
+        assertTrue(header.isResolved());
+        assertEquals("Helidon 1.0 &amp; &lt;more&gt;", header.attributes().get("doctitle"));
+        // a reference that cannot be resolved requires Asciidoctor
+        assertFalse(scan("= {product} Title\n:product: Helidon\n").isResolved());
+        assertFalse(scan("= \\{product} Title\n").isResolved());
+    }
+
+    @Test
+    public void testSameAsAsciidoctor() {
+        File sourcedir = getFile(SOURCE_DIR_PREFIX + "testmetadata");
+        Map<String, Object> attributes = mapOf("version", "1.0");
+        AsciidocEngine engine = new AsciidocEngine("basic", null, attributes, null);
+        try {
+            File[] sources = sourcedir.listFiles();
+            assertNotNull(sources);
+            for (File source : sources) {
+                ScannedHeader header = HeaderScanner.scan(source, attributes);
+                assertTrue(header.isResolved(), source.getName());
+                Map<String, Object> expected = engine.parseDocumentHeader(source, header.h1());
+                for (String key : new String[]{"doctitle", "description", "keywords"}) {
+                    assertEquals(expected.get(key), header.attributes().get(key),
+                            source.getName() + " " + key);
+                }
+            }
+        } finally {
+            engine.unregister();
+        }
+    }
+
+    @Test
+    public void testNoTitle() throws IOException {
+        ScannedHeader header = scan("This is a preamble\n\n== This is a h2 title\n");
+        assertTrue(header.isResolved());
+        assertNull(header.attributes().get("doctitle"));
+        assertNull(header.h1());
+    }
+
+    @Test
+    public void testBodyAttributesIgnored() throws IOException {
+        ScannedHeader header = scan("= Title\n:description: header\n\n:description: body\n");
+        assertTrue(header.isResolved());
+        assertEquals("header", header.attributes().get("description"));
+    }
+
+    @Test
+    public void testUnresolved() throws IOException {
+        assertFalse(scan("= Title\nifdef::foo[]\n:description: foo\nendif::[]\n").isResolved());
+        assertFalse(scan("= Title\ninclude::header.adoc[]\n").isResolved());
+        assertFalse(scan("[[id]]\n= Title\n").isResolved());
+        assertFalse(scan("Title\n=====\n").isResolved());
+        assertFalse(scan("= Title\n:description: {unknown}\n").isResolved());
+        assertFalse(scan("= Title\n:description: line \\\ncontinued\n").isResolved());
+        assertFalse(scan("= Title\n", mapOf("doctitle", "locked")).isResolved());
+        // unresolved attributes that are not used by the metadata are ignored
+        assertTrue(scan("= Title\n:foo: {unknown}\n").isResolved());
+    }
+}
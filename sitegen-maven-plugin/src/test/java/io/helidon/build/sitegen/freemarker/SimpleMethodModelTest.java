@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen.freemarker;
+
+import freemarker.template.Configuration;
+import freemarker.template.SimpleNumber;
+import freemarker.template.SimpleScalar;
+import freemarker.template.TemplateModelException;
+import freemarker.template.TemplateScalarModel;
+import org.junit.jupiter.api.Test;
+
+import static io.helidon.common.CollectionsHelper.listOf;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests {@link SimpleMethodModel}.
+ */
+public class SimpleMethodModelTest {
+
+    private static final ObjectWrapper OBJECT_WRAPPER =
+            new ObjectWrapper(Configuration.VERSION_2_3_23);
+
+    /**
+     * Test target.
+     */
+    public static class Target {
+
+        public String echo(String value) {
+            return "string:" + value;
+        }
+
+        public String echo(Integer value) {
+            return "integer:" + value;
+        }
+
+        public String join(String first, String... others) {
+            return first + others.length;
+        }
+
+        public void nothing() {
+        }
+
+        public static String hello(String name) {
+            return "hello " + name;
+        }
+
+        public String fail() {
+            throw new IllegalStateException("fail");
+        }
+    }
+
+    private static String exec(String methodName, Object... args) throws TemplateModelException {
+        Object result = new SimpleMethodModel(OBJECT_WRAPPER, new Target(), methodName)
+                .exec(listOf(args));
+        return result == null ? null : ((TemplateScalarModel) result).getAsString();
+    }
+
+    @Test
+    public void testOverloads() throws TemplateModelException {
+        assertEquals("string:foo", exec("echo", new SimpleScalar("foo")));
+        assertEquals("integer:2", exec("echo", new SimpleNumber(2)));
+        // cached resolutions are keyed by argument types
+        assertEquals("string:bar", exec("echo", new SimpleScalar("bar")));
+    }
+
+    @Test
+    public void testVarargs() throws TemplateModelException {
+        assertEquals("foo0", exec("join", new SimpleScalar("foo")));
+    }
+
+    @Test
+    public void testVoidAndStatic() throws TemplateModelException {
+        assertNull(exec("nothing"));
+        assertEquals("hello bob", exec("hello", new SimpleScalar("bob")));
+    }
+
+    @Test
+    public void testErrors() {
+        assertThrows(TemplateModelException.class, () -> exec("unknown"));
+        assertThrows(TemplateModelException.class, () -> exec("fail"));
+    }
+
+    @Test
+    public void testHasMethodWithName() {
+        assertTrue(SimpleMethodModel.hasMethodWithName(new Target(), "echo"));
+        assertFalse(SimpleMethodModel.hasMethodWithName(new Target(), "unknown"));
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen.freemarker;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import io.helidon.build.sitegen.freemarker.TemplateProfiler.CountingWriter;
+import io.helidon.build.sitegen.freemarker.TemplateProfiler.Stats;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests {@link TemplateProfiler}.
+ */
+public class TemplateProfilerTest {
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    @Test
+    public void testNestedTemplates() {
+        TemplateProfiler profiler = new TemplateProfiler();
+        long documentStart = profiler.enter();
+        sleep(5);
+        for (int i = 0; i < 2; i++) {
+            long paragraphStart = profiler.enter();
+            sleep(20);
+            profiler.exit("block_paragraph", paragraphStart, 10);
+        }
+        profiler.exit("document", documentStart, 100);
+
+        List<Stats> stats = profiler.stats();
+        assertEquals(2, stats.size());
+        Stats paragraph = stats.get(0);
+        Stats document = stats.get(1);
+        assertEquals("block_paragraph", paragraph.template());
+        assertEquals(2, paragraph.invocations());
+        assertEquals(20, paragraph.bytes());
+        assertEquals(paragraph.totalNanos(), paragraph.selfNanos());
+        assertEquals("document", document.template());
+        assertEquals(1, document.invocations());
+        assertEquals(100, document.bytes());
+        assertEquals(document.totalNanos() - paragraph.totalNanos(), document.selfNanos());
+        assertTrue(document.selfNanos() < paragraph.selfNanos());
+    }
+
+    @Test
+    public void testCountingWriter() throws IOException {
+        StringWriter writer = new StringWriter();
+        CountingWriter counter = new CountingWriter(writer);
+        counter.write("a\u00e9\u20ac\ud83d\ude00");
+        counter.write('b');
+        assertEquals("a\u00e9\u20ac\ud83d\ude00b", writer.toString());
+        assertEquals("a\u00e9\u20ac\ud83d\ude00b".getBytes(StandardCharsets.UTF_8).length, counter.bytes());
+    }
+}